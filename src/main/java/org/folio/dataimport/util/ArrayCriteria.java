@@ -0,0 +1,127 @@
+package org.folio.dataimport.util;
+
+import io.vertx.sqlclient.Tuple;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Criteria matching a field against a set of values bound as a single array parameter:
+ * {@code (jsonb->>'field') = ANY($1)}.
+ * <p>
+ * Unlike OR chains or CQL {@code field==(a or b ...)} queries, SQL text of the criteria does not depend on
+ * the number of values, so statements are prepared and planned once and parsing cost does not grow with the set.
+ * Large value sets are split into chunks, see {@link DaoUtil#constructArrayCriteria(String, Collection, int)}.
+ * Values are always bound as {@code text[]} and cast to the array of the column type in SQL,
+ * since the Postgres client does not coerce a string array to e.g. {@code uuid[]}.
+ */
+public final class ArrayCriteria {
+
+  public static final int DEFAULT_CHUNK_SIZE = 5000;
+
+  private static final String TEXT_TYPE = "text";
+  private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_]\\w*");
+
+  private final String expression;
+  private final String sqlType;
+  private final List<String> values;
+
+  private ArrayCriteria(String expression, String sqlType, List<String> values) {
+    this.expression = expression;
+    this.sqlType = sqlType;
+    this.values = values;
+  }
+
+  /**
+   * Splits values into chunks of criteria by text field of the jsonb column, duplicate values are removed.
+   *
+   * @param jsonbField jsonb field name
+   * @param values     values
+   * @param chunkSize  max number of values of one criteria
+   * @return criteria, empty if there are no values
+   */
+  static List<ArrayCriteria> forField(String jsonbField, Collection<String> values, int chunkSize) {
+    if (jsonbField == null || jsonbField.isEmpty()) {
+      throw new IllegalArgumentException("jsonbField must not be empty");
+    }
+    return split("(jsonb->>'" + jsonbField.replace("'", "''") + "')", TEXT_TYPE, values, chunkSize);
+  }
+
+  /**
+   * Splits values into chunks of criteria by table column, e.g. {@code id} with {@code uuid} type,
+   * duplicate values are removed.
+   *
+   * @param column    column name
+   * @param sqlType   SQL type of the column
+   * @param values    values
+   * @param chunkSize max number of values of one criteria
+   * @return criteria, empty if there are no values
+   */
+  static List<ArrayCriteria> forColumn(String column, String sqlType, Collection<String> values, int chunkSize) {
+    if (column == null || !IDENTIFIER.matcher(column).matches()) {
+      throw new IllegalArgumentException("Invalid column name: " + column);
+    }
+    if (sqlType == null || !IDENTIFIER.matcher(sqlType).matches()) {
+      throw new IllegalArgumentException("Invalid sql type: " + sqlType);
+    }
+    return split(column, sqlType, values, chunkSize);
+  }
+
+  private static List<ArrayCriteria> split(String expression, String sqlType, Collection<String> values, int chunkSize) {
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("chunkSize must be > 0");
+    }
+    if (values == null || values.isEmpty()) {
+      return List.of();
+    }
+    List<String> distinctValues = new ArrayList<>(new LinkedHashSet<>(values));
+    List<ArrayCriteria> chunks = new ArrayList<>((distinctValues.size() + chunkSize - 1) / chunkSize);
+    for (int from = 0; from < distinctValues.size(); from += chunkSize) {
+      List<String> chunk = distinctValues.subList(from, Math.min(from + chunkSize, distinctValues.size()));
+      chunks.add(new ArrayCriteria(expression, sqlType, List.copyOf(chunk)));
+    }
+    return chunks;
+  }
+
+  /**
+   * Returns SQL condition of the criteria with values bound to parameter {@code $1}.
+   *
+   * @return SQL condition
+   */
+  public String getWhereClause() {
+    return getWhereClause(1);
+  }
+
+  /**
+   * Returns SQL condition of the criteria with values bound to the parameter with specified index,
+   * so the criteria can be combined with other parameterized conditions.
+   *
+   * @param paramIndex 1-based index of the parameter
+   * @return SQL condition
+   */
+  public String getWhereClause(int paramIndex) {
+    String cast = TEXT_TYPE.equals(sqlType) ? "::text[]" : "::text[]::" + sqlType + "[]";
+    return expression + " = ANY($" + paramIndex + cast + ")";
+  }
+
+  /**
+   * Returns tuple with the array of values as the only parameter.
+   *
+   * @return query parameters
+   */
+  public Tuple getParams() {
+    return Tuple.tuple().addArrayOfString(values.toArray(new String[0]));
+  }
+
+  public List<String> getValues() {
+    return values;
+  }
+
+  @Override
+  public String toString() {
+    return getWhereClause();
+  }
+}
@@ -0,0 +1,48 @@
+package org.folio.dataimport.util;
+
+/**
+ * Options of batch request execution, see {@link RestUtil#doRequests(OkapiConnectionParams, java.util.List, BatchOptions)}.
+ */
+public class BatchOptions {
+
+  public static final int DEFAULT_MAX_IN_FLIGHT = 10;
+
+  private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+  private boolean failFast;
+
+  public int getMaxInFlight() {
+    return maxInFlight;
+  }
+
+  /**
+   * Sets maximum number of requests of the batch sent concurrently.
+   *
+   * @param maxInFlight max number of concurrent requests
+   * @return this options
+   */
+  public BatchOptions setMaxInFlight(int maxInFlight) {
+    if (maxInFlight < 1) {
+      throw new IllegalArgumentException("maxInFlight must be > 0");
+    }
+    this.maxInFlight = maxInFlight;
+    return this;
+  }
+
+  public boolean isFailFast() {
+    return failFast;
+  }
+
+  /**
+   * Sets whether batch execution should stop on the first failed request. A request is considered failed
+   * if it could not be sent or its response code is not 200, 201 or 204.
+   * In fail-fast mode the batch future fails with the cause of the first failure and remaining requests are not sent,
+   * otherwise all requests are sent and the result of each one is collected.
+   *
+   * @param failFast fail-fast mode
+   * @return this options
+   */
+  public BatchOptions setFailFast(boolean failFast) {
+    this.failFast = failFast;
+    return this;
+  }
+}
@@ -0,0 +1,82 @@
+package org.folio.dataimport.util;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import org.folio.dataimport.util.RestUtil.WrappedResponse;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Sends requests of a batch keeping at most {@link BatchOptions#getMaxInFlight()} of them in flight.
+ * Requests are pulled from the iterator lazily, results are collected in the order of requests.
+ */
+final class BatchRequestExecutor {
+
+  private final OkapiConnectionParams params;
+  private final Iterator<RestRequest> requests;
+  private final BatchOptions options;
+  private final List<AsyncResult<WrappedResponse>> results = new ArrayList<>();
+  private final Promise<List<AsyncResult<WrappedResponse>>> promise = Promise.promise();
+  private int inFlight;
+  private boolean stopped;
+  private boolean sending;
+
+  BatchRequestExecutor(OkapiConnectionParams params, Iterator<RestRequest> requests, BatchOptions options) {
+    this.params = params;
+    this.requests = requests;
+    this.options = options;
+  }
+
+  synchronized Future<List<AsyncResult<WrappedResponse>>> execute() {
+    sendNext();
+    return promise.future();
+  }
+
+  private void sendNext() {
+    if (sending) {
+      return;
+    }
+    sending = true;
+    try {
+      while (!stopped && inFlight < options.getMaxInFlight() && requests.hasNext()) {
+        int index = results.size();
+        results.add(null);
+        inFlight++;
+        RestUtil.doRequest(params, requests.next()).onComplete(ar -> onComplete(index, ar));
+      }
+    } catch (Exception e) {
+      stopped = true;
+      promise.tryFail(e);
+    } finally {
+      sending = false;
+    }
+    if (!stopped && inFlight == 0 && !requests.hasNext()) {
+      promise.tryComplete(results);
+    }
+  }
+
+  private synchronized void onComplete(int index, AsyncResult<WrappedResponse> result) {
+    inFlight--;
+    results.set(index, result);
+    if (options.isFailFast() && !stopped) {
+      Throwable failure = getFailure(result);
+      if (failure != null) {
+        stopped = true;
+        promise.tryFail(failure);
+        return;
+      }
+    }
+    sendNext();
+  }
+
+  private static Throwable getFailure(AsyncResult<WrappedResponse> result) {
+    if (result.failed()) {
+      return result.cause();
+    }
+    int code = result.result().getCode();
+    return RestUtil.isSuccessCode(code) ? null : RestUtil.mapStatusToException(code);
+  }
+}
@@ -0,0 +1,159 @@
+package org.folio.dataimport.util;
+
+import org.folio.cql2pgjson.CQL2PgJSON;
+import org.folio.cql2pgjson.exception.FieldException;
+import org.folio.cql2pgjson.exception.QueryValidationException;
+import org.folio.cql2pgjson.model.SqlSelect;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of CQL to SQL translations used by {@link DaoUtil#getCQLWrapper(String, String)}.
+ * <p>
+ * There is one {@link CQL2PgJSON} converter per table, so table schema is not looked up per query,
+ * and translated queries are kept in a bounded LRU map keyed by table and CQL query.
+ * Queries which fail translation are not cached. Compiled {@link CQLTemplate}s are kept per table as well.
+ */
+public final class CQLCache {
+
+  public static final int DEFAULT_MAX_SIZE = 1000;
+
+  private static volatile CQLCache instance = new CQLCache(DEFAULT_MAX_SIZE);
+
+  private final int maxSize;
+  private final Map<String, CQL2PgJSON> converters = new ConcurrentHashMap<>();
+  private final Map<String, CQLTemplate> templates = new ConcurrentHashMap<>();
+  private final LinkedHashMap<String, SqlSelect> translations = new LinkedHashMap<>(16, 0.75f, true);
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  private CQLCache(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Returns cache instance.
+   *
+   * @return cache
+   */
+  public static CQLCache getInstance() {
+    return instance;
+  }
+
+  /**
+   * Replaces cache with a new one holding at most specified number of translated queries,
+   * cached converters and translations are discarded.
+   *
+   * @param maxSize max number of cached translations
+   */
+  public static void setMaxSize(int maxSize) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("maxSize must be > 0");
+    }
+    instance = new CQLCache(maxSize);
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  public synchronized int getSize() {
+    return translations.size();
+  }
+
+  public synchronized void clear() {
+    translations.clear();
+    converters.clear();
+    templates.clear();
+  }
+
+  /**
+   * Returns converter for jsonb column of specified table, the converter caches translated queries.
+   *
+   * @param tableName table name
+   * @return CQL to SQL converter
+   * @throws FieldException field exception
+   */
+  CQL2PgJSON getConverter(String tableName) throws FieldException {
+    CQL2PgJSON converter = converters.get(tableName);
+    if (converter == null) {
+      converter = new CachingCQL2PgJSON(tableName);
+      CQL2PgJSON existing = converters.putIfAbsent(tableName, converter);
+      if (existing != null) {
+        converter = existing;
+      }
+    }
+    return converter;
+  }
+
+  /**
+   * Returns compiled template for specified table, templates are expected to be constants of DAOs,
+   * so they are not limited by max size of the cache.
+   *
+   * @param tableName table name
+   * @param template  CQL query with placeholders
+   * @return compiled template
+   * @throws FieldException           field exception
+   * @throws QueryValidationException if template is not a valid query
+   */
+  CQLTemplate getTemplate(String tableName, String template) throws FieldException, QueryValidationException {
+    String key = tableName + '\n' + template;
+    CQLTemplate cqlTemplate = templates.get(key);
+    if (cqlTemplate == null) {
+      cqlTemplate = CQLTemplate.compile(tableName, template);
+      CQLTemplate existing = templates.putIfAbsent(key, cqlTemplate);
+      if (existing != null) {
+        cqlTemplate = existing;
+      }
+    }
+    return cqlTemplate;
+  }
+
+  private synchronized SqlSelect get(String key) {
+    return translations.get(key);
+  }
+
+  private synchronized void put(String key, SqlSelect sqlSelect) {
+    translations.put(key, sqlSelect);
+    if (translations.size() > maxSize) {
+      var iterator = translations.entrySet().iterator();
+      iterator.next();
+      iterator.remove();
+    }
+  }
+
+  private final class CachingCQL2PgJSON extends CQL2PgJSON {
+
+    private final String tableName;
+
+    private CachingCQL2PgJSON(String tableName) throws FieldException {
+      super(tableName + ".jsonb");
+      this.tableName = tableName;
+    }
+
+    @Override
+    public SqlSelect toSql(String cql) throws QueryValidationException {
+      String key = tableName + '\n' + cql;
+      SqlSelect sqlSelect = get(key);
+      if (sqlSelect != null) {
+        hits.incrementAndGet();
+        return sqlSelect;
+      }
+      misses.incrementAndGet();
+      sqlSelect = super.toSql(cql);
+      put(key, sqlSelect);
+      return sqlSelect;
+    }
+  }
+}
@@ -0,0 +1,318 @@
+package org.folio.dataimport.util;
+
+import org.folio.cql2pgjson.CQL2PgJSON;
+import org.folio.cql2pgjson.exception.FieldException;
+import org.folio.cql2pgjson.exception.QueryValidationException;
+import org.folio.cql2pgjson.model.SqlSelect;
+import org.folio.rest.persist.Criteria.Limit;
+import org.folio.rest.persist.Criteria.Offset;
+import org.folio.rest.persist.cql.CQLWrapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * CQL query with {@code ${name}} placeholders which is translated to SQL once per table
+ * and bound to parameter values per call, e.g. {@code jobExecutionId==${jobExecutionId} and status==${status}}.
+ * <p>
+ * Placeholders stand for whole CQL terms and must not be quoted in the template, bound values are always
+ * treated as literal terms, so they cannot change the query structure. Values made of letters, digits and dashes
+ * are substituted directly into the translated SQL, other values (e.g. containing spaces, quotes or numbers
+ * which CQL compares numerically) are escaped into the CQL query which is translated through {@link CQLCache}.
+ * Either way the result is the same as translation of the CQL query with the escaped values.
+ */
+public final class CQLTemplate {
+
+  private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{([A-Za-z_]\\w*)}");
+  private static final Pattern QUOTED_TERM = Pattern.compile("\"((?:[^\"\\\\]|\\\\.)*)\"");
+  private static final Pattern SAFE_VALUE = Pattern.compile("[A-Za-z0-9][A-Za-z0-9-]*");
+  private static final String CQL_SPECIAL_CHARACTERS = "\\\"*?^";
+
+  /**
+   * How a bound value can be put into the translated SQL.
+   */
+  private enum Binding {
+    /**
+     * Placeholder is translated as plain text, any safe value can be substituted.
+     */
+    TEXT,
+    /**
+     * Placeholder is translated differently for UUID values, e.g. id or foreign key fields, only UUIDs can be substituted.
+     */
+    UUID,
+    /**
+     * Placeholder does not appear in the translated SQL as is, values are always translated.
+     */
+    TRANSLATED
+  }
+
+  private final String tableName;
+  private final String template;
+  private final List<String> segments;
+  private final List<String> placeholders;
+  private final Pattern boundQueryPattern;
+  private final TemplateCQL2PgJSON converter;
+  private final CQL2PgJSON cachingConverter;
+  private final Map<String, Binding> bindings = new LinkedHashMap<>();
+  private String where;
+  private String orderBy;
+
+  private CQLTemplate(String tableName, String template) throws FieldException {
+    this.tableName = tableName;
+    this.template = template;
+    this.segments = new ArrayList<>();
+    this.placeholders = new ArrayList<>();
+    Matcher matcher = PLACEHOLDER.matcher(template);
+    StringBuilder boundQueryRegex = new StringBuilder();
+    int position = 0;
+    while (matcher.find()) {
+      String segment = template.substring(position, matcher.start());
+      segments.add(segment);
+      placeholders.add(matcher.group(1));
+      boundQueryRegex.append(Pattern.quote(segment)).append(QUOTED_TERM.pattern());
+      position = matcher.end();
+    }
+    segments.add(template.substring(position));
+    boundQueryRegex.append(Pattern.quote(template.substring(position)));
+    this.boundQueryPattern = Pattern.compile(boundQueryRegex.toString(), Pattern.DOTALL);
+    this.converter = new TemplateCQL2PgJSON(tableName);
+    this.cachingConverter = CQLCache.getInstance().getConverter(tableName);
+  }
+
+  /**
+   * Parses and translates the template for the specified table.
+   *
+   * @param tableName table name
+   * @param template  CQL query with {@code ${name}} placeholders
+   * @return compiled template
+   * @throws FieldException           field exception
+   * @throws QueryValidationException if template is not a valid query
+   */
+  public static CQLTemplate compile(String tableName, String template) throws FieldException, QueryValidationException {
+    if (template == null || template.isBlank()) {
+      throw new IllegalArgumentException("template must not be empty");
+    }
+    CQLTemplate cqlTemplate = new CQLTemplate(tableName, template);
+    cqlTemplate.translate();
+    return cqlTemplate;
+  }
+
+  public String getTableName() {
+    return tableName;
+  }
+
+  public String getTemplate() {
+    return template;
+  }
+
+  /**
+   * Returns distinct placeholder names in order of their first occurrence.
+   *
+   * @return placeholder names
+   */
+  public List<String> getParameterNames() {
+    return Collections.unmodifiableList(new ArrayList<>(bindings.keySet()));
+  }
+
+  /**
+   * Returns CQL query with the specified values escaped into placeholders.
+   *
+   * @param values placeholder values by name, values are converted to strings
+   * @return CQL query
+   */
+  public String toCql(Map<String, ?> values) {
+    StringBuilder cql = new StringBuilder(segments.get(0));
+    for (int i = 0; i < placeholders.size(); i++) {
+      cql.append(quote(getValue(values, placeholders.get(i)))).append(segments.get(i + 1));
+    }
+    return cql.toString();
+  }
+
+  /**
+   * Returns SQL where and order by clauses of the template bound to the specified values.
+   *
+   * @param values placeholder values by name, values are converted to strings
+   * @return translated query
+   * @throws QueryValidationException if query with bound values is not valid
+   */
+  public SqlSelect toSql(Map<String, ?> values) throws QueryValidationException {
+    Map<String, String> stringValues = new LinkedHashMap<>();
+    for (String name : bindings.keySet()) {
+      stringValues.put(name, getValue(values, name));
+    }
+    return bindSql(stringValues);
+  }
+
+  /**
+   * Returns CQL wrapper of the template bound to the specified values.
+   *
+   * @param values placeholder values by name, values are converted to strings
+   * @return CQL wrapper for building postgres request to database
+   */
+  public CQLWrapper bind(Map<String, ?> values) {
+    return new CQLWrapper(converter, toCql(values));
+  }
+
+  /**
+   * Returns CQL wrapper of the template bound to the specified values with limit and offset.
+   *
+   * @param values placeholder values by name, values are converted to strings
+   * @param limit  limit of results for pagination
+   * @param offset offset of results for pagination
+   * @return CQL wrapper for building postgres request to database
+   */
+  public CQLWrapper bind(Map<String, ?> values, int limit, int offset) {
+    return bind(values)
+      .setLimit(new Limit(limit))
+      .setOffset(new Offset(offset));
+  }
+
+  /**
+   * Translates the template with UUID-like sentinel values and then once per placeholder with a text sentinel,
+   * a placeholder is bound as text if the second translation differs from the first one only by the sentinel.
+   */
+  private void translate() throws QueryValidationException {
+    Map<String, String> uuidSentinels = new LinkedHashMap<>();
+    for (String name : placeholders) {
+      uuidSentinels.computeIfAbsent(name, n -> String.format("5e471e1e-0000-4000-8000-%012d", uuidSentinels.size()));
+    }
+    SqlSelect sqlSelect = converter.translate(toCql(uuidSentinels));
+    where = sqlSelect.getWhere();
+    orderBy = sqlSelect.getOrderBy();
+    String sql = where + '\n' + orderBy;
+
+    int index = 0;
+    for (Map.Entry<String, String> sentinel : uuidSentinels.entrySet()) {
+      Map<String, String> textSentinels = new LinkedHashMap<>(uuidSentinels);
+      String textSentinel = "SeNtInElTeXt" + index++;
+      textSentinels.put(sentinel.getKey(), textSentinel);
+      SqlSelect textSelect = converter.translate(toCql(textSentinels));
+      String textSql = textSelect.getWhere() + '\n' + textSelect.getOrderBy();
+
+      Binding binding;
+      if (!sql.contains(sentinel.getValue())) {
+        binding = Binding.TRANSLATED;
+      } else if (sql.replace(sentinel.getValue(), textSentinel).equals(textSql)) {
+        binding = Binding.TEXT;
+      } else {
+        binding = Binding.UUID;
+      }
+      bindings.put(sentinel.getKey(), binding);
+    }
+    uuidSentinels.forEach((name, sentinel) -> {
+      where = where.replace(sentinel, "${" + name + '}');
+      orderBy = orderBy != null ? orderBy.replace(sentinel, "${" + name + '}') : null;
+    });
+  }
+
+  private SqlSelect bindSql(Map<String, String> values) throws QueryValidationException {
+    String boundWhere = where;
+    String boundOrderBy = orderBy;
+    for (Map.Entry<String, String> entry : values.entrySet()) {
+      String value = getSqlValue(bindings.get(entry.getKey()), entry.getValue());
+      if (value == null) {
+        return cachingConverter.toSql(toCql(values));
+      }
+      String placeholder = "${" + entry.getKey() + '}';
+      boundWhere = boundWhere.replace(placeholder, value);
+      boundOrderBy = boundOrderBy != null ? boundOrderBy.replace(placeholder, value) : null;
+    }
+    return new SqlSelect(boundWhere, boundOrderBy);
+  }
+
+  /**
+   * Returns value to put into translated SQL or null if the value has to be translated.
+   */
+  private static String getSqlValue(Binding binding, String value) {
+    if (binding == Binding.TEXT && SAFE_VALUE.matcher(value).matches() && !isNumber(value)) {
+      return value;
+    }
+    if (binding == Binding.UUID && value.length() == 36) {
+      try {
+        return UUID.fromString(value).toString();
+      } catch (IllegalArgumentException e) {
+        return null;
+      }
+    }
+    return null;
+  }
+
+  private static boolean isNumber(String value) {
+    try {
+      Double.parseDouble(value);
+      return true;
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+
+  private static String getValue(Map<String, ?> values, String name) {
+    Object value = values != null ? values.get(name) : null;
+    if (value == null) {
+      throw new IllegalArgumentException("No value for placeholder: " + name);
+    }
+    return value.toString();
+  }
+
+  private static String quote(String value) {
+    StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (CQL_SPECIAL_CHARACTERS.indexOf(c) >= 0) {
+        quoted.append('\\');
+      }
+      quoted.append(c);
+    }
+    return quoted.append('"').toString();
+  }
+
+  private static String unquote(String value) {
+    StringBuilder unquoted = new StringBuilder(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '\\' && i + 1 < value.length()) {
+        c = value.charAt(++i);
+      }
+      unquoted.append(c);
+    }
+    return unquoted.toString();
+  }
+
+  /**
+   * Converter used by wrappers of the template, it recognizes queries produced by {@link #toCql(Map)}
+   * and binds their values to the translated template instead of translating them again.
+   */
+  private final class TemplateCQL2PgJSON extends CQL2PgJSON {
+
+    private TemplateCQL2PgJSON(String tableName) throws FieldException {
+      super(tableName + ".jsonb");
+    }
+
+    @Override
+    public SqlSelect toSql(String cql) throws QueryValidationException {
+      Matcher matcher = boundQueryPattern.matcher(cql);
+      if (!matcher.matches()) {
+        return cachingConverter.toSql(cql);
+      }
+      Map<String, String> values = new LinkedHashMap<>();
+      for (int i = 0; i < placeholders.size(); i++) {
+        String value = unquote(matcher.group(i + 1));
+        String previous = values.putIfAbsent(placeholders.get(i), value);
+        if (previous != null && !previous.equals(value)) {
+          return cachingConverter.toSql(cql);
+        }
+      }
+      return bindSql(values);
+    }
+
+    private SqlSelect translate(String cql) throws QueryValidationException {
+      return super.toSql(cql);
+    }
+  }
+}
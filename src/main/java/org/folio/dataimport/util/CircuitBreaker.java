@@ -0,0 +1,167 @@
+package org.folio.dataimport.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker of a single downstream.
+ * <p>
+ * In CLOSED state all calls are permitted and their outcomes are recorded in a sliding window.
+ * When failure rate or slow call rate in the window reaches the threshold the circuit becomes OPEN
+ * and calls are rejected. After open duration the circuit becomes HALF_OPEN and permits a limited number
+ * of probe calls: if all of them succeed the circuit is closed again, otherwise it is opened again.
+ */
+public class CircuitBreaker {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  public enum State {
+    CLOSED, OPEN, HALF_OPEN
+  }
+
+  /**
+   * Listener of circuit breaker state transitions.
+   */
+  @FunctionalInterface
+  public interface StateListener {
+
+    /**
+     * Called on every state transition of a circuit breaker.
+     *
+     * @param name name of the circuit breaker, i.e. its downstream key
+     * @param from previous state
+     * @param to   new state
+     */
+    void onStateTransition(String name, State from, State to);
+  }
+
+  private final String name;
+  private final CircuitBreakerOptions options;
+  private final StateListener listener;
+  private final LongSupplier nanoClock;
+  private final boolean[] failures;
+  private final boolean[] slowCalls;
+  private State state = State.CLOSED;
+  private int recordedCalls;
+  private int position;
+  private int failedCalls;
+  private int slowCallsCount;
+  private long openedAt;
+  private int halfOpenPermitted;
+  private int halfOpenSucceeded;
+
+  CircuitBreaker(String name, CircuitBreakerOptions options, StateListener listener) {
+    this(name, options, listener, System::nanoTime);
+  }
+
+  CircuitBreaker(String name, CircuitBreakerOptions options, StateListener listener, LongSupplier nanoClock) {
+    this.name = name;
+    this.options = options;
+    this.listener = listener;
+    this.nanoClock = nanoClock;
+    this.failures = new boolean[options.getSlidingWindowSize()];
+    this.slowCalls = new boolean[options.getSlidingWindowSize()];
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public synchronized State getState() {
+    return state;
+  }
+
+  /**
+   * Checks whether a call is permitted in current state.
+   *
+   * @return true if the call may be sent
+   */
+  synchronized boolean tryAcquirePermission() {
+    if (state == State.OPEN) {
+      if (nanoClock.getAsLong() - openedAt < TimeUnit.MILLISECONDS.toNanos(options.getOpenDuration())) {
+        return false;
+      }
+      transitionTo(State.HALF_OPEN);
+    }
+    if (state == State.HALF_OPEN) {
+      if (halfOpenPermitted >= options.getHalfOpenCalls()) {
+        return false;
+      }
+      halfOpenPermitted++;
+    }
+    return true;
+  }
+
+  /**
+   * Records outcome of a permitted call.
+   *
+   * @param failed         whether the call failed
+   * @param durationMillis call duration in milliseconds
+   */
+  synchronized void onResult(boolean failed, long durationMillis) {
+    boolean slow = durationMillis >= options.getSlowCallDuration();
+    if (state == State.HALF_OPEN) {
+      if (failed || slow) {
+        transitionTo(State.OPEN);
+      } else if (++halfOpenSucceeded >= options.getHalfOpenCalls()) {
+        transitionTo(State.CLOSED);
+      }
+    } else if (state == State.CLOSED) {
+      record(failed, slow);
+      if (recordedCalls >= options.getMinimumCalls()
+        && (failedCalls * 100 >= options.getFailureRateThreshold() * recordedCalls
+        || slowCallsCount * 100 >= options.getSlowCallRateThreshold() * recordedCalls)) {
+        transitionTo(State.OPEN);
+      }
+    }
+  }
+
+  /**
+   * Releases permission of a call which outcome should not be recorded, e.g. a request cancelled because
+   * its hedged twin completed first, so a half-open probe slot becomes available again.
+   */
+  synchronized void onIgnored() {
+    if (state == State.HALF_OPEN && halfOpenPermitted > 0) {
+      halfOpenPermitted--;
+    }
+  }
+
+  private void record(boolean failed, boolean slow) {
+    if (recordedCalls == failures.length) {
+      failedCalls -= failures[position] ? 1 : 0;
+      slowCallsCount -= slowCalls[position] ? 1 : 0;
+    } else {
+      recordedCalls++;
+    }
+    failures[position] = failed;
+    slowCalls[position] = slow;
+    failedCalls += failed ? 1 : 0;
+    slowCallsCount += slow ? 1 : 0;
+    position = (position + 1) % failures.length;
+  }
+
+  private void transitionTo(State newState) {
+    State oldState = state;
+    state = newState;
+    recordedCalls = 0;
+    position = 0;
+    failedCalls = 0;
+    slowCallsCount = 0;
+    halfOpenPermitted = 0;
+    halfOpenSucceeded = 0;
+    if (newState == State.OPEN) {
+      openedAt = nanoClock.getAsLong();
+    }
+    LOGGER.warn("transitionTo:: Circuit breaker '{}' changed state from {} to {}", name, oldState, newState);
+    if (listener != null) {
+      try {
+        listener.onStateTransition(name, oldState, newState);
+      } catch (Exception e) {
+        LOGGER.warn("transitionTo:: Circuit breaker state listener failed", e);
+      }
+    }
+  }
+}
@@ -0,0 +1,145 @@
+package org.folio.dataimport.util;
+
+/**
+ * Options of circuit breakers created by {@link CircuitBreakerRegistry}.
+ */
+public class CircuitBreakerOptions {
+
+  public static final int DEFAULT_SLIDING_WINDOW_SIZE = 20;
+  public static final int DEFAULT_MINIMUM_CALLS = 10;
+  public static final int DEFAULT_FAILURE_RATE_THRESHOLD = 50;
+  public static final int DEFAULT_SLOW_CALL_RATE_THRESHOLD = 80;
+  public static final long DEFAULT_SLOW_CALL_DURATION = 10000;
+  public static final long DEFAULT_OPEN_DURATION = 30000;
+  public static final int DEFAULT_HALF_OPEN_CALLS = 3;
+
+  private int slidingWindowSize = DEFAULT_SLIDING_WINDOW_SIZE;
+  private int minimumCalls = DEFAULT_MINIMUM_CALLS;
+  private int failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+  private int slowCallRateThreshold = DEFAULT_SLOW_CALL_RATE_THRESHOLD;
+  private long slowCallDuration = DEFAULT_SLOW_CALL_DURATION;
+  private long openDuration = DEFAULT_OPEN_DURATION;
+  private int halfOpenCalls = DEFAULT_HALF_OPEN_CALLS;
+
+  public int getSlidingWindowSize() {
+    return slidingWindowSize;
+  }
+
+  /**
+   * Sets number of the latest calls used to calculate failure and slow call rates.
+   *
+   * @param slidingWindowSize sliding window size
+   * @return this options
+   */
+  public CircuitBreakerOptions setSlidingWindowSize(int slidingWindowSize) {
+    if (slidingWindowSize < 1) {
+      throw new IllegalArgumentException("slidingWindowSize must be > 0");
+    }
+    this.slidingWindowSize = slidingWindowSize;
+    return this;
+  }
+
+  public int getMinimumCalls() {
+    return minimumCalls;
+  }
+
+  /**
+   * Sets minimum number of recorded calls before rates are evaluated.
+   *
+   * @param minimumCalls minimum number of calls
+   * @return this options
+   */
+  public CircuitBreakerOptions setMinimumCalls(int minimumCalls) {
+    if (minimumCalls < 1) {
+      throw new IllegalArgumentException("minimumCalls must be > 0");
+    }
+    this.minimumCalls = minimumCalls;
+    return this;
+  }
+
+  public int getFailureRateThreshold() {
+    return failureRateThreshold;
+  }
+
+  /**
+   * Sets percentage of failed calls at which the circuit is opened. A call is failed if it could not be sent
+   * or its response code is 5xx.
+   *
+   * @param failureRateThreshold failure rate threshold in percent
+   * @return this options
+   */
+  public CircuitBreakerOptions setFailureRateThreshold(int failureRateThreshold) {
+    this.failureRateThreshold = checkPercentage(failureRateThreshold);
+    return this;
+  }
+
+  public int getSlowCallRateThreshold() {
+    return slowCallRateThreshold;
+  }
+
+  /**
+   * Sets percentage of slow calls at which the circuit is opened.
+   *
+   * @param slowCallRateThreshold slow call rate threshold in percent
+   * @return this options
+   */
+  public CircuitBreakerOptions setSlowCallRateThreshold(int slowCallRateThreshold) {
+    this.slowCallRateThreshold = checkPercentage(slowCallRateThreshold);
+    return this;
+  }
+
+  public long getSlowCallDuration() {
+    return slowCallDuration;
+  }
+
+  /**
+   * Sets duration in milliseconds above which a call is considered slow.
+   *
+   * @param slowCallDuration slow call duration
+   * @return this options
+   */
+  public CircuitBreakerOptions setSlowCallDuration(long slowCallDuration) {
+    this.slowCallDuration = slowCallDuration;
+    return this;
+  }
+
+  public long getOpenDuration() {
+    return openDuration;
+  }
+
+  /**
+   * Sets time in milliseconds the circuit stays open before probe calls are allowed.
+   *
+   * @param openDuration open duration
+   * @return this options
+   */
+  public CircuitBreakerOptions setOpenDuration(long openDuration) {
+    this.openDuration = openDuration;
+    return this;
+  }
+
+  public int getHalfOpenCalls() {
+    return halfOpenCalls;
+  }
+
+  /**
+   * Sets number of probe calls allowed in half-open state, the circuit is closed if all of them succeed.
+   *
+   * @param halfOpenCalls number of probe calls
+   * @return this options
+   */
+  public CircuitBreakerOptions setHalfOpenCalls(int halfOpenCalls) {
+    if (halfOpenCalls < 1) {
+      throw new IllegalArgumentException("halfOpenCalls must be > 0");
+    }
+    this.halfOpenCalls = halfOpenCalls;
+    return this;
+  }
+
+  private static int checkPercentage(int value) {
+    if (value < 1 || value > 100) {
+      throw new IllegalArgumentException("threshold must be between 1 and 100");
+    }
+    return value;
+  }
+}
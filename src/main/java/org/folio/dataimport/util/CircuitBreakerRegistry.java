@@ -0,0 +1,61 @@
+package org.folio.dataimport.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of circuit breakers used by {@link RestUtil}, one circuit breaker per downstream,
+ * i.e. per Okapi URL and first segment of request path.
+ * <p>
+ * Circuit breakers are disabled until options are set via {@link #setOptions(CircuitBreakerOptions)}.
+ */
+public final class CircuitBreakerRegistry {
+
+  private static final Map<String, CircuitBreaker> CIRCUIT_BREAKERS = new ConcurrentHashMap<>();
+  private static volatile CircuitBreakerOptions options;
+  private static volatile CircuitBreaker.StateListener stateListener;
+
+  private CircuitBreakerRegistry() {
+  }
+
+  /**
+   * Enables circuit breakers with specified options, or disables them if options are null.
+   * Existing circuit breakers are discarded.
+   *
+   * @param circuitBreakerOptions circuit breaker options
+   */
+  public static void setOptions(CircuitBreakerOptions circuitBreakerOptions) {
+    options = circuitBreakerOptions;
+    CIRCUIT_BREAKERS.clear();
+  }
+
+  /**
+   * Sets listener notified on state transitions of all circuit breakers.
+   *
+   * @param listener state listener
+   */
+  public static void setStateListener(CircuitBreaker.StateListener listener) {
+    stateListener = listener;
+  }
+
+  /**
+   * Returns circuit breaker of the downstream of specified request.
+   *
+   * @param okapiUrl Okapi URL
+   * @param url      relative request URL
+   * @return circuit breaker or null if circuit breakers are disabled
+   */
+  public static CircuitBreaker getCircuitBreaker(String okapiUrl, String url) {
+    CircuitBreakerOptions currentOptions = options;
+    if (currentOptions == null) {
+      return null;
+    }
+    return CIRCUIT_BREAKERS.computeIfAbsent(DownstreamKey.of(okapiUrl, url),
+      key -> new CircuitBreaker(key, currentOptions, (name, from, to) -> {
+        CircuitBreaker.StateListener listener = stateListener;
+        if (listener != null) {
+          listener.onStateTransition(name, from, to);
+        }
+      }));
+  }
+}
@@ -0,0 +1,134 @@
+package org.folio.dataimport.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * Options of request body compression, see {@link RequestCompression}.
+ */
+public class CompressionOptions {
+
+  /**
+   * Content encoding of compressed request bodies.
+   */
+  public enum Encoding {
+    GZIP("gzip"), DEFLATE("deflate");
+
+    private final String value;
+
+    Encoding(String value) {
+      this.value = value;
+    }
+
+    public String getValue() {
+      return value;
+    }
+  }
+
+  public static final Encoding DEFAULT_ENCODING = Encoding.GZIP;
+  public static final int DEFAULT_THRESHOLD = 8192;
+  public static final int DEFAULT_LEVEL = Deflater.DEFAULT_COMPRESSION;
+  public static final int DEFAULT_BLOCKING_THRESHOLD = 1048576;
+
+  private Encoding encoding = DEFAULT_ENCODING;
+  private int threshold = DEFAULT_THRESHOLD;
+  private int level = DEFAULT_LEVEL;
+  private int blockingThreshold = DEFAULT_BLOCKING_THRESHOLD;
+  private final List<String> excludedRoutes = new ArrayList<>();
+
+  public Encoding getEncoding() {
+    return encoding;
+  }
+
+  public CompressionOptions setEncoding(Encoding encoding) {
+    if (encoding == null) {
+      throw new IllegalArgumentException("encoding must not be null");
+    }
+    this.encoding = encoding;
+    return this;
+  }
+
+  public int getThreshold() {
+    return threshold;
+  }
+
+  /**
+   * Sets min size of request body which is compressed, smaller bodies are sent as is.
+   *
+   * @param threshold threshold in bytes
+   * @return this options
+   */
+  public CompressionOptions setThreshold(int threshold) {
+    if (threshold < 0) {
+      throw new IllegalArgumentException("threshold must be >= 0");
+    }
+    this.threshold = threshold;
+    return this;
+  }
+
+  public int getLevel() {
+    return level;
+  }
+
+  /**
+   * Sets compression level from 1 (fastest) to 9 (smallest), or -1 for the default level.
+   *
+   * @param level compression level
+   * @return this options
+   */
+  public CompressionOptions setLevel(int level) {
+    if (level != Deflater.DEFAULT_COMPRESSION && (level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION)) {
+      throw new IllegalArgumentException("level must be in range [1, 9] or -1");
+    }
+    this.level = level;
+    return this;
+  }
+
+  public int getBlockingThreshold() {
+    return blockingThreshold;
+  }
+
+  /**
+   * Sets min size of request body which is compressed on a worker thread instead of the event loop.
+   *
+   * @param blockingThreshold threshold in bytes
+   * @return this options
+   */
+  public CompressionOptions setBlockingThreshold(int blockingThreshold) {
+    if (blockingThreshold < 0) {
+      throw new IllegalArgumentException("blockingThreshold must be >= 0");
+    }
+    this.blockingThreshold = blockingThreshold;
+    return this;
+  }
+
+  public List<String> getExcludedRoutes() {
+    return Collections.unmodifiableList(excludedRoutes);
+  }
+
+  /**
+   * Excludes requests which URL starts with specified prefix from compression, e.g. for modules which do not
+   * accept compressed bodies. Responses of such requests are requested without compression as well.
+   *
+   * @param urlPrefix relative URL prefix, e.g. "/source-storage"
+   * @return this options
+   */
+  public CompressionOptions addExcludedRoute(String urlPrefix) {
+    if (urlPrefix == null || urlPrefix.isEmpty()) {
+      throw new IllegalArgumentException("urlPrefix must not be empty");
+    }
+    excludedRoutes.add(urlPrefix);
+    return this;
+  }
+
+  boolean isExcluded(String url) {
+    for (String excludedRoute : excludedRoutes) {
+      if (url.startsWith(excludedRoute)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
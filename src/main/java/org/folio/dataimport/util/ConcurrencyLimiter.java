@@ -0,0 +1,188 @@
+package org.folio.dataimport.util;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.dataimport.util.exception.ConcurrencyLimitExceededException;
+import org.folio.dataimport.util.exception.DeadlineExceededException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adaptive concurrency limiter of a single downstream.
+ * <p>
+ * The limit is adjusted with AIMD: it grows by one per limit of successful requests while the limit is utilized,
+ * and is multiplied by the backoff ratio when a request is dropped, i.e. failed, was rejected with 429 or 5xx
+ * status code, or its latency exceeded the no-load latency multiplied by the latency tolerance.
+ * The no-load latency is the minimum latency observed in a window of requests, so it follows changes of the
+ * downstream. Requests over the limit wait in a bounded queue, or are rejected if the queue is full
+ * or the wait is too long.
+ */
+public class ConcurrencyLimiter {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+  private static final int NO_LOAD_LATENCY_WINDOW = 250;
+
+  private final String name;
+  private final ConcurrencyLimiterOptions options;
+  private final Deque<Waiter> queue = new ArrayDeque<>();
+  private double limit;
+  private int inFlight;
+  private long noLoadLatency = Long.MAX_VALUE;
+  private long windowMinLatency = Long.MAX_VALUE;
+  private int windowSamples;
+
+  ConcurrencyLimiter(String name, ConcurrencyLimiterOptions options) {
+    this.name = name;
+    this.options = options;
+    this.limit = Math.max(options.getMinLimit(), Math.min(options.getMaxLimit(), options.getInitialLimit()));
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public synchronized int getLimit() {
+    return (int) limit;
+  }
+
+  public synchronized int getInFlight() {
+    return inFlight;
+  }
+
+  public synchronized int getQueueSize() {
+    return queue.size();
+  }
+
+  /**
+   * Acquires permission to send a request, the returned future completes on the context of the caller.
+   * Every acquired permission must be released with one of {@link #onSuccess(long)}, {@link #onDropped()}
+   * or {@link #onIgnored()}.
+   *
+   * @return future completed when the request may be sent, failed with {@link ConcurrencyLimitExceededException}
+   * if the request was rejected
+   */
+  Future<Void> acquire() {
+    return acquire(null);
+  }
+
+  /**
+   * Acquires permission to send a request, see {@link #acquire()}. A queued request waits at most until
+   * the deadline, a request with exceeded deadline is rejected instead of being queued.
+   *
+   * @param deadline deadline of the request, may be null
+   * @return future completed when the request may be sent, failed with {@link ConcurrencyLimitExceededException}
+   * if the request was rejected or with {@link DeadlineExceededException} if its deadline was exceeded in the queue
+   */
+  Future<Void> acquire(Deadline deadline) {
+    Waiter waiter;
+    synchronized (this) {
+      if (inFlight < (int) limit) {
+        inFlight++;
+        return Future.succeededFuture();
+      }
+      if (queue.size() >= options.getMaxQueueSize()) {
+        return Future.failedFuture(rejected());
+      }
+      if (deadline != null && deadline.isExpired()) {
+        return Future.failedFuture(new DeadlineExceededException("Deadline exceeded while waiting for concurrency limit"));
+      }
+      waiter = new Waiter(Vertx.currentContext(), Promise.promise());
+      queue.add(waiter);
+    }
+    long remaining = deadline != null ? deadline.getRemainingMillis() : Long.MAX_VALUE;
+    boolean deadlineFirst = remaining < options.getMaxQueueWait();
+    Vertx vertx = waiter.context().owner();
+    long timerId = vertx.setTimer(Math.max(1, deadlineFirst ? remaining : options.getMaxQueueWait()), id -> {
+      if (removeWaiter(waiter)) {
+        waiter.promise().tryFail(deadlineFirst
+          ? new DeadlineExceededException("Deadline exceeded while waiting for concurrency limit")
+          : rejected());
+      }
+    });
+    return waiter.promise().future().onComplete(ar -> vertx.cancelTimer(timerId));
+  }
+
+  /**
+   * Releases permission of a successful request.
+   *
+   * @param latencyNanos request latency in nanoseconds
+   */
+  void onSuccess(long latencyNanos) {
+    release(TimeUnit.NANOSECONDS.toMicros(latencyNanos), false, false);
+  }
+
+  /**
+   * Releases permission of a dropped request and decreases the limit.
+   */
+  void onDropped() {
+    release(0, true, false);
+  }
+
+  /**
+   * Releases permission without adjusting the limit, e.g. for a request which was cancelled.
+   */
+  void onIgnored() {
+    release(0, false, true);
+  }
+
+  private void release(long latencyMicros, boolean dropped, boolean ignored) {
+    List<Waiter> granted = new ArrayList<>();
+    synchronized (this) {
+      if (!ignored) {
+        adjustLimit(latencyMicros, dropped);
+      }
+      inFlight--;
+      while (inFlight < (int) limit && !queue.isEmpty()) {
+        inFlight++;
+        granted.add(queue.poll());
+      }
+    }
+    granted.forEach(waiter -> waiter.context().runOnContext(v -> waiter.promise().tryComplete()));
+  }
+
+  private void adjustLimit(long latencyMicros, boolean dropped) {
+    boolean drop = dropped;
+    if (!drop) {
+      updateNoLoadLatency(latencyMicros);
+      drop = latencyMicros > noLoadLatency * options.getLatencyTolerance();
+    }
+    int previousLimit = (int) limit;
+    if (drop) {
+      limit = Math.max(options.getMinLimit(), limit * options.getBackoffRatio());
+    } else if (inFlight >= limit / 2) {
+      limit = Math.min(options.getMaxLimit(), limit + 1 / limit);
+    }
+    if ((int) limit != previousLimit) {
+      LOGGER.debug("adjustLimit:: Concurrency limit of '{}' changed from {} to {}", name, previousLimit, (int) limit);
+    }
+  }
+
+  private void updateNoLoadLatency(long latencyMicros) {
+    noLoadLatency = Math.min(noLoadLatency, latencyMicros);
+    windowMinLatency = Math.min(windowMinLatency, latencyMicros);
+    if (++windowSamples >= NO_LOAD_LATENCY_WINDOW) {
+      noLoadLatency = windowMinLatency;
+      windowMinLatency = Long.MAX_VALUE;
+      windowSamples = 0;
+    }
+  }
+
+  private synchronized boolean removeWaiter(Waiter waiter) {
+    return queue.remove(waiter);
+  }
+
+  private ConcurrencyLimitExceededException rejected() {
+    return new ConcurrencyLimitExceededException(String.format("Concurrency limit of '%s' is exceeded", name));
+  }
+
+  private record Waiter(Context context, Promise<Void> promise) {
+  }
+}
@@ -0,0 +1,134 @@
+package org.folio.dataimport.util;
+
+/**
+ * Options of concurrency limiters created by {@link ConcurrencyLimiterRegistry}.
+ */
+public class ConcurrencyLimiterOptions {
+
+  public static final int DEFAULT_INITIAL_LIMIT = 20;
+  public static final int DEFAULT_MIN_LIMIT = 1;
+  public static final int DEFAULT_MAX_LIMIT = 200;
+  public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+  public static final double DEFAULT_LATENCY_TOLERANCE = 2.0;
+  public static final int DEFAULT_MAX_QUEUE_SIZE = 100;
+  public static final long DEFAULT_MAX_QUEUE_WAIT = 1000;
+
+  private int initialLimit = DEFAULT_INITIAL_LIMIT;
+  private int minLimit = DEFAULT_MIN_LIMIT;
+  private int maxLimit = DEFAULT_MAX_LIMIT;
+  private double backoffRatio = DEFAULT_BACKOFF_RATIO;
+  private double latencyTolerance = DEFAULT_LATENCY_TOLERANCE;
+  private int maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
+  private long maxQueueWait = DEFAULT_MAX_QUEUE_WAIT;
+
+  public int getInitialLimit() {
+    return initialLimit;
+  }
+
+  public ConcurrencyLimiterOptions setInitialLimit(int initialLimit) {
+    if (initialLimit < 1) {
+      throw new IllegalArgumentException("initialLimit must be > 0");
+    }
+    this.initialLimit = initialLimit;
+    return this;
+  }
+
+  public int getMinLimit() {
+    return minLimit;
+  }
+
+  public ConcurrencyLimiterOptions setMinLimit(int minLimit) {
+    if (minLimit < 1) {
+      throw new IllegalArgumentException("minLimit must be > 0");
+    }
+    this.minLimit = minLimit;
+    return this;
+  }
+
+  public int getMaxLimit() {
+    return maxLimit;
+  }
+
+  public ConcurrencyLimiterOptions setMaxLimit(int maxLimit) {
+    if (maxLimit < 1) {
+      throw new IllegalArgumentException("maxLimit must be > 0");
+    }
+    this.maxLimit = maxLimit;
+    return this;
+  }
+
+  public double getBackoffRatio() {
+    return backoffRatio;
+  }
+
+  /**
+   * Sets ratio by which the limit is multiplied when a request is dropped, i.e. failed, was rejected
+   * with 429 or 5xx status code or its latency exceeded the tolerated latency.
+   *
+   * @param backoffRatio backoff ratio in range (0, 1)
+   * @return this options
+   */
+  public ConcurrencyLimiterOptions setBackoffRatio(double backoffRatio) {
+    if (backoffRatio <= 0 || backoffRatio >= 1) {
+      throw new IllegalArgumentException("backoffRatio must be in range (0, 1)");
+    }
+    this.backoffRatio = backoffRatio;
+    return this;
+  }
+
+  public double getLatencyTolerance() {
+    return latencyTolerance;
+  }
+
+  /**
+   * Sets how many times latency of a request may exceed the no-load latency of the downstream
+   * before the request is considered dropped.
+   *
+   * @param latencyTolerance latency tolerance, must be >= 1
+   * @return this options
+   */
+  public ConcurrencyLimiterOptions setLatencyTolerance(double latencyTolerance) {
+    if (latencyTolerance < 1) {
+      throw new IllegalArgumentException("latencyTolerance must be >= 1");
+    }
+    this.latencyTolerance = latencyTolerance;
+    return this;
+  }
+
+  public int getMaxQueueSize() {
+    return maxQueueSize;
+  }
+
+  /**
+   * Sets max number of requests waiting for the limit, requests over it are rejected immediately.
+   * 0 means that requests over the limit are always rejected.
+   *
+   * @param maxQueueSize max queue size
+   * @return this options
+   */
+  public ConcurrencyLimiterOptions setMaxQueueSize(int maxQueueSize) {
+    if (maxQueueSize < 0) {
+      throw new IllegalArgumentException("maxQueueSize must be >= 0");
+    }
+    this.maxQueueSize = maxQueueSize;
+    return this;
+  }
+
+  public long getMaxQueueWait() {
+    return maxQueueWait;
+  }
+
+  /**
+   * Sets max time a request waits in the queue before it is rejected.
+   *
+   * @param maxQueueWait max queue wait in milliseconds
+   * @return this options
+   */
+  public ConcurrencyLimiterOptions setMaxQueueWait(long maxQueueWait) {
+    if (maxQueueWait < 1) {
+      throw new IllegalArgumentException("maxQueueWait must be > 0");
+    }
+    this.maxQueueWait = maxQueueWait;
+    return this;
+  }
+}
@@ -0,0 +1,45 @@
+package org.folio.dataimport.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of adaptive concurrency limiters used by {@link RestUtil}, one limiter per downstream,
+ * i.e. per Okapi URL and first segment of request path.
+ * <p>
+ * Concurrency limiters are disabled until options are set via {@link #setOptions(ConcurrencyLimiterOptions)}.
+ */
+public final class ConcurrencyLimiterRegistry {
+
+  private static final Map<String, ConcurrencyLimiter> LIMITERS = new ConcurrentHashMap<>();
+  private static volatile ConcurrencyLimiterOptions options;
+
+  private ConcurrencyLimiterRegistry() {
+  }
+
+  /**
+   * Enables concurrency limiters with specified options, or disables them if options are null.
+   * Existing limiters are discarded.
+   *
+   * @param limiterOptions concurrency limiter options
+   */
+  public static void setOptions(ConcurrencyLimiterOptions limiterOptions) {
+    options = limiterOptions;
+    LIMITERS.clear();
+  }
+
+  /**
+   * Returns concurrency limiter of the downstream of specified request.
+   *
+   * @param okapiUrl Okapi URL
+   * @param url      relative request URL
+   * @return concurrency limiter or null if concurrency limiters are disabled
+   */
+  public static ConcurrencyLimiter getLimiter(String okapiUrl, String url) {
+    ConcurrencyLimiterOptions currentOptions = options;
+    if (currentOptions == null) {
+      return null;
+    }
+    return LIMITERS.computeIfAbsent(DownstreamKey.of(okapiUrl, url), key -> new ConcurrencyLimiter(key, currentOptions));
+  }
+}
@@ -0,0 +1,74 @@
+package org.folio.dataimport.util;
+
+/**
+ * Policy of counting total records of a paged query, see {@link DaoUtil#countRecords}.
+ */
+public final class CountPolicy {
+
+  public static final long DEFAULT_ESTIMATE_THRESHOLD = 10000;
+
+  public enum Mode {
+    /**
+     * Records are counted with {@code count(*)}.
+     */
+    EXACT,
+    /**
+     * Number of records is taken from the query planner estimate.
+     */
+    ESTIMATED,
+    /**
+     * Records are not counted.
+     */
+    NONE
+  }
+
+  private static final CountPolicy EXACT = new CountPolicy(Mode.EXACT, 0);
+  private static final CountPolicy NONE = new CountPolicy(Mode.NONE, 0);
+
+  private final Mode mode;
+  private final long estimateThreshold;
+
+  private CountPolicy(Mode mode, long estimateThreshold) {
+    this.mode = mode;
+    this.estimateThreshold = estimateThreshold;
+  }
+
+  public static CountPolicy exact() {
+    return EXACT;
+  }
+
+  public static CountPolicy none() {
+    return NONE;
+  }
+
+  /**
+   * Returns policy using planner estimate above {@link #DEFAULT_ESTIMATE_THRESHOLD} records.
+   *
+   * @return count policy
+   */
+  public static CountPolicy estimated() {
+    return estimated(DEFAULT_ESTIMATE_THRESHOLD);
+  }
+
+  /**
+   * Returns policy using planner estimate when it is above the specified threshold,
+   * smaller results are counted exactly as their count is cheap and estimates of them are least accurate.
+   *
+   * @param estimateThreshold number of records above which estimate is used
+   * @return count policy
+   */
+  public static CountPolicy estimated(long estimateThreshold) {
+    if (estimateThreshold < 0) {
+      throw new IllegalArgumentException("estimateThreshold must be >= 0");
+    }
+    return new CountPolicy(Mode.ESTIMATED, estimateThreshold);
+  }
+
+  public Mode getMode() {
+    return mode;
+  }
+
+  public long getEstimateThreshold() {
+    return estimateThreshold;
+  }
+}
@@ -1,12 +1,21 @@
 package org.folio.dataimport.util;
 
-import org.folio.cql2pgjson.CQL2PgJSON;
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.SqlClient;
+import io.vertx.sqlclient.Tuple;
 import org.folio.cql2pgjson.exception.FieldException;
+import org.folio.cql2pgjson.exception.QueryValidationException;
+import org.folio.cql2pgjson.model.SqlSelect;
 import org.folio.rest.persist.Criteria.Criteria;
 import org.folio.rest.persist.Criteria.Limit;
 import org.folio.rest.persist.Criteria.Offset;
 import org.folio.rest.persist.cql.CQLWrapper;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 public final class DaoUtil {
 
   private DaoUtil() {
@@ -27,15 +36,109 @@ public final class DaoUtil {
   }
 
   /**
-   * Build CQL from request URL query
+   * Build CQL from request URL query,
+   * CQL converter of the table and translated query are taken from {@link CQLCache}
    *
    * @param query - query from URL
    * @return - CQL wrapper for building postgres request to database
    * @throws FieldException field exception
    */
   public static CQLWrapper getCQLWrapper(String tableName, String query) throws FieldException {
-    CQL2PgJSON cql2pgJson = new CQL2PgJSON(tableName + ".jsonb");
-    return new CQLWrapper(cql2pgJson, query);
+    return new CQLWrapper(CQLCache.getInstance().getConverter(tableName), query);
+  }
+
+  /**
+   * Build CQL from query template by binding placeholder values,
+   * the template is compiled once per table, see {@link CQLTemplate}
+   *
+   * @param tableName - table name
+   * @param template  - CQL query with {@code ${name}} placeholders, e.g. {@code jobExecutionId==${jobExecutionId}}
+   * @param values    - placeholder values by name
+   * @return - CQL wrapper for building postgres request to database
+   * @throws FieldException           field exception
+   * @throws QueryValidationException if template is not a valid query
+   */
+  public static CQLWrapper getCQLWrapper(String tableName, String template, Map<String, ?> values)
+    throws FieldException, QueryValidationException {
+    return CQLCache.getInstance().getTemplate(tableName, template).bind(values);
+  }
+
+  /**
+   * Build keyset (seek) pagination query from request URL query, see {@link KeysetQuery}
+   *
+   * @param schemaName - schema of the table
+   * @param tableName  - table name
+   * @param query      - query from URL, its sortBy part is ignored in favour of sort keys
+   * @param sortKeys   - sort keys, the last one should make the order unique, e.g. id column
+   * @param cursor     - cursor of the page returned by {@link KeysetQuery#getNextCursor(io.vertx.sqlclient.RowSet)}
+   *                   or null for the first page
+   * @param limit      - page size
+   * @return - page query
+   * @throws FieldException           field exception
+   * @throws QueryValidationException if query is not valid
+   */
+  public static KeysetQuery getKeysetQuery(String schemaName, String tableName, String query, List<SortKey> sortKeys,
+                                           String cursor, int limit) throws FieldException, QueryValidationException {
+    return KeysetQuery.build(schemaName, tableName, getWhereClause(tableName, query), sortKeys, cursor, limit);
+  }
+
+  /**
+   * Count records matching request URL query according to count policy
+   *
+   * @param client     - sql client
+   * @param schemaName - schema of the table
+   * @param tableName  - table name
+   * @param query      - query from URL, its sortBy part is ignored
+   * @param policy     - count policy
+   * @return - future with number of records and the way they were counted
+   * @throws FieldException           field exception
+   * @throws QueryValidationException if query is not valid
+   */
+  public static Future<RecordCount> countRecords(SqlClient client, String schemaName, String tableName, String query,
+                                                 CountPolicy policy) throws FieldException, QueryValidationException {
+    return RecordCount.count(client, schemaName, tableName, getWhereClause(tableName, query), policy);
+  }
+
+  /**
+   * Stream records matching request URL query through server-side cursor
+   * fetching {@link RecordStream#DEFAULT_FETCH_SIZE} rows at once
+   *
+   * @param pool       - connection pool
+   * @param schemaName - schema of the table
+   * @param tableName  - table name
+   * @param query      - query from URL
+   * @return - future with stream of rows with id and jsonb columns
+   * @throws FieldException           field exception
+   * @throws QueryValidationException if query is not valid
+   */
+  public static Future<RecordStream> streamRecords(Pool pool, String schemaName, String tableName, String query)
+    throws FieldException, QueryValidationException {
+    return streamRecords(pool, schemaName, tableName, query, RecordStream.DEFAULT_FETCH_SIZE);
+  }
+
+  /**
+   * Stream records matching request URL query through server-side cursor, see {@link RecordStream}
+   *
+   * @param pool       - connection pool
+   * @param schemaName - schema of the table
+   * @param tableName  - table name
+   * @param query      - query from URL
+   * @param fetchSize  - number of rows fetched from database at once
+   * @return - future with stream of rows with id and jsonb columns
+   * @throws FieldException           field exception
+   * @throws QueryValidationException if query is not valid
+   */
+  public static Future<RecordStream> streamRecords(Pool pool, String schemaName, String tableName, String query,
+                                                   int fetchSize) throws FieldException, QueryValidationException {
+    StringBuilder sql = new StringBuilder("SELECT id, jsonb FROM ").append(schemaName).append('.').append(tableName);
+    if (query != null && !query.isBlank()) {
+      SqlSelect sqlSelect = CQLCache.getInstance().getConverter(tableName).toSql(query);
+      sql.append(" WHERE ").append(sqlSelect.getWhere());
+      if (sqlSelect.getOrderBy() != null && !sqlSelect.getOrderBy().isEmpty()) {
+        sql.append(" ORDER BY ").append(sqlSelect.getOrderBy());
+      }
+    }
+    return RecordStream.open(pool, sql.toString(), Tuple.tuple(), fetchSize);
   }
 
   /**
@@ -52,4 +155,42 @@ public final class DaoUtil {
     criteria.setVal(value);
     return criteria;
   }
+
+  /**
+   * Builds criteria matching jsonb field against large set of values, see {@link ArrayCriteria}
+   *
+   * @param jsonbField - json key name
+   * @param values     - values to match
+   * @return - criteria per chunk of {@link ArrayCriteria#DEFAULT_CHUNK_SIZE} values
+   */
+  public static List<ArrayCriteria> constructArrayCriteria(String jsonbField, Collection<String> values) {
+    return constructArrayCriteria(jsonbField, values, ArrayCriteria.DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Builds criteria matching jsonb field against large set of values, see {@link ArrayCriteria}
+   *
+   * @param jsonbField - json key name
+   * @param values     - values to match
+   * @param chunkSize  - max number of values per criteria
+   * @return - criteria per chunk of values, each one is supposed to be executed as a separate query
+   */
+  public static List<ArrayCriteria> constructArrayCriteria(String jsonbField, Collection<String> values, int chunkSize) {
+    return ArrayCriteria.forField(jsonbField, values, chunkSize);
+  }
+
+  /**
+   * Builds criteria matching id column against large set of ids, see {@link ArrayCriteria}
+   *
+   * @param ids       - ids to match
+   * @param chunkSize - max number of ids per criteria
+   * @return - criteria per chunk of ids, each one is supposed to be executed as a separate query
+   */
+  public static List<ArrayCriteria> constructIdArrayCriteria(Collection<String> ids, int chunkSize) {
+    return ArrayCriteria.forColumn("id", "uuid", ids, chunkSize);
+  }
+
+  private static String getWhereClause(String tableName, String query) throws FieldException, QueryValidationException {
+    return query == null || query.isBlank() ? null : CQLCache.getInstance().getConverter(tableName).toSql(query).getWhere();
+  }
 }
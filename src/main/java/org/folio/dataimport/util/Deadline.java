@@ -0,0 +1,79 @@
+package org.folio.dataimport.util;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time by which a chain of requests sent with the same {@link OkapiConnectionParams} must complete.
+ * <p>
+ * Each request uses the time remaining until the deadline as its timeout and is not sent once the deadline
+ * is exceeded. The remaining time can be forwarded to downstream modules in the {@link #DEADLINE_HEADER} header,
+ * so they can stop working on requests which the caller no longer waits for.
+ */
+public final class Deadline {
+
+  /**
+   * Header with the number of milliseconds remaining until the deadline.
+   */
+  public static final String DEADLINE_HEADER = "x-request-deadline-ms";
+
+  private final long deadlineNanos;
+
+  private Deadline(long deadlineNanos) {
+    this.deadlineNanos = deadlineNanos;
+  }
+
+  /**
+   * Creates deadline which expires after specified time from now.
+   *
+   * @param timeout time until the deadline
+   * @param unit    unit of timeout
+   * @return deadline
+   */
+  public static Deadline after(long timeout, TimeUnit unit) {
+    if (timeout < 0) {
+      throw new IllegalArgumentException("timeout must be >= 0");
+    }
+    return new Deadline(System.nanoTime() + unit.toNanos(timeout));
+  }
+
+  /**
+   * Creates deadline from the {@link #DEADLINE_HEADER} header of an incoming request.
+   *
+   * @param headers request headers
+   * @return deadline or null if the header is absent or invalid
+   */
+  public static Deadline fromHeaders(Map<String, String> headers) {
+    String remaining = headers.entrySet().stream()
+      .filter(entry -> DEADLINE_HEADER.equalsIgnoreCase(entry.getKey()))
+      .map(Map.Entry::getValue)
+      .findFirst()
+      .orElse(null);
+    if (remaining == null || remaining.isBlank()) {
+      return null;
+    }
+    try {
+      return after(Math.max(0, Long.parseLong(remaining.trim())), TimeUnit.MILLISECONDS);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Returns time remaining until the deadline.
+   *
+   * @return remaining time in milliseconds, 0 if the deadline is exceeded
+   */
+  public long getRemainingMillis() {
+    return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+  }
+
+  public boolean isExpired() {
+    return deadlineNanos - System.nanoTime() <= 0;
+  }
+
+  @Override
+  public String toString() {
+    return "Deadline{remaining=" + getRemainingMillis() + " ms}";
+  }
+}
@@ -0,0 +1,24 @@
+package org.folio.dataimport.util;
+
+/**
+ * Builds keys identifying a downstream module behind Okapi: Okapi URL plus the first segment of request path,
+ * e.g. "http://okapi:9130/source-storage" for "/source-storage/records?limit=10".
+ */
+final class DownstreamKey {
+
+  private DownstreamKey() {
+  }
+
+  static String of(String okapiUrl, String url) {
+    int end = url.length();
+    int queryStart = url.indexOf('?');
+    if (queryStart >= 0) {
+      end = queryStart;
+    }
+    int segmentEnd = url.indexOf('/', 1);
+    if (segmentEnd > 0 && segmentEnd < end) {
+      end = segmentEnd;
+    }
+    return okapiUrl + url.substring(0, end);
+  }
+}
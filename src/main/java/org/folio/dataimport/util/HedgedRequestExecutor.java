@@ -0,0 +1,87 @@
+package org.folio.dataimport.util;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.dataimport.util.RestUtil.WrappedResponse;
+
+import java.util.function.Function;
+
+/**
+ * Sends a request and, if its response does not arrive within the hedge delay, an identical hedged request.
+ * The first received response completes the execution and the other request is cancelled. If one of the requests
+ * fails, the execution waits for the other one and fails only if both failed.
+ * <p>
+ * All callbacks are executed on the context of the caller, so the state is not synchronized.
+ */
+class HedgedRequestExecutor {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private final Vertx vertx;
+  private final HedgingPolicy policy;
+  private final LatencyTracker latencies;
+  private final Function<RequestTimings, Future<WrappedResponse>> sender;
+  private final Promise<WrappedResponse> promise = Promise.promise();
+  private final RequestTimings primary = new RequestTimings();
+  private RequestTimings hedged;
+  private int pending;
+
+  /**
+   * @param vertx     vertx instance
+   * @param policy    hedging policy
+   * @param latencies latencies of the downstream of the request
+   * @param sender    sends the request with specified timings, so that it can be cancelled
+   */
+  HedgedRequestExecutor(Vertx vertx, HedgingPolicy policy, LatencyTracker latencies,
+                        Function<RequestTimings, Future<WrappedResponse>> sender) {
+    this.vertx = vertx;
+    this.policy = policy;
+    this.latencies = latencies;
+    this.sender = sender;
+  }
+
+  Future<WrappedResponse> execute() {
+    policy.getBudget().deposit();
+    long timerId = vertx.setTimer(Math.max(1, policy.getDelay(latencies)), id -> sendHedged());
+    promise.future().onComplete(ar -> vertx.cancelTimer(timerId));
+    send(primary);
+    return promise.future();
+  }
+
+  private void sendHedged() {
+    if (promise.future().isComplete() || !policy.getBudget().tryWithdraw()) {
+      return;
+    }
+    LOGGER.debug("sendHedged:: Response not received within hedge delay, sending hedged request");
+    hedged = new RequestTimings();
+    send(hedged);
+  }
+
+  private void send(RequestTimings timings) {
+    pending++;
+    sender.apply(timings).onComplete(ar -> {
+      pending--;
+      if (timings.isCancelled()) {
+        return;
+      }
+      if (ar.succeeded()) {
+        latencies.record(timings.getDurationNanos());
+        if (promise.tryComplete(ar.result())) {
+          cancelOther(timings);
+        }
+      } else if (pending == 0) {
+        promise.tryFail(ar.cause());
+      }
+    });
+  }
+
+  private void cancelOther(RequestTimings winner) {
+    RequestTimings other = winner == primary ? hedged : primary;
+    if (other != null && pending > 0) {
+      other.cancel();
+    }
+  }
+}
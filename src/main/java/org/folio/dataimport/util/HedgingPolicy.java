@@ -0,0 +1,108 @@
+package org.folio.dataimport.util;
+
+/**
+ * Policy of hedging GET requests sent via {@link RestUtil}.
+ * <p>
+ * If the response of a request does not arrive within the hedge delay, an identical request is sent and
+ * the first received response is used, the other request is cancelled. The delay is the observed latency
+ * percentile of the downstream, or the fixed delay until enough latencies are observed. Every hedged request
+ * is subject to the budget of the policy, so hedging adds at most the budget ratio of extra load.
+ */
+public class HedgingPolicy {
+
+  public static final long DEFAULT_DELAY = 100;
+  public static final long DEFAULT_MIN_DELAY = 10;
+  public static final double DEFAULT_PERCENTILE = 0.95;
+  private static final RetryBudget DEFAULT_BUDGET = new RetryBudget(0.1, 10, 100);
+
+  private long delay = DEFAULT_DELAY;
+  private long minDelay = DEFAULT_MIN_DELAY;
+  private double percentile = DEFAULT_PERCENTILE;
+  private RetryBudget budget;
+
+  public long getDelay() {
+    return delay;
+  }
+
+  /**
+   * Sets delay after which a hedged request is sent, used until enough latencies of the downstream are observed
+   * or if the percentile is not set.
+   *
+   * @param delay delay in milliseconds
+   * @return this policy
+   */
+  public HedgingPolicy setDelay(long delay) {
+    if (delay < 0) {
+      throw new IllegalArgumentException("delay must be >= 0");
+    }
+    this.delay = delay;
+    return this;
+  }
+
+  public long getMinDelay() {
+    return minDelay;
+  }
+
+  /**
+   * Sets lower bound of the delay derived from observed latencies.
+   *
+   * @param minDelay min delay in milliseconds
+   * @return this policy
+   */
+  public HedgingPolicy setMinDelay(long minDelay) {
+    if (minDelay < 0) {
+      throw new IllegalArgumentException("minDelay must be >= 0");
+    }
+    this.minDelay = minDelay;
+    return this;
+  }
+
+  public double getPercentile() {
+    return percentile;
+  }
+
+  /**
+   * Sets percentile of observed downstream latencies used as the hedge delay, 0 means the fixed delay is always used.
+   *
+   * @param percentile percentile in range [0, 1)
+   * @return this policy
+   */
+  public HedgingPolicy setPercentile(double percentile) {
+    if (percentile < 0 || percentile >= 1) {
+      throw new IllegalArgumentException("percentile must be in range [0, 1)");
+    }
+    this.percentile = percentile;
+    return this;
+  }
+
+  /**
+   * Returns budget limiting hedged requests, by default hedged requests of all policies share a budget
+   * allowing 10% of extra requests, separate from the retry budget.
+   *
+   * @return hedge budget
+   */
+  public RetryBudget getBudget() {
+    return budget != null ? budget : DEFAULT_BUDGET;
+  }
+
+  public HedgingPolicy setBudget(RetryBudget budget) {
+    this.budget = budget;
+    return this;
+  }
+
+  /**
+   * Returns hedge delay for the downstream with specified latencies.
+   *
+   * @param latencies observed latencies of the downstream
+   * @return delay in milliseconds
+   */
+  long getDelay(LatencyTracker latencies) {
+    if (percentile > 0) {
+      long observed = latencies.getPercentile(percentile);
+      if (observed >= 0) {
+        return Math.max(minDelay, observed);
+      }
+    }
+    return delay;
+  }
+}
@@ -0,0 +1,145 @@
+package org.folio.dataimport.util;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.http.PoolOptions;
+import io.vertx.core.impl.VertxInternal;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.impl.WebClientInternal;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registry of long-lived web clients used by {@link RestUtil}.
+ * <p>
+ * There is one registry per Vert.x instance, clients inside it are keyed by Okapi URL, connect and idle timeouts
+ * of {@link OkapiConnectionParams}, so requests to the same Okapi reuse pooled connections.
+ * Clients are closed together with the Vert.x instance or explicitly via {@link #close(Vertx)},
+ * e.g. on verticle undeploy.
+ */
+public final class HttpClientRegistry {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+  private static final Map<Vertx, HttpClientRegistry> REGISTRIES = new ConcurrentHashMap<>();
+  private static volatile RestClientOptions clientOptions = new RestClientOptions();
+
+  private final Vertx vertx;
+  private final Map<ClientKey, Clients> clients = new ConcurrentHashMap<>();
+
+  private HttpClientRegistry(Vertx vertx) {
+    this.vertx = vertx;
+  }
+
+  /**
+   * Returns registry bound to specified Vert.x instance, creates it if absent.
+   *
+   * @param vertx vertx instance
+   * @return http client registry
+   */
+  public static HttpClientRegistry forVertx(Vertx vertx) {
+    return REGISTRIES.computeIfAbsent(vertx, v -> {
+      var registry = new HttpClientRegistry(v);
+      if (v instanceof VertxInternal vertxInternal) {
+        vertxInternal.addCloseHook(completion -> registry.closeClients().onComplete(ar -> completion.complete()));
+      }
+      return registry;
+    });
+  }
+
+  /**
+   * Closes all clients created for specified Vert.x instance.
+   *
+   * @param vertx vertx instance
+   * @return future completed when clients are closed
+   */
+  public static Future<Void> close(Vertx vertx) {
+    var registry = REGISTRIES.get(vertx);
+    return registry != null ? registry.closeClients() : Future.succeededFuture();
+  }
+
+  public static RestClientOptions getClientOptions() {
+    return clientOptions;
+  }
+
+  /**
+   * Sets options for clients created after this call, already created clients are not affected.
+   *
+   * @param options rest client options
+   */
+  public static void setClientOptions(RestClientOptions options) {
+    clientOptions = options != null ? options : new RestClientOptions();
+  }
+
+  /**
+   * Returns web client for Okapi URL and timeouts of specified connection params.
+   *
+   * @param params Okapi connection params
+   * @return pooled web client
+   */
+  public WebClient getWebClient(OkapiConnectionParams params) {
+    return getClients(params).webClient();
+  }
+
+  /**
+   * Returns http client for Okapi URL and timeouts of specified connection params,
+   * it shares connection pool with the web client returned by {@link #getWebClient(OkapiConnectionParams)}.
+   *
+   * @param params Okapi connection params
+   * @return pooled http client
+   */
+  public HttpClient getHttpClient(OkapiConnectionParams params) {
+    return getClients(params).httpClient();
+  }
+
+  private Clients getClients(OkapiConnectionParams params) {
+    return clients.computeIfAbsent(new ClientKey(params.getOkapiUrl(), params.getConnectTimeout(), params.getIdleTimeout()), this::createClients);
+  }
+
+  private Clients createClients(ClientKey key) {
+    RestClientOptions options = clientOptions;
+    LOGGER.debug("createWebClient:: Creating http client for okapiUrl: {}, connectTimeout: {}, idleTimeout: {}",
+      key.okapiUrl(), key.connectTimeout(), key.idleTimeout());
+    HttpClientOptions httpClientOptions = new HttpClientOptions()
+      .setConnectTimeout(key.connectTimeout())
+      .setIdleTimeout(key.idleTimeout())
+      .setIdleTimeoutUnit(TimeUnit.MILLISECONDS)
+      .setKeepAlive(options.isKeepAlive())
+      .setKeepAliveTimeout(options.getKeepAliveTimeout())
+      .setDecompressionSupported(options.isDecompressionSupported());
+    PoolOptions poolOptions = new PoolOptions()
+      .setHttp1MaxSize(options.getMaxPoolSize())
+      .setMaxWaitQueueSize(options.getMaxWaitQueueSize());
+    if (options.isHttp2Enabled()) {
+      httpClientOptions
+        .setProtocolVersion(HttpVersion.HTTP_2)
+        .setHttp2ClearTextUpgrade(true)
+        .setHttp2MultiplexingLimit(options.getHttp2MaxConcurrentStreams())
+        .setHttp2KeepAliveTimeout(options.getKeepAliveTimeout());
+      poolOptions.setHttp2MaxSize(options.getHttp2MaxPoolSize());
+    }
+    HttpClient httpClient = vertx.createHttpClient(httpClientOptions, poolOptions);
+    WebClientInternal webClient = (WebClientInternal) WebClient.wrap(httpClient);
+    webClient.addInterceptor(RequestTimings::intercept);
+    return new Clients(httpClient, webClient);
+  }
+
+  private Future<Void> closeClients() {
+    REGISTRIES.remove(vertx, this);
+    clients.values().forEach(entry -> entry.webClient().close());
+    clients.clear();
+    return Future.succeededFuture();
+  }
+
+  private record ClientKey(String okapiUrl, int connectTimeout, int idleTimeout) {
+  }
+
+  private record Clients(HttpClient httpClient, WebClient webClient) {
+  }
+}
@@ -0,0 +1,106 @@
+package org.folio.dataimport.util;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.parsetools.JsonEvent;
+import io.vertx.core.parsetools.JsonEventType;
+import io.vertx.core.parsetools.JsonParser;
+import io.vertx.core.streams.ReadStream;
+
+/**
+ * Stream of json objects contained in the specified array field of a top-level json object.
+ * <p>
+ * Source buffers are parsed incrementally, only one array element is materialized at a time,
+ * and pausing this stream pauses the source stream.
+ */
+class JsonArrayElementStream implements ReadStream<JsonObject> {
+
+  private final JsonParser parser;
+  private final String arrayField;
+  private Handler<JsonObject> handler;
+  private boolean paused;
+  private boolean inArray;
+  private int depth;
+
+  JsonArrayElementStream(ReadStream<Buffer> source, String arrayField) {
+    this.arrayField = arrayField;
+    this.parser = JsonParser.newParser(source);
+    this.parser.pause();
+    this.parser.handler(this::handleEvent);
+  }
+
+  @Override
+  public JsonArrayElementStream exceptionHandler(Handler<Throwable> exceptionHandler) {
+    parser.exceptionHandler(exceptionHandler);
+    return this;
+  }
+
+  @Override
+  public JsonArrayElementStream handler(Handler<JsonObject> elementHandler) {
+    this.handler = elementHandler;
+    if (elementHandler != null && !paused) {
+      parser.resume();
+    }
+    return this;
+  }
+
+  @Override
+  public JsonArrayElementStream pause() {
+    paused = true;
+    parser.pause();
+    return this;
+  }
+
+  @Override
+  public JsonArrayElementStream resume() {
+    paused = false;
+    parser.resume();
+    return this;
+  }
+
+  @Override
+  public JsonArrayElementStream fetch(long amount) {
+    paused = true;
+    parser.fetch(amount);
+    return this;
+  }
+
+  @Override
+  public JsonArrayElementStream endHandler(Handler<Void> endHandler) {
+    parser.endHandler(endHandler);
+    return this;
+  }
+
+  private void handleEvent(JsonEvent event) {
+    JsonEventType type = event.type();
+    if (type == JsonEventType.START_OBJECT || type == JsonEventType.START_ARRAY) {
+      if (type == JsonEventType.START_ARRAY && depth == 1 && arrayField.equals(event.fieldName())) {
+        inArray = true;
+        parser.objectValueMode();
+      }
+      depth++;
+      skip();
+    } else if (type == JsonEventType.END_OBJECT || type == JsonEventType.END_ARRAY) {
+      depth--;
+      if (type == JsonEventType.END_ARRAY && inArray && depth == 1) {
+        inArray = false;
+        parser.objectEventMode();
+      }
+      skip();
+    } else if (inArray && depth == 2 && event.value() instanceof JsonObject element && handler != null) {
+      handler.handle(element);
+    } else {
+      skip();
+    }
+  }
+
+  /**
+   * Events which are not emitted to the handler should not consume demand requested via {@link #fetch(long)}.
+   */
+  private void skip() {
+    if (paused) {
+      parser.fetch(1);
+    }
+  }
+}
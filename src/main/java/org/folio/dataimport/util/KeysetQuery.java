@@ -0,0 +1,196 @@
+package org.folio.dataimport.util;
+
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.Tuple;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Page query of keyset (seek) pagination built by
+ * {@link DaoUtil#getKeysetQuery(String, String, String, List, String, int)}.
+ * <p>
+ * Instead of skipping rows with OFFSET, the query continues right after the last row of the previous page
+ * using a predicate on sort key values, so with an index on the sort keys every page costs as much as the first one.
+ * Key values of the last row are passed between pages in an opaque cursor returned by {@link #getNextCursor(RowSet)}.
+ * The query selects {@code id} and {@code jsonb} columns of the table.
+ */
+public final class KeysetQuery {
+
+  static final String KEY_ALIAS_PREFIX = "keyset_";
+
+  private static final Base64.Encoder CURSOR_ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder CURSOR_DECODER = Base64.getUrlDecoder();
+
+  private final String sql;
+  private final Tuple params;
+  private final int limit;
+  private final int keyCount;
+
+  private KeysetQuery(String sql, Tuple params, int limit, int keyCount) {
+    this.sql = sql;
+    this.params = params;
+    this.limit = limit;
+    this.keyCount = keyCount;
+  }
+
+  /**
+   * Builds page query.
+   *
+   * @param schemaName  schema name
+   * @param tableName   table name
+   * @param whereClause where clause translated from CQL query, may be null
+   * @param sortKeys    sort keys, the last one should make the order unique
+   * @param cursor      cursor returned for the previous page or null for the first page
+   * @param limit       page size
+   * @return page query
+   */
+  static KeysetQuery build(String schemaName, String tableName, String whereClause, List<SortKey> sortKeys,
+                           String cursor, int limit) {
+    if (sortKeys == null || sortKeys.isEmpty()) {
+      throw new IllegalArgumentException("sortKeys must not be empty");
+    }
+    if (limit < 1) {
+      throw new IllegalArgumentException("limit must be > 0");
+    }
+    List<String> expressions = sortKeys.stream().map(key -> key.toSql(tableName)).toList();
+
+    StringBuilder sql = new StringBuilder("SELECT ").append(tableName).append(".id, ").append(tableName).append(".jsonb");
+    for (int i = 0; i < expressions.size(); i++) {
+      sql.append(", (").append(expressions.get(i)).append(")::text AS ").append(KEY_ALIAS_PREFIX).append(i);
+    }
+    sql.append(" FROM ").append(schemaName).append('.').append(tableName);
+
+    List<String> conditions = new ArrayList<>(2);
+    if (whereClause != null && !whereClause.isBlank()) {
+      conditions.add('(' + whereClause + ')');
+    }
+    Tuple params = Tuple.tuple();
+    if (cursor != null) {
+      decodeCursor(cursor, sortKeys.size()).forEach(params::addString);
+      conditions.add(buildSeekPredicate(sortKeys, expressions));
+    }
+    if (!conditions.isEmpty()) {
+      sql.append(" WHERE ").append(String.join(" AND ", conditions));
+    }
+
+    sql.append(" ORDER BY ");
+    for (int i = 0; i < expressions.size(); i++) {
+      sql.append(i > 0 ? ", " : "").append(expressions.get(i)).append(' ').append(sortKeys.get(i).getDirection());
+    }
+    sql.append(" LIMIT ").append(limit);
+    return new KeysetQuery(sql.toString(), params, limit, sortKeys.size());
+  }
+
+  public String getSql() {
+    return sql;
+  }
+
+  /**
+   * Returns values of the query parameters, the tuple is empty for the first page.
+   *
+   * @return query parameters
+   */
+  public Tuple getParams() {
+    return params;
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  /**
+   * Returns cursor of the page following the specified one.
+   *
+   * @param rows rows returned by this query
+   * @return cursor or null if the page is not full, so there are no more rows
+   */
+  public String getNextCursor(RowSet<Row> rows) {
+    if (rows == null || rows.size() < limit) {
+      return null;
+    }
+    Row lastRow = null;
+    for (Row row : rows) {
+      lastRow = row;
+    }
+    return getNextCursor(lastRow);
+  }
+
+  /**
+   * Returns cursor of the page starting after the specified row.
+   *
+   * @param lastRow last row of the current page returned by this query
+   * @return cursor
+   */
+  public String getNextCursor(Row lastRow) {
+    List<String> values = new ArrayList<>(keyCount);
+    for (int i = 0; i < keyCount; i++) {
+      values.add(lastRow.getString(KEY_ALIAS_PREFIX + i));
+    }
+    return encodeCursor(values);
+  }
+
+  static String encodeCursor(List<String> values) {
+    return CURSOR_ENCODER.encodeToString(new JsonArray(new ArrayList<>(values)).encode().getBytes(StandardCharsets.UTF_8));
+  }
+
+  static List<String> decodeCursor(String cursor, int keyCount) {
+    try {
+      JsonArray values = new JsonArray(new String(CURSOR_DECODER.decode(cursor), StandardCharsets.UTF_8));
+      if (values.size() != keyCount) {
+        throw new IllegalArgumentException("Cursor does not match sort keys");
+      }
+      List<String> result = new ArrayList<>(keyCount);
+      for (int i = 0; i < keyCount; i++) {
+        result.add(values.getString(i));
+      }
+      return result;
+    } catch (DecodeException | ClassCastException e) {
+      throw new IllegalArgumentException("Invalid cursor", e);
+    }
+  }
+
+  /**
+   * Builds predicate selecting rows after the key values bound as query parameters.
+   * When all keys have the same direction a row comparison is used, which Postgres matches with a multicolumn index,
+   * otherwise the comparison is expanded to {@code a > $1 OR (a = $1 AND b < $2) ...}.
+   */
+  private static String buildSeekPredicate(List<SortKey> sortKeys, List<String> expressions) {
+    boolean sameDirection = sortKeys.stream().map(SortKey::getDirection).distinct().count() == 1;
+    if (sameDirection) {
+      List<String> params = new ArrayList<>(sortKeys.size());
+      for (int i = 0; i < sortKeys.size(); i++) {
+        params.add(getParam(sortKeys.get(i), i));
+      }
+      return '(' + String.join(", ", expressions) + ") " + getOperator(sortKeys.get(0)) + " (" + String.join(", ", params) + ')';
+    }
+    List<String> alternatives = new ArrayList<>(sortKeys.size());
+    for (int i = 0; i < sortKeys.size(); i++) {
+      StringBuilder alternative = new StringBuilder("(");
+      for (int j = 0; j < i; j++) {
+        alternative.append(expressions.get(j)).append(" = ").append(getParam(sortKeys.get(j), j)).append(" AND ");
+      }
+      alternative.append(expressions.get(i)).append(' ').append(getOperator(sortKeys.get(i))).append(' ')
+        .append(getParam(sortKeys.get(i), i)).append(')');
+      alternatives.add(alternative.toString());
+    }
+    return '(' + String.join(" OR ", alternatives) + ')';
+  }
+
+  private static String getOperator(SortKey sortKey) {
+    return sortKey.getDirection() == SortKey.Direction.DESC ? "<" : ">";
+  }
+
+  /**
+   * Cursor values are bound as text and cast to the key type.
+   */
+  private static String getParam(SortKey sortKey, int index) {
+    String param = "$" + (index + 1) + "::text";
+    return "text".equals(sortKey.getSqlType()) ? param : param + "::" + sortKey.getSqlType();
+  }
+}
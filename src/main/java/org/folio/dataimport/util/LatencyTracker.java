@@ -0,0 +1,68 @@
+package org.folio.dataimport.util;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sliding window of latencies of successful requests to a downstream, used to derive hedge delays.
+ */
+final class LatencyTracker {
+
+  static final int WINDOW_SIZE = 128;
+  static final int MIN_SAMPLES = 20;
+  private static final int RECALCULATION_INTERVAL = 16;
+  private static final Map<String, LatencyTracker> TRACKERS = new ConcurrentHashMap<>();
+
+  private final long[] latencies = new long[WINDOW_SIZE];
+  private final long[] sorted = new long[WINDOW_SIZE];
+  private int count;
+  private int next;
+  private int recordedSinceSort;
+  private int sortedCount;
+
+  /**
+   * Returns tracker of the downstream of specified request.
+   *
+   * @param okapiUrl Okapi URL
+   * @param url      relative request URL
+   * @return latency tracker
+   */
+  static LatencyTracker forDownstream(String okapiUrl, String url) {
+    return TRACKERS.computeIfAbsent(DownstreamKey.of(okapiUrl, url), key -> new LatencyTracker());
+  }
+
+  /**
+   * Records latency of a successful request.
+   *
+   * @param latencyNanos latency in nanoseconds
+   */
+  synchronized void record(long latencyNanos) {
+    latencies[next] = TimeUnit.NANOSECONDS.toMillis(latencyNanos);
+    next = (next + 1) % WINDOW_SIZE;
+    count = Math.min(count + 1, WINDOW_SIZE);
+    recordedSinceSort++;
+  }
+
+  /**
+   * Returns percentile of recorded latencies. Latencies are sorted at most every
+   * {@value #RECALCULATION_INTERVAL} recorded latencies, so the result may lag behind slightly.
+   *
+   * @param percentile percentile in range (0, 1)
+   * @return latency in milliseconds or -1 if fewer than {@value #MIN_SAMPLES} latencies are recorded
+   */
+  synchronized long getPercentile(double percentile) {
+    if (count < MIN_SAMPLES) {
+      return -1;
+    }
+    if (sortedCount == 0 || recordedSinceSort >= RECALCULATION_INTERVAL) {
+      System.arraycopy(latencies, 0, sorted, 0, count);
+      Arrays.sort(sorted, 0, count);
+      sortedCount = count;
+      recordedSinceSort = 0;
+    }
+    int index = (int) Math.ceil(percentile * sortedCount) - 1;
+    return sorted[Math.max(0, Math.min(index, sortedCount - 1))];
+  }
+}
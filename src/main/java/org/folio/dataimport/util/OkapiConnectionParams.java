@@ -6,13 +6,11 @@ import io.vertx.core.http.impl.headers.HeadersMultiMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.HashMap;
 import java.util.Map;
 
 import static org.folio.dataimport.util.RestUtil.OKAPI_TENANT_HEADER;
 import static org.folio.dataimport.util.RestUtil.OKAPI_TOKEN_HEADER;
 import static org.folio.dataimport.util.RestUtil.OKAPI_URL_HEADER;
-import static org.folio.dataimport.util.RestUtil.isSystemUserEnabled;
 
 /**
  * Wrapper class for Okapi connection params
@@ -27,15 +25,39 @@ public final class OkapiConnectionParams {
   @Deprecated
   private final Vertx vertx;
   private final Integer timeout;
-  private MultiMap headers = new HeadersMultiMap();
+  private int connectTimeout;
+  private int idleTimeout;
+  private int requestTimeout;
+  private Deadline deadline;
+  private boolean deadlinePropagated;
+  private final boolean systemUserEnabled;
+  private TrackedMultiMap headers = new TrackedMultiMap(new HeadersMultiMap());
+  private volatile int headersModCount;
+  private volatile RequestHeaders requestHeaders;
+  private volatile RequestHeaders systemUserRequestHeaders;
+  private volatile RequestHeaders tokenRequestHeaders;
+  private RetryPolicy retryPolicy;
+  private HedgingPolicy hedgingPolicy;
+  private TokenProvider tokenProvider;
 
   public OkapiConnectionParams(Map<String, String> okapiHeaders, Vertx vertx, Integer timeout) {
+    this(okapiHeaders, vertx, timeout, false);
+  }
+
+  private OkapiConnectionParams(Map<String, String> okapiHeaders, Vertx vertx, Integer timeout, boolean systemUser) {
+    this.systemUserEnabled = RestUtil.isSystemUserEnabled();
     this.okapiUrl = okapiHeaders.getOrDefault(OKAPI_URL_HEADER, "localhost");
     this.tenantId = okapiHeaders.getOrDefault(OKAPI_TENANT_HEADER, "");
-    this.token = okapiHeaders.getOrDefault(OKAPI_TOKEN_HEADER, "");
+    this.token = systemUser && systemUserEnabled ? "" : okapiHeaders.getOrDefault(OKAPI_TOKEN_HEADER, "");
     this.vertx = vertx;
     this.timeout = timeout != null ? timeout : DEF_TIMEOUT;
+    this.connectTimeout = this.timeout;
+    this.idleTimeout = this.timeout;
     this.headers.addAll(okapiHeaders);
+    if (systemUser && systemUserEnabled) {
+      this.headers.remove(OKAPI_TOKEN_HEADER);
+    }
+    buildRequestHeaders();
   }
 
   public OkapiConnectionParams(Map<String, String> okapiHeaders, Vertx vertx) {
@@ -65,22 +87,209 @@ public final class OkapiConnectionParams {
     return timeout;
   }
 
+  public int getConnectTimeout() {
+    return connectTimeout;
+  }
+
+  /**
+   * Sets timeout of establishing a connection, defaults to {@link #getTimeout()}.
+   *
+   * @param connectTimeout connect timeout in milliseconds
+   */
+  public void setConnectTimeout(int connectTimeout) {
+    if (connectTimeout < 0) {
+      throw new IllegalArgumentException("connectTimeout must be >= 0");
+    }
+    this.connectTimeout = connectTimeout;
+  }
+
+  public int getIdleTimeout() {
+    return idleTimeout;
+  }
+
+  /**
+   * Sets time after which a request fails if no data is received, defaults to {@link #getTimeout()}.
+   *
+   * @param idleTimeout idle timeout in milliseconds
+   */
+  public void setIdleTimeout(int idleTimeout) {
+    if (idleTimeout < 0) {
+      throw new IllegalArgumentException("idleTimeout must be >= 0");
+    }
+    this.idleTimeout = idleTimeout;
+  }
+
+  public int getRequestTimeout() {
+    return requestTimeout;
+  }
+
+  /**
+   * Sets time in which a single request must complete including receiving the whole response, 0 means not limited.
+   *
+   * @param requestTimeout request timeout in milliseconds
+   */
+  public void setRequestTimeout(int requestTimeout) {
+    if (requestTimeout < 0) {
+      throw new IllegalArgumentException("requestTimeout must be >= 0");
+    }
+    this.requestTimeout = requestTimeout;
+  }
+
+  public Deadline getDeadline() {
+    return deadline;
+  }
+
+  /**
+   * Sets deadline shared by all requests sent with these params. Each request uses the remaining time as
+   * its timeout, requests are failed with {@link org.folio.dataimport.util.exception.DeadlineExceededException}
+   * without being sent once the deadline is exceeded.
+   *
+   * @param deadline deadline
+   */
+  public void setDeadline(Deadline deadline) {
+    this.deadline = deadline;
+  }
+
+  public boolean isDeadlinePropagated() {
+    return deadlinePropagated;
+  }
+
+  /**
+   * Sets whether the remaining time is sent to downstream modules in the {@link Deadline#DEADLINE_HEADER} header.
+   *
+   * @param deadlinePropagated whether deadline should be propagated
+   */
+  public void setDeadlinePropagated(boolean deadlinePropagated) {
+    this.deadlinePropagated = deadlinePropagated;
+  }
+
+  /**
+   * Returns headers of these params. Changes made to the returned map are applied to requests sent afterwards.
+   *
+   * @return okapi headers
+   */
   public MultiMap getHeaders() {
     return headers;
   }
 
+  /**
+   * Replaces headers of these params. Later changes should be made to the map returned by {@link #getHeaders()},
+   * changes made directly to the specified map are not tracked.
+   *
+   * @param headers okapi headers
+   */
   public void setHeaders(MultiMap headers) {
-    this.headers = headers;
+    this.headers = headers != null ? new TrackedMultiMap(headers) : null;
+    buildRequestHeaders();
+  }
+
+  /**
+   * Returns whether the system user was enabled when these params were created,
+   * see {@link RestUtil#isSystemUserEnabled()}.
+   *
+   * @return true if the system user is enabled
+   */
+  public boolean isSystemUserEnabled() {
+    return systemUserEnabled;
+  }
+
+  RequestHeaders getRequestHeaders() {
+    rebuildRequestHeadersIfChanged();
+    return requestHeaders;
+  }
+
+  /**
+   * Returns headers for requests sent on behalf of the system user, the token header is excluded
+   * if the system user is enabled.
+   *
+   * @return system user request headers
+   */
+  RequestHeaders getSystemUserRequestHeaders() {
+    rebuildRequestHeadersIfChanged();
+    return systemUserRequestHeaders;
+  }
+
+  public RetryPolicy getRetryPolicy() {
+    return retryPolicy;
+  }
+
+  /**
+   * Sets retry policy applied to all requests sent with these params, requests are not retried if policy is not set.
+   *
+   * @param retryPolicy retry policy
+   */
+  public void setRetryPolicy(RetryPolicy retryPolicy) {
+    this.retryPolicy = retryPolicy;
+  }
+
+  public HedgingPolicy getHedgingPolicy() {
+    return hedgingPolicy;
+  }
+
+  /**
+   * Sets hedging policy applied to all GET requests sent with these params, requests are not hedged if policy is not set.
+   *
+   * @param hedgingPolicy hedging policy
+   */
+  public void setHedgingPolicy(HedgingPolicy hedgingPolicy) {
+    this.hedgingPolicy = hedgingPolicy;
+  }
+
+  public TokenProvider getTokenProvider() {
+    return tokenProvider;
+  }
+
+  /**
+   * Sets provider of tokens for requests sent on behalf of the system user, if not set such requests are sent
+   * without token when the system user is enabled.
+   *
+   * @param tokenProvider token provider
+   */
+  public void setTokenProvider(TokenProvider tokenProvider) {
+    this.tokenProvider = tokenProvider;
+  }
+
+  /**
+   * Returns system user request headers with the specified token. Headers are rebuilt only when the token changes.
+   *
+   * @param token system user token
+   * @return system user request headers with token
+   */
+  RequestHeaders getSystemUserRequestHeaders(String token) {
+    rebuildRequestHeadersIfChanged();
+    RequestHeaders current = tokenRequestHeaders;
+    if (current == null || !token.equals(current.get(OKAPI_TOKEN_HEADER))) {
+      current = getSystemUserRequestHeaders().with(OKAPI_TOKEN_HEADER, token);
+      tokenRequestHeaders = current;
+    }
+    return current;
   }
 
   public static OkapiConnectionParams createSystemUserConnectionParams(Map<String, String> okapiHeaders, Vertx vertx) {
-    var headers = new HashMap<>(okapiHeaders);
-    if (isSystemUserEnabled()) {
-      var tenant = okapiHeaders.getOrDefault(OKAPI_TENANT_HEADER, "");
-      LOGGER.trace("createSystemUserConnectionParams:: Creating okapi connection params without token for system user, tenant: {}", tenant);
-      headers.remove(OKAPI_TOKEN_HEADER);
+    var params = new OkapiConnectionParams(okapiHeaders, vertx, null, true);
+    if (params.isSystemUserEnabled()) {
+      LOGGER.trace("createSystemUserConnectionParams:: Creating okapi connection params without token for system user, tenant: {}",
+        params.getTenantId());
+    }
+    return params;
+  }
+
+  private void rebuildRequestHeadersIfChanged() {
+    if (headers != null && headers.getModCount() != headersModCount) {
+      synchronized (this) {
+        if (headers.getModCount() != headersModCount) {
+          buildRequestHeaders();
+        }
+      }
     }
-    return new OkapiConnectionParams(headers, vertx);
+  }
+
+  private synchronized void buildRequestHeaders() {
+    int modCount = headers != null ? headers.getModCount() : 0;
+    requestHeaders = RequestHeaders.of(headers, null);
+    systemUserRequestHeaders = systemUserEnabled ? RequestHeaders.of(headers, OKAPI_TOKEN_HEADER) : requestHeaders;
+    tokenRequestHeaders = null;
+    headersModCount = modCount;
   }
 
 }
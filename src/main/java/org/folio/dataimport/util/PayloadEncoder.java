@@ -0,0 +1,53 @@
+package org.folio.dataimport.util;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.folio.dataimport.util.codec.Codec;
+import org.folio.dataimport.util.codec.JacksonCodec;
+
+import java.io.IOException;
+
+/**
+ * Serializes request payloads into buffers.
+ * <p>
+ * Payloads are encoded with the codec of the request, json by default. Vert.x json types are encoded to json
+ * by Vert.x itself, other payloads are written by the codec directly into the buffer which is sent,
+ * without an intermediate String.
+ */
+final class PayloadEncoder {
+
+  private PayloadEncoder() {
+  }
+
+  /**
+   * Serializes payload to json.
+   *
+   * @param payload request payload
+   * @return buffer with serialized payload
+   * @throws IOException if payload cannot be serialized
+   */
+  static Buffer encode(Object payload) throws IOException {
+    return encode(payload, JacksonCodec.JSON);
+  }
+
+  /**
+   * Serializes payload with specified codec.
+   *
+   * @param payload request payload
+   * @param codec   codec
+   * @return buffer with serialized payload
+   * @throws IOException if payload cannot be serialized
+   */
+  static Buffer encode(Object payload, Codec codec) throws IOException {
+    if (codec == JacksonCodec.JSON) {
+      if (payload instanceof JsonObject jsonObject) {
+        return jsonObject.toBuffer();
+      }
+      if (payload instanceof JsonArray jsonArray) {
+        return jsonArray.toBuffer();
+      }
+    }
+    return codec.encode(payload);
+  }
+}
@@ -0,0 +1,102 @@
+package org.folio.dataimport.util;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlClient;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Total records of a paged query together with the way they were counted, so clients can e.g. show "about N"
+ * for estimated counts.
+ */
+public final class RecordCount {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+  private static final RecordCount NOT_COUNTED = new RecordCount(null, CountPolicy.Mode.NONE);
+
+  private final Long totalRecords;
+  private final CountPolicy.Mode mode;
+
+  private RecordCount(Long totalRecords, CountPolicy.Mode mode) {
+    this.totalRecords = totalRecords;
+    this.mode = mode;
+  }
+
+  /**
+   * Returns number of records.
+   *
+   * @return number of records or null if records were not counted
+   */
+  public Long getTotalRecords() {
+    return totalRecords;
+  }
+
+  /**
+   * Returns the way records were counted, it is {@link CountPolicy.Mode#EXACT} for estimated policy
+   * if the estimate was below threshold.
+   *
+   * @return count mode
+   */
+  public CountPolicy.Mode getMode() {
+    return mode;
+  }
+
+  public boolean isEstimated() {
+    return mode == CountPolicy.Mode.ESTIMATED;
+  }
+
+  /**
+   * Counts records of the table matching the where clause according to the policy.
+   *
+   * @param client      sql client
+   * @param schemaName  schema name
+   * @param tableName   table name
+   * @param whereClause where clause, may be null
+   * @param policy      count policy
+   * @return future with record count
+   */
+  static Future<RecordCount> count(SqlClient client, String schemaName, String tableName, String whereClause,
+                                   CountPolicy policy) {
+    String fromClause = " FROM " + schemaName + '.' + tableName
+      + (whereClause == null || whereClause.isBlank() ? "" : " WHERE " + whereClause);
+    return switch (policy.getMode()) {
+      case NONE -> Future.succeededFuture(NOT_COUNTED);
+      case EXACT -> countExactly(client, fromClause);
+      case ESTIMATED -> estimate(client, fromClause)
+        .compose(estimate -> {
+          if (estimate > policy.getEstimateThreshold()) {
+            return Future.succeededFuture(new RecordCount(estimate, CountPolicy.Mode.ESTIMATED));
+          }
+          LOGGER.debug("count:: Estimated {} records of table {} is not above threshold, counting exactly", estimate, tableName);
+          return countExactly(client, fromClause);
+        });
+    };
+  }
+
+  private static Future<RecordCount> countExactly(SqlClient client, String fromClause) {
+    return client.query("SELECT count(*)" + fromClause).execute()
+      .map(rows -> new RecordCount(getFirstRow(rows).getLong(0), CountPolicy.Mode.EXACT));
+  }
+
+  private static Future<Long> estimate(SqlClient client, String fromClause) {
+    return client.query("EXPLAIN (FORMAT JSON) SELECT 1" + fromClause).execute()
+      .map(rows -> getPlanRows(getFirstRow(rows).getValue(0)));
+  }
+
+  private static Row getFirstRow(RowSet<Row> rows) {
+    return rows.iterator().next();
+  }
+
+  /**
+   * Extracts estimated number of rows from the plan returned by {@code EXPLAIN (FORMAT JSON)}.
+   */
+  static long getPlanRows(Object plan) {
+    JsonArray plans = plan instanceof JsonArray jsonArray ? jsonArray : new JsonArray(plan.toString());
+    JsonObject rootPlan = plans.getJsonObject(0).getJsonObject("Plan");
+    return rootPlan.getNumber("Plan Rows").longValue();
+  }
+}
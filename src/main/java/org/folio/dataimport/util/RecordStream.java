@@ -0,0 +1,144 @@
+package org.folio.dataimport.util;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowStream;
+import io.vertx.sqlclient.SqlConnection;
+import io.vertx.sqlclient.Transaction;
+import io.vertx.sqlclient.Tuple;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Stream of query result rows read through a server-side cursor, see {@link DaoUtil#streamRecords}.
+ * <p>
+ * Rows are fetched from the database in batches of the fetch size only while the stream is not paused,
+ * so memory usage does not depend on the result size. The stream holds a pooled connection with an open
+ * transaction required by the cursor, both are released when the stream ends, fails or is closed via {@link #close()}.
+ */
+public final class RecordStream implements ReadStream<Row> {
+
+  public static final int DEFAULT_FETCH_SIZE = 1000;
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private final SqlConnection connection;
+  private final Transaction transaction;
+  private final RowStream<Row> rows;
+  private Handler<Void> endHandler;
+  private Handler<Throwable> exceptionHandler;
+  private boolean released;
+
+  RecordStream(SqlConnection connection, Transaction transaction, RowStream<Row> rows) {
+    this.connection = connection;
+    this.transaction = transaction;
+    this.rows = rows;
+    rows.endHandler(v -> {
+      if (!released) {
+        release(true).onComplete(ar -> {
+          if (ar.failed()) {
+            handleException(ar.cause());
+          } else if (endHandler != null) {
+            endHandler.handle(null);
+          }
+        });
+      }
+    });
+    rows.exceptionHandler(e -> {
+      if (!released) {
+        release(false).onComplete(ar -> handleException(e));
+      }
+    });
+  }
+
+  /**
+   * Opens cursor for the query on a connection taken from the pool.
+   *
+   * @param pool      connection pool
+   * @param sql       query
+   * @param params    query parameters
+   * @param fetchSize number of rows fetched from the cursor at once
+   * @return future with stream, no rows are fetched until a handler is set
+   */
+  static Future<RecordStream> open(Pool pool, String sql, Tuple params, int fetchSize) {
+    if (fetchSize < 1) {
+      return Future.failedFuture(new IllegalArgumentException("fetchSize must be > 0"));
+    }
+    return pool.getConnection().compose(connection -> connection.begin()
+      .compose(transaction -> connection.prepare(sql)
+        .map(statement -> new RecordStream(connection, transaction, statement.createStream(fetchSize, params))))
+      .onFailure(e -> {
+        LOGGER.warn("open:: Failed to open cursor for query: {}", sql, e);
+        connection.close();
+      }));
+  }
+
+  @Override
+  public RecordStream exceptionHandler(Handler<Throwable> handler) {
+    this.exceptionHandler = handler;
+    return this;
+  }
+
+  @Override
+  public RecordStream handler(Handler<Row> handler) {
+    rows.handler(handler);
+    return this;
+  }
+
+  @Override
+  public RecordStream pause() {
+    rows.pause();
+    return this;
+  }
+
+  @Override
+  public RecordStream resume() {
+    rows.resume();
+    return this;
+  }
+
+  @Override
+  public RecordStream fetch(long amount) {
+    rows.fetch(amount);
+    return this;
+  }
+
+  @Override
+  public RecordStream endHandler(Handler<Void> handler) {
+    this.endHandler = handler;
+    return this;
+  }
+
+  /**
+   * Stops reading before the end of the result, closes the cursor and releases the connection.
+   * End handler is not called for a closed stream.
+   *
+   * @return future completed when the connection is released
+   */
+  public Future<Void> close() {
+    return release(false);
+  }
+
+  private Future<Void> release(boolean commit) {
+    if (released) {
+      return Future.succeededFuture();
+    }
+    released = true;
+    return rows.close()
+      .transform(ar -> commit ? transaction.commit() : transaction.rollback())
+      .transform(ar -> connection.close().transform(v -> ar.succeeded()
+        ? Future.<Void>succeededFuture()
+        : Future.<Void>failedFuture(ar.cause())));
+  }
+
+  private void handleException(Throwable e) {
+    if (exceptionHandler != null) {
+      exceptionHandler.handle(e);
+    } else {
+      LOGGER.warn("handleException:: Failed to read records from cursor", e);
+    }
+  }
+}
@@ -0,0 +1,113 @@
+package org.folio.dataimport.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compression of request bodies sent via {@link RestUtil}.
+ * <p>
+ * Bodies larger than the threshold are compressed with the configured encoding and sent with the
+ * Content-Encoding header, so the receiving module must accept compressed requests. Compression is disabled
+ * until options are set via {@link #setOptions(CompressionOptions)}. Responses are decompressed transparently
+ * by the http client, see {@link RestClientOptions#setDecompressionSupported(boolean)}.
+ */
+public final class RequestCompression {
+
+  static final String CONTENT_ENCODING = "Content-Encoding";
+  static final String ACCEPT_ENCODING = "Accept-Encoding";
+  static final String IDENTITY = "identity";
+  private static volatile CompressionOptions options;
+
+  private RequestCompression() {
+  }
+
+  /**
+   * Enables request compression with specified options or disables it if options are null.
+   *
+   * @param compressionOptions compression options
+   */
+  public static void setOptions(CompressionOptions compressionOptions) {
+    options = compressionOptions;
+  }
+
+  static CompressionOptions getOptions() {
+    return options;
+  }
+
+  /**
+   * Returns whether compression is disabled for the route of specified request URL.
+   *
+   * @param url relative request URL
+   * @return true if the route is excluded
+   */
+  static boolean isExcluded(String url) {
+    CompressionOptions currentOptions = options;
+    return currentOptions != null && currentOptions.isExcluded(url);
+  }
+
+  /**
+   * Returns options to compress request body of specified size with.
+   *
+   * @param url        relative request URL
+   * @param bodyLength size of request body in bytes
+   * @return compression options or null if the body should not be compressed
+   */
+  static CompressionOptions getOptions(String url, int bodyLength) {
+    CompressionOptions currentOptions = options;
+    if (currentOptions == null || bodyLength < currentOptions.getThreshold() || currentOptions.isExcluded(url)) {
+      return null;
+    }
+    return currentOptions;
+  }
+
+  /**
+   * Compresses the body.
+   *
+   * @param body    request body
+   * @param options compression options
+   * @return compressed body
+   * @throws IOException if the body cannot be compressed
+   */
+  static Buffer compress(Buffer body, CompressionOptions options) throws IOException {
+    ByteBuf byteBuf = Unpooled.buffer(Math.max(64, body.length() / 4));
+    Deflater deflater = null;
+    try (OutputStream outputStream = new ByteBufOutputStream(byteBuf)) {
+      if (options.getEncoding() == CompressionOptions.Encoding.GZIP) {
+        try (GZIPOutputStream gzip = new LeveledGzipOutputStream(outputStream, options.getLevel())) {
+          write(body, gzip);
+        }
+      } else {
+        deflater = new Deflater(options.getLevel());
+        try (DeflaterOutputStream deflate = new DeflaterOutputStream(outputStream, deflater)) {
+          write(body, deflate);
+        }
+      }
+    } finally {
+      if (deflater != null) {
+        deflater.end();
+      }
+    }
+    return Buffer.buffer(byteBuf);
+  }
+
+  private static void write(Buffer body, OutputStream outputStream) throws IOException {
+    ByteBuf byteBuf = body.getByteBuf();
+    byteBuf.getBytes(byteBuf.readerIndex(), outputStream, byteBuf.readableBytes());
+  }
+
+  private static class LeveledGzipOutputStream extends GZIPOutputStream {
+
+    LeveledGzipOutputStream(OutputStream out, int level) throws IOException {
+      super(out);
+      def.setLevel(level);
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package org.folio.dataimport.util;
+
+import io.vertx.core.MultiMap;
+import io.vertx.ext.web.client.HttpRequest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable set of headers sent with requests of {@link RestUtil}.
+ * <p>
+ * Header sets are built once per {@link OkapiConnectionParams} and shared by all requests sent with them,
+ * the coalescing key part is computed together with the set, so it is not rebuilt per request.
+ */
+final class RequestHeaders {
+
+  static final String CONTENT_TYPE = "Content-type";
+  static final String ACCEPT = "Accept";
+  static final String JSON_CONTENT_TYPE = "application/json";
+  static final String DEFAULT_ACCEPT = "application/json, text/plain";
+
+  private final List<Map.Entry<String, String>> entries;
+  private final String key;
+
+  private RequestHeaders(List<Map.Entry<String, String>> entries) {
+    this.entries = Collections.unmodifiableList(entries);
+    this.key = buildKey(entries);
+  }
+
+  /**
+   * Creates header set from the specified headers with default Content-type and Accept headers
+   * replacing headers with the same names.
+   *
+   * @param headers        source headers, may be null
+   * @param excludedHeader name of a header which should not be included, e.g. token for system user, may be null
+   * @return header set
+   */
+  static RequestHeaders of(MultiMap headers, String excludedHeader) {
+    List<Map.Entry<String, String>> entries = new ArrayList<>();
+    if (headers != null) {
+      headers.forEach(entry -> {
+        String name = entry.getKey();
+        if ((excludedHeader == null || !excludedHeader.equalsIgnoreCase(name))
+          && !CONTENT_TYPE.equalsIgnoreCase(name) && !ACCEPT.equalsIgnoreCase(name)) {
+          entries.add(Map.entry(name, entry.getValue()));
+        }
+      });
+    }
+    entries.add(Map.entry(CONTENT_TYPE, JSON_CONTENT_TYPE));
+    entries.add(Map.entry(ACCEPT, DEFAULT_ACCEPT));
+    return new RequestHeaders(entries);
+  }
+
+  /**
+   * Returns new header set with the specified header replacing headers with the same name.
+   *
+   * @param name  header name
+   * @param value header value
+   * @return header set
+   */
+  RequestHeaders with(CharSequence name, String value) {
+    String headerName = name.toString();
+    List<Map.Entry<String, String>> newEntries = new ArrayList<>(entries.size() + 1);
+    entries.stream()
+      .filter(entry -> !entry.getKey().equalsIgnoreCase(headerName))
+      .forEach(newEntries::add);
+    newEntries.add(Map.entry(headerName, value));
+    return new RequestHeaders(newEntries);
+  }
+
+  /**
+   * Returns value of the first header with the specified name.
+   *
+   * @param name header name
+   * @return header value or null if absent
+   */
+  String get(String name) {
+    return entries.stream()
+      .filter(entry -> entry.getKey().equalsIgnoreCase(name))
+      .map(Map.Entry::getValue)
+      .findFirst()
+      .orElse(null);
+  }
+
+  List<Map.Entry<String, String>> entries() {
+    return entries;
+  }
+
+  /**
+   * Puts headers of this set to the request replacing headers with the same names.
+   *
+   * @param request web client request
+   */
+  void applyTo(HttpRequest<?> request) {
+    MultiMap requestHeaders = request.headers();
+    for (Map.Entry<String, String> entry : entries) {
+      requestHeaders.set(entry.getKey(), entry.getValue());
+    }
+  }
+
+  /**
+   * Returns a stable representation of the headers which does not depend on their order and name case.
+   *
+   * @return headers key
+   */
+  String getKey() {
+    return key;
+  }
+
+  private static String buildKey(List<Map.Entry<String, String>> entries) {
+    return String.join("\n", entries.stream()
+      .map(entry -> entry.getKey().toLowerCase() + ':' + entry.getValue())
+      .sorted()
+      .distinct()
+      .toList());
+  }
+}
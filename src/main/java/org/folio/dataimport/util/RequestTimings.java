@@ -0,0 +1,179 @@
+package org.folio.dataimport.util;
+
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.ext.web.client.HttpRequest;
+import io.vertx.ext.web.client.impl.HttpContext;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timings of phases of a single request sent via {@link RestUtil}:
+ * <ul>
+ *   <li>connection acquisition - waiting for a pooled connection, including connecting if a new one is opened</li>
+ *   <li>time to first byte - from sending the request until response headers are received</li>
+ *   <li>body transfer - from response headers until the whole body is received</li>
+ *   <li>decode - parsing body to json in {@link RestUtil.WrappedResponse#getJson()}</li>
+ * </ul>
+ * Timestamps are captured by an interceptor of the web client, duration of a phase is 0 if the request
+ * did not reach the phase. The interceptor also keeps the underlying http request, so that {@link RestUtil}
+ * can cancel it.
+ */
+public class RequestTimings {
+
+  private static final String CONTEXT_KEY = RequestTimings.class.getName();
+  private static final Map<HttpRequest<?>, RequestTimings> PENDING = new ConcurrentHashMap<>();
+
+  private final long start = System.nanoTime();
+  private volatile long connectionAcquired;
+  private volatile long firstByte;
+  private volatile long end;
+  private volatile long decodeNanos;
+  private volatile HttpClientRequest clientRequest;
+  private volatile boolean aborted;
+  private volatile boolean cancelled;
+
+  RequestTimings() {
+  }
+
+  /**
+   * Returns time spent on obtaining a connection from the pool, including connecting if a new connection
+   * had to be opened.
+   *
+   * @return connection acquisition time in nanoseconds
+   */
+  public long getConnectionAcquisitionNanos() {
+    return connectionAcquired > 0 ? connectionAcquired - start : 0;
+  }
+
+  /**
+   * Returns time from sending the request until response headers were received.
+   *
+   * @return time to first byte in nanoseconds
+   */
+  public long getTimeToFirstByteNanos() {
+    return connectionAcquired > 0 && firstByte > 0 ? firstByte - connectionAcquired : 0;
+  }
+
+  /**
+   * Returns time from receiving response headers until the whole body was received.
+   *
+   * @return body transfer time in nanoseconds
+   */
+  public long getBodyTransferNanos() {
+    return firstByte > 0 && end > 0 ? end - firstByte : 0;
+  }
+
+  /**
+   * Returns time spent on parsing response body to json, 0 if the body has not been parsed.
+   *
+   * @return decode time in nanoseconds
+   */
+  public long getDecodeNanos() {
+    return decodeNanos;
+  }
+
+  /**
+   * Returns total request time until the response body was received or the request failed.
+   *
+   * @return duration in nanoseconds
+   */
+  public long getDurationNanos() {
+    return end > 0 ? end - start : 0;
+  }
+
+  void finish() {
+    end = System.nanoTime();
+  }
+
+  void recordDecode(long nanos) {
+    decodeNanos = nanos;
+  }
+
+  /**
+   * Returns whether the request was cancelled because its result is no longer needed, e.g. it lost to a hedged request.
+   *
+   * @return true if the request was cancelled
+   */
+  boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Cancels the request because its result is no longer needed, see {@link #abort()}.
+   */
+  void cancel() {
+    cancelled = true;
+    abort();
+  }
+
+  /**
+   * Aborts the request: resets the underlying http request if it has been sent, otherwise the request is not sent.
+   */
+  void abort() {
+    aborted = true;
+    HttpClientRequest request = clientRequest;
+    if (request != null) {
+      request.reset();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return String.format("total: %d ms, connection acquisition: %d ms, time to first byte: %d ms, body transfer: %d ms",
+      TimeUnit.NANOSECONDS.toMillis(getDurationNanos()), TimeUnit.NANOSECONDS.toMillis(getConnectionAcquisitionNanos()),
+      TimeUnit.NANOSECONDS.toMillis(getTimeToFirstByteNanos()), TimeUnit.NANOSECONDS.toMillis(getBodyTransferNanos()));
+  }
+
+  /**
+   * Binds timings to a web client request, so that the interceptor can find them when the request is sent.
+   *
+   * @param request web client request
+   */
+  void bind(HttpRequest<?> request) {
+    PENDING.put(request, this);
+  }
+
+  void unbind(HttpRequest<?> request) {
+    PENDING.remove(request);
+  }
+
+  /**
+   * Web client interceptor capturing phase timestamps of requests with bound timings.
+   *
+   * @param context http context of the request
+   */
+  static void intercept(HttpContext<?> context) {
+    switch (context.phase()) {
+      case PREPARE_REQUEST -> {
+        RequestTimings timings = PENDING.remove(context.request());
+        if (timings != null) {
+          context.set(CONTEXT_KEY, timings);
+        }
+      }
+      case SEND_REQUEST -> {
+        RequestTimings timings = context.get(CONTEXT_KEY);
+        if (timings != null) {
+          timings.connectionAcquired = System.nanoTime();
+          timings.clientRequest = context.clientRequest();
+          if (timings.aborted) {
+            context.fail(new CancellationException("Request was aborted"));
+            return;
+          }
+        }
+      }
+      case RECEIVE_RESPONSE -> {
+        RequestTimings timings = context.get(CONTEXT_KEY);
+        if (timings != null) {
+          timings.firstByte = System.nanoTime();
+        }
+      }
+      default -> {
+        // other phases are not timed
+      }
+    }
+    context.next();
+  }
+}
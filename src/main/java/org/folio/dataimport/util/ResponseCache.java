@@ -0,0 +1,263 @@
+package org.folio.dataimport.util;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.impl.HttpResponseImpl;
+import org.folio.dataimport.util.RestUtil.WrappedResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of GET responses used by {@link RestUtil} for requests marked as cacheable.
+ * <p>
+ * Entries are keyed by tenant, URL, accepted content type and token of the caller, so responses are never shared
+ * between tenants or users.
+ * Cache size is limited by total size of cached response bodies and headers, least recently used entries
+ * are evicted first. Only raw response bytes are cached, every hit gets a new response instance, so bodies decoded
+ * by callers do not stay in the cache.
+ * When an entry is older than TTL of its route it is revalidated with If-None-Match/If-Modified-Since
+ * headers and reused if the server responds with 304, entries without validators are fetched again.
+ * The cache is disabled until options are set via {@link #setOptions(ResponseCacheOptions)}.
+ */
+public final class ResponseCache {
+
+  private static final String TOKEN_DIGEST_ALGORITHM = "SHA-256";
+  private static volatile ResponseCache instance;
+
+  private final ResponseCacheOptions options;
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong revalidations = new AtomicLong();
+  private long sizeBytes;
+
+  private ResponseCache(ResponseCacheOptions options) {
+    this.options = options;
+  }
+
+  /**
+   * Enables cache with specified options or disables it if options are null, cached entries are discarded.
+   *
+   * @param options cache options
+   */
+  public static void setOptions(ResponseCacheOptions options) {
+    instance = options != null ? new ResponseCache(options) : null;
+  }
+
+  /**
+   * Returns cache instance.
+   *
+   * @return cache or null if cache is disabled
+   */
+  public static ResponseCache getInstance() {
+    return instance;
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  public long getRevalidations() {
+    return revalidations.get();
+  }
+
+  public synchronized long getSizeBytes() {
+    return sizeBytes;
+  }
+
+  /**
+   * Removes all cached responses of specified tenant.
+   *
+   * @param tenantId tenant id
+   */
+  public synchronized void invalidate(String tenantId) {
+    Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<String, Entry> entry = iterator.next();
+      if (entry.getKey().startsWith(tenantId + '\n')) {
+        sizeBytes -= entry.getValue().size;
+        iterator.remove();
+      }
+    }
+  }
+
+  public synchronized void clear() {
+    entries.clear();
+    sizeBytes = 0;
+  }
+
+  /**
+   * Builds cache key of the request. Besides tenant and URL the key contains the Accept header and a digest
+   * of the token, so a response is served only to callers with the same identity and the same accepted type.
+   *
+   * @param params  connection params
+   * @param url     relative request URL
+   * @param headers headers the request is sent with
+   * @return cache key
+   */
+  static String getKey(OkapiConnectionParams params, String url, RequestHeaders headers) {
+    return params.getTenantId() + '\n' + params.getOkapiUrl() + url
+      + '\n' + headers.get(RequestHeaders.ACCEPT)
+      + '\n' + digest(headers.get(RestUtil.OKAPI_TOKEN_HEADER));
+  }
+
+  private static String digest(String token) {
+    if (token == null || token.isEmpty()) {
+      return "";
+    }
+    try {
+      byte[] hash = MessageDigest.getInstance(TOKEN_DIGEST_ALGORITHM).digest(token.getBytes(StandardCharsets.UTF_8));
+      return Base64.getEncoder().encodeToString(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  synchronized Entry get(String key) {
+    Entry entry = entries.get(key);
+    if (entry != null && entry.isFresh()) {
+      hits.incrementAndGet();
+    } else if (entry != null && entry.hasValidators()) {
+      revalidations.incrementAndGet();
+    } else {
+      misses.incrementAndGet();
+    }
+    return entry;
+  }
+
+  /**
+   * Caches successful response unless the server forbids it.
+   *
+   * @param key      cache key
+   * @param url      relative request URL used to find TTL of the route
+   * @param response response to cache
+   */
+  void put(String key, String url, WrappedResponse response) {
+    if (response.getCode() != 200 || response.getResponse() == null) {
+      return;
+    }
+    String cacheControl = response.getResponse().getHeader(HttpHeaders.CACHE_CONTROL.toString());
+    if (cacheControl != null && cacheControl.contains("no-store")) {
+      return;
+    }
+    var body = response.getResponse().body();
+    if (body != null && body.length() > options.getMaxBytes()) {
+      return;
+    }
+    var entry = new Entry(response.getResponse(), TimeUnit.MILLISECONDS.toNanos(options.getTtl(url)));
+    long size = entry.size;
+    if (size > options.getMaxBytes()) {
+      return;
+    }
+    synchronized (this) {
+      Entry previous = entries.put(key, entry);
+      if (previous != null) {
+        sizeBytes -= previous.size;
+      }
+      sizeBytes += size;
+      evict();
+    }
+  }
+
+  /**
+   * Marks entry as fresh after the server confirmed it is not modified.
+   *
+   * @param entry revalidated entry
+   */
+  void refresh(Entry entry) {
+    entry.expiresAt = System.nanoTime() + entry.ttl;
+  }
+
+  private void evict() {
+    Iterator<Entry> iterator = entries.values().iterator();
+    while (sizeBytes > options.getMaxBytes() && iterator.hasNext()) {
+      sizeBytes -= iterator.next().size;
+      iterator.remove();
+    }
+  }
+
+  /**
+   * Cached response, only status line, headers and body bytes are kept, so a response returned from the cache
+   * starts without decoded body forms and they are released together with it.
+   */
+  static final class Entry {
+    private final HttpVersion version;
+    private final int statusCode;
+    private final String statusMessage;
+    private final MultiMap headers;
+    private final List<String> cookies;
+    private final Buffer body;
+    private final long size;
+    private final long ttl;
+    private final String etag;
+    private final String lastModified;
+    private volatile long expiresAt;
+
+    private Entry(HttpResponse<Buffer> response, long ttl) {
+      this.version = response.version();
+      this.statusCode = response.statusCode();
+      this.statusMessage = response.statusMessage();
+      this.headers = MultiMap.caseInsensitiveMultiMap().addAll(response.headers());
+      this.cookies = response.cookies() != null ? List.copyOf(response.cookies()) : List.of();
+      this.body = response.body() != null ? response.body().copy() : null;
+      this.ttl = ttl;
+      this.etag = headers.get(HttpHeaders.ETAG);
+      this.lastModified = headers.get(HttpHeaders.LAST_MODIFIED);
+      this.size = getSize();
+      this.expiresAt = System.nanoTime() + ttl;
+    }
+
+    private long getSize() {
+      long headersSize = 0;
+      for (Map.Entry<String, String> header : headers) {
+        headersSize += header.getKey().length() + header.getValue().length();
+      }
+      for (String cookie : cookies) {
+        headersSize += cookie.length();
+      }
+      return (body != null ? body.length() : 0) + headersSize;
+    }
+
+    /**
+     * Returns new response instance backed by the cached body bytes.
+     *
+     * @return response
+     */
+    WrappedResponse getResponse() {
+      return new WrappedResponse(new HttpResponseImpl<>(version, statusCode, statusMessage,
+        MultiMap.caseInsensitiveMultiMap().addAll(headers), MultiMap.caseInsensitiveMultiMap(), cookies, body, List.of()));
+    }
+
+    String getEtag() {
+      return etag;
+    }
+
+    String getLastModified() {
+      return lastModified;
+    }
+
+    boolean isFresh() {
+      return System.nanoTime() - expiresAt < 0;
+    }
+
+    boolean hasValidators() {
+      return etag != null || lastModified != null;
+    }
+  }
+}
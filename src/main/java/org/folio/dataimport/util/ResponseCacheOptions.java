@@ -0,0 +1,86 @@
+package org.folio.dataimport.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Options of {@link ResponseCache}.
+ */
+public class ResponseCacheOptions {
+
+  public static final long DEFAULT_MAX_BYTES = 16L * 1024 * 1024;
+  public static final long DEFAULT_TTL = 60000;
+
+  private long maxBytes = DEFAULT_MAX_BYTES;
+  private long defaultTtl = DEFAULT_TTL;
+  private final Map<String, Long> routeTtls = new HashMap<>();
+
+  public long getMaxBytes() {
+    return maxBytes;
+  }
+
+  /**
+   * Sets max total size of cached response bodies, least recently used entries are evicted above it.
+   *
+   * @param maxBytes max cache size in bytes
+   * @return this options
+   */
+  public ResponseCacheOptions setMaxBytes(long maxBytes) {
+    if (maxBytes < 1) {
+      throw new IllegalArgumentException("maxBytes must be > 0");
+    }
+    this.maxBytes = maxBytes;
+    return this;
+  }
+
+  public long getDefaultTtl() {
+    return defaultTtl;
+  }
+
+  /**
+   * Sets time in milliseconds during which a cached response is used without revalidation,
+   * for routes without their own TTL.
+   *
+   * @param defaultTtl default TTL
+   * @return this options
+   */
+  public ResponseCacheOptions setDefaultTtl(long defaultTtl) {
+    if (defaultTtl < 0) {
+      throw new IllegalArgumentException("defaultTtl must be >= 0");
+    }
+    this.defaultTtl = defaultTtl;
+    return this;
+  }
+
+  public Map<String, Long> getRouteTtls() {
+    return routeTtls;
+  }
+
+  /**
+   * Sets TTL in milliseconds for requests which path starts with specified prefix,
+   * the longest matching prefix wins.
+   *
+   * @param pathPrefix path prefix, e.g. "/data-import-profiles"
+   * @param ttl        TTL of the route
+   * @return this options
+   */
+  public ResponseCacheOptions setRouteTtl(String pathPrefix, long ttl) {
+    if (ttl < 0) {
+      throw new IllegalArgumentException("ttl must be >= 0");
+    }
+    routeTtls.put(pathPrefix, ttl);
+    return this;
+  }
+
+  long getTtl(String url) {
+    long ttl = defaultTtl;
+    int matchedLength = -1;
+    for (Map.Entry<String, Long> routeTtl : routeTtls.entrySet()) {
+      if (url.startsWith(routeTtl.getKey()) && routeTtl.getKey().length() > matchedLength) {
+        ttl = routeTtl.getValue();
+        matchedLength = routeTtl.getKey().length();
+      }
+    }
+    return ttl;
+  }
+}
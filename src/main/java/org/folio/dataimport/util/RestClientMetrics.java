@@ -0,0 +1,116 @@
+package org.folio.dataimport.util;
+
+import io.vertx.core.http.HttpMethod;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.regex.Pattern;
+
+/**
+ * Holder of the {@link RestClientMetricsListener} notified about requests sent via {@link RestUtil}.
+ */
+public final class RestClientMetrics {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+  private static final String ID_PLACEHOLDER = "{id}";
+  private static final Pattern ID_SEGMENT = Pattern.compile(
+    "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|\\d+");
+  private static volatile RestClientMetricsListener listener;
+
+  private RestClientMetrics() {
+  }
+
+  public static RestClientMetricsListener getListener() {
+    return listener;
+  }
+
+  /**
+   * Sets listener of requests, null disables notifications.
+   *
+   * @param metricsListener metrics listener
+   */
+  public static void setListener(RestClientMetricsListener metricsListener) {
+    listener = metricsListener;
+  }
+
+  /**
+   * Builds path template of request URL: query is dropped, UUID and numeric path segments are replaced
+   * with "{id}", e.g. "/source-storage/records/{id}" for "/source-storage/records/c56b70ce-4ef6-47ef-8bc3-c470bafa0b8c".
+   *
+   * @param url relative request URL
+   * @return path template
+   */
+  public static String getPathTemplate(String url) {
+    int queryStart = url.indexOf('?');
+    String path = queryStart >= 0 ? url.substring(0, queryStart) : url;
+    String[] segments = path.split("/", -1);
+    for (int i = 0; i < segments.length; i++) {
+      if (ID_SEGMENT.matcher(segments[i]).matches()) {
+        segments[i] = ID_PLACEHOLDER;
+      }
+    }
+    return String.join("/", segments);
+  }
+
+  static void onStart(HttpMethod method, String url) {
+    RestClientMetricsListener current = listener;
+    if (current != null) {
+      notify(() -> current.requestStarted(method, getPathTemplate(url)));
+    }
+  }
+
+  static void onCompleted(HttpMethod method, String url, RequestTimings timings, int statusCode,
+                          long requestBytes, long responseBytes) {
+    RestClientMetricsListener current = listener;
+    if (current != null) {
+      String pathTemplate = getPathTemplate(url);
+      notify(() -> {
+        if (timings.getConnectionAcquisitionNanos() > 0) {
+          current.connectionAcquired(method, pathTemplate, timings.getConnectionAcquisitionNanos());
+        }
+        current.requestCompleted(method, pathTemplate, statusCode, timings.getDurationNanos(), requestBytes, responseBytes);
+      });
+    }
+  }
+
+  static void onCompressed(HttpMethod method, String url, long originalBytes, long compressedBytes) {
+    RestClientMetricsListener current = listener;
+    if (current != null) {
+      notify(() -> current.requestCompressed(method, getPathTemplate(url), originalBytes, compressedBytes));
+    }
+  }
+
+  static void onFailed(HttpMethod method, String url, RequestTimings timings, Throwable cause) {
+    RestClientMetricsListener current = listener;
+    if (current != null) {
+      String pathTemplate = getPathTemplate(url);
+      notify(() -> {
+        if (timings.getConnectionAcquisitionNanos() > 0) {
+          current.connectionAcquired(method, pathTemplate, timings.getConnectionAcquisitionNanos());
+        }
+        current.requestFailed(method, pathTemplate, cause, timings.getDurationNanos());
+      });
+    }
+  }
+
+  static void onCancelled(HttpMethod method, String url, RequestTimings timings) {
+    RestClientMetricsListener current = listener;
+    if (current != null) {
+      String pathTemplate = getPathTemplate(url);
+      notify(() -> {
+        if (timings.getConnectionAcquisitionNanos() > 0) {
+          current.connectionAcquired(method, pathTemplate, timings.getConnectionAcquisitionNanos());
+        }
+        current.requestCancelled(method, pathTemplate, timings.getDurationNanos());
+      });
+    }
+  }
+
+  private static void notify(Runnable notification) {
+    try {
+      notification.run();
+    } catch (Exception e) {
+      LOGGER.warn("notify:: Rest client metrics listener failed", e);
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package org.folio.dataimport.util;
+
+import io.vertx.core.http.HttpMethod;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Listener of outbound requests sent via {@link RestUtil}, it can be used to export metrics
+ * to any metrics library. Requests are identified by method and path template, i.e. request path without
+ * query where ids are replaced with "{id}", see {@link RestClientMetrics#getPathTemplate(String)}.
+ * <p>
+ * Methods are called on event loop threads and must not block.
+ */
+public interface RestClientMetricsListener {
+
+  /**
+   * Called when a request is about to be sent.
+   *
+   * @param method       HTTP method
+   * @param pathTemplate path template
+   */
+  default void requestStarted(HttpMethod method, String pathTemplate) {
+  }
+
+  /**
+   * Called when a connection for the request was obtained from the pool.
+   *
+   * @param method       HTTP method
+   * @param pathTemplate path template
+   * @param waitNanos    time spent waiting for the connection, including connecting
+   */
+  default void connectionAcquired(HttpMethod method, String pathTemplate, long waitNanos) {
+  }
+
+  /**
+   * Called when the response was received.
+   *
+   * @param method        HTTP method
+   * @param pathTemplate  path template
+   * @param statusCode    response status code
+   * @param durationNanos request duration
+   * @param requestBytes  size of request body
+   * @param responseBytes size of response body
+   */
+  default void requestCompleted(HttpMethod method, String pathTemplate, int statusCode, long durationNanos,
+                                long requestBytes, long responseBytes) {
+  }
+
+  /**
+   * Called when the request body was compressed, see {@link RequestCompression}. The body is sent uncompressed
+   * if compression did not reduce its size.
+   *
+   * @param method          HTTP method
+   * @param pathTemplate    path template
+   * @param originalBytes   size of request body before compression
+   * @param compressedBytes size of compressed request body
+   */
+  default void requestCompressed(HttpMethod method, String pathTemplate, long originalBytes, long compressedBytes) {
+  }
+
+  /**
+   * Called when the request failed without response.
+   *
+   * @param method        HTTP method
+   * @param pathTemplate  path template
+   * @param cause         failure cause
+   * @param durationNanos time until the failure
+   */
+  default void requestFailed(HttpMethod method, String pathTemplate, Throwable cause, long durationNanos) {
+  }
+
+  /**
+   * Called when the request was cancelled because its result is no longer needed, e.g. the other request
+   * of a hedged pair completed first. By default it is reported as {@link #requestFailed} with
+   * a {@link CancellationException}, so listeners which only track started and finished requests stay balanced.
+   *
+   * @param method        HTTP method
+   * @param pathTemplate  path template
+   * @param durationNanos time until the cancellation
+   */
+  default void requestCancelled(HttpMethod method, String pathTemplate, long durationNanos) {
+    requestFailed(method, pathTemplate, new CancellationException("Request was cancelled"), durationNanos);
+  }
+}
@@ -0,0 +1,156 @@
+package org.folio.dataimport.util;
+
+/**
+ * Configuration of the http clients used by {@link RestUtil}.
+ * <p>
+ * Options are applied when a client is created by {@link HttpClientRegistry}, so they should be set
+ * before the first request is sent, e.g. on module startup.
+ */
+public class RestClientOptions {
+
+  public static final int DEFAULT_MAX_POOL_SIZE = 20;
+  public static final boolean DEFAULT_KEEP_ALIVE = true;
+  public static final int DEFAULT_KEEP_ALIVE_TIMEOUT = 60;
+  public static final int DEFAULT_MAX_WAIT_QUEUE_SIZE = -1;
+  public static final boolean DEFAULT_HTTP2_ENABLED = false;
+  public static final int DEFAULT_HTTP2_MAX_CONCURRENT_STREAMS = 100;
+  public static final int DEFAULT_HTTP2_MAX_POOL_SIZE = 1;
+  public static final boolean DEFAULT_DECOMPRESSION_SUPPORTED = true;
+
+  private int maxPoolSize = DEFAULT_MAX_POOL_SIZE;
+  private boolean keepAlive = DEFAULT_KEEP_ALIVE;
+  private int keepAliveTimeout = DEFAULT_KEEP_ALIVE_TIMEOUT;
+  private int maxWaitQueueSize = DEFAULT_MAX_WAIT_QUEUE_SIZE;
+  private boolean http2Enabled = DEFAULT_HTTP2_ENABLED;
+  private int http2MaxConcurrentStreams = DEFAULT_HTTP2_MAX_CONCURRENT_STREAMS;
+  private int http2MaxPoolSize = DEFAULT_HTTP2_MAX_POOL_SIZE;
+  private boolean decompressionSupported = DEFAULT_DECOMPRESSION_SUPPORTED;
+
+  public int getMaxPoolSize() {
+    return maxPoolSize;
+  }
+
+  /**
+   * Sets maximum number of connections kept in the pool of a single client.
+   *
+   * @param maxPoolSize max pool size
+   * @return this options
+   */
+  public RestClientOptions setMaxPoolSize(int maxPoolSize) {
+    if (maxPoolSize < 1) {
+      throw new IllegalArgumentException("maxPoolSize must be > 0");
+    }
+    this.maxPoolSize = maxPoolSize;
+    return this;
+  }
+
+  public boolean isKeepAlive() {
+    return keepAlive;
+  }
+
+  public RestClientOptions setKeepAlive(boolean keepAlive) {
+    this.keepAlive = keepAlive;
+    return this;
+  }
+
+  public int getKeepAliveTimeout() {
+    return keepAliveTimeout;
+  }
+
+  /**
+   * Sets the time in seconds after which an unused pooled connection is closed.
+   *
+   * @param keepAliveTimeout keep alive timeout in seconds
+   * @return this options
+   */
+  public RestClientOptions setKeepAliveTimeout(int keepAliveTimeout) {
+    if (keepAliveTimeout < 0) {
+      throw new IllegalArgumentException("keepAliveTimeout must be >= 0");
+    }
+    this.keepAliveTimeout = keepAliveTimeout;
+    return this;
+  }
+
+  public int getMaxWaitQueueSize() {
+    return maxWaitQueueSize;
+  }
+
+  /**
+   * Sets maximum number of requests waiting for a pooled connection, -1 means unbounded.
+   *
+   * @param maxWaitQueueSize max wait queue size
+   * @return this options
+   */
+  public RestClientOptions setMaxWaitQueueSize(int maxWaitQueueSize) {
+    this.maxWaitQueueSize = maxWaitQueueSize;
+    return this;
+  }
+
+  public boolean isHttp2Enabled() {
+    return http2Enabled;
+  }
+
+  /**
+   * Enables HTTP/2 over clear text (h2c) for requests to Okapi. Requests are multiplexed as streams
+   * over a small number of connections. If Okapi does not accept the upgrade, the client keeps using HTTP/1.1.
+   *
+   * @param http2Enabled whether h2c should be tried
+   * @return this options
+   */
+  public RestClientOptions setHttp2Enabled(boolean http2Enabled) {
+    this.http2Enabled = http2Enabled;
+    return this;
+  }
+
+  public int getHttp2MaxConcurrentStreams() {
+    return http2MaxConcurrentStreams;
+  }
+
+  /**
+   * Sets maximum number of concurrent streams opened on a single HTTP/2 connection.
+   *
+   * @param http2MaxConcurrentStreams max concurrent streams per connection
+   * @return this options
+   */
+  public RestClientOptions setHttp2MaxConcurrentStreams(int http2MaxConcurrentStreams) {
+    if (http2MaxConcurrentStreams < 1) {
+      throw new IllegalArgumentException("http2MaxConcurrentStreams must be > 0");
+    }
+    this.http2MaxConcurrentStreams = http2MaxConcurrentStreams;
+    return this;
+  }
+
+  public int getHttp2MaxPoolSize() {
+    return http2MaxPoolSize;
+  }
+
+  /**
+   * Sets maximum number of HTTP/2 connections kept in the pool of a single client.
+   *
+   * @param http2MaxPoolSize max HTTP/2 pool size
+   * @return this options
+   */
+  public RestClientOptions setHttp2MaxPoolSize(int http2MaxPoolSize) {
+    if (http2MaxPoolSize < 1) {
+      throw new IllegalArgumentException("http2MaxPoolSize must be > 0");
+    }
+    this.http2MaxPoolSize = http2MaxPoolSize;
+    return this;
+  }
+
+  public boolean isDecompressionSupported() {
+    return decompressionSupported;
+  }
+
+  /**
+   * Enables sending Accept-Encoding header with gzip and deflate, compressed responses are decompressed
+   * transparently. Routes excluded in {@link CompressionOptions} request uncompressed responses.
+   *
+   * @param decompressionSupported whether compressed responses are accepted
+   * @return this options
+   */
+  public RestClientOptions setDecompressionSupported(boolean decompressionSupported) {
+    this.decompressionSupported = decompressionSupported;
+    return this;
+  }
+}
@@ -0,0 +1,158 @@
+package org.folio.dataimport.util;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import org.folio.dataimport.util.codec.Codec;
+
+/**
+ * Descriptor of a single request sent via {@link RestUtil}.
+ */
+public class RestRequest {
+
+  private final String url;
+  private final HttpMethod method;
+  private final Object payload;
+  private RetryPolicy retryPolicy;
+  private HedgingPolicy hedgingPolicy;
+  private Codec codec;
+  private boolean coalesced;
+  private boolean cacheable;
+  private Buffer encodedBody;
+  private String contentEncoding;
+
+  /**
+   * @param url     relative URL for the HTTP request
+   * @param method  HTTP method
+   * @param payload body of the request, used for PUT and POST only
+   */
+  public RestRequest(String url, HttpMethod method, Object payload) {
+    this.url = url;
+    this.method = method;
+    this.payload = payload;
+  }
+
+  public RestRequest(String url, HttpMethod method) {
+    this(url, method, null);
+  }
+
+  public String getUrl() {
+    return url;
+  }
+
+  public HttpMethod getMethod() {
+    return method;
+  }
+
+  public Object getPayload() {
+    return payload;
+  }
+
+  public RetryPolicy getRetryPolicy() {
+    return retryPolicy;
+  }
+
+  /**
+   * Sets retry policy of this request, it overrides retry policy of {@link OkapiConnectionParams}.
+   *
+   * @param retryPolicy retry policy
+   * @return this request
+   */
+  public RestRequest setRetryPolicy(RetryPolicy retryPolicy) {
+    this.retryPolicy = retryPolicy;
+    return this;
+  }
+
+  public HedgingPolicy getHedgingPolicy() {
+    return hedgingPolicy;
+  }
+
+  /**
+   * Sets hedging policy of this GET request, it overrides hedging policy of {@link OkapiConnectionParams}.
+   * The policy is ignored for other methods.
+   *
+   * @param hedgingPolicy hedging policy
+   * @return this request
+   */
+  public RestRequest setHedgingPolicy(HedgingPolicy hedgingPolicy) {
+    this.hedgingPolicy = hedgingPolicy;
+    return this;
+  }
+
+  public Codec getCodec() {
+    return codec;
+  }
+
+  /**
+   * Sets codec encoding the payload of this request, Content-type and Accept headers are set to its content type.
+   * Json is used if codec is not set.
+   *
+   * @param codec codec
+   * @return this request
+   */
+  public RestRequest setCodec(Codec codec) {
+    this.codec = codec;
+    return this;
+  }
+
+  public boolean isCoalesced() {
+    return coalesced;
+  }
+
+  /**
+   * Enables coalescing of this GET request with identical GET requests in flight: if a request with the same
+   * tenant, URL and headers is already being sent, this request waits for its response instead of sending
+   * another one. The response object is shared between coalesced requests and must not be modified.
+   * The flag is ignored for other methods.
+   *
+   * @param coalesced whether the request is coalesced
+   * @return this request
+   */
+  public RestRequest setCoalesced(boolean coalesced) {
+    this.coalesced = coalesced;
+    return this;
+  }
+
+  public boolean isCacheable() {
+    return cacheable;
+  }
+
+  /**
+   * Enables caching of the response of this GET request in {@link ResponseCache}, if the cache is enabled.
+   * Cached response is shared between requests and must not be modified. The flag is ignored for other methods.
+   *
+   * @param cacheable whether the response is cached
+   * @return this request
+   */
+  public RestRequest setCacheable(boolean cacheable) {
+    this.cacheable = cacheable;
+    return this;
+  }
+
+  Buffer getEncodedBody() {
+    return encodedBody;
+  }
+
+  String getContentEncoding() {
+    return contentEncoding;
+  }
+
+  /**
+   * Returns copy of this request with the payload already encoded and compressed, so it is not encoded again
+   * for every retry or hedged attempt. This request is not modified, it may be sent again with a changed payload.
+   *
+   * @param body     encoded request body
+   * @param encoding content encoding of the body, null if it is not compressed
+   * @return request copy
+   */
+  RestRequest withEncodedBody(Buffer body, String encoding) {
+    RestRequest copy = new RestRequest(url, method, payload);
+    copy.retryPolicy = retryPolicy;
+    copy.hedgingPolicy = hedgingPolicy;
+    copy.codec = codec;
+    copy.coalesced = coalesced;
+    copy.cacheable = cacheable;
+    copy.encodedBody = body;
+    copy.contentEncoding = encoding;
+    return copy;
+  }
+}
@@ -1,7 +1,6 @@
 package org.folio.dataimport.util;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.type.TypeReference;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
@@ -9,20 +8,35 @@ import io.vertx.core.MultiMap;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
-import io.vertx.core.http.HttpClient;
-import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.RequestOptions;
+import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.web.client.HttpResponse;
-import io.vertx.ext.web.client.WebClient;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.HttpStatus;
+import org.folio.dataimport.util.codec.Codec;
+import org.folio.dataimport.util.codec.CodecRegistry;
+import org.folio.dataimport.util.exception.CircuitBreakerOpenException;
+import org.folio.dataimport.util.exception.DeadlineExceededException;
 
 import javax.ws.rs.BadRequestException;
 import javax.ws.rs.InternalServerErrorException;
 import javax.ws.rs.NotFoundException;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static org.folio.HttpStatus.HTTP_CREATED;
 import static org.folio.HttpStatus.HTTP_INTERNAL_SERVER_ERROR;
@@ -39,24 +53,46 @@ public final class RestUtil {
   public static final String OKAPI_TOKEN_HEADER = "x-okapi-token";
   public static final String OKAPI_URL_HEADER = "x-okapi-url";
   private static final Logger LOGGER = LogManager.getLogger();
+  private static final int HTTP_UNAUTHORIZED = 401;
+  private static final int HTTP_NOT_MODIFIED = 304;
+  private static final int HTTP_TOO_MANY_REQUESTS = 429;
+  private static final String CHARSET_PARAMETER = "charset";
+  private static final SingleFlight<WrappedResponse> COALESCED_REQUESTS = new SingleFlight<>();
   private static final String STATUS_CODE_IS_NOT_SUCCESS_MSG = "Response HTTP code is not equals 200, 201, 204. Response code: {}";
 
+  /**
+   * Http response wrapper. Body is kept as received buffer and decoded to String or json on first access.
+   */
   public static class WrappedResponse {
-    private int code;
-    private String body;
-    private JsonObject json;
-    private HttpResponse<Buffer> response;
+    private final int code;
+    private final Buffer bodyBuffer;
+    private final String contentType;
+    private final HttpResponse<Buffer> response;
+    private final RequestTimings timings;
+    private volatile String body;
+    private volatile JsonObject json;
+    private volatile boolean jsonDecoded;
 
     WrappedResponse(int code, String body,
                     HttpResponse<Buffer> response) {
       this.code = code;
       this.body = body;
+      this.bodyBuffer = null;
+      this.contentType = null;
       this.response = response;
-      try {
-        json = new JsonObject(body);
-      } catch (Exception e) {
-        json = null;
-      }
+      this.timings = null;
+    }
+
+    WrappedResponse(HttpResponse<Buffer> response) {
+      this(response, null);
+    }
+
+    WrappedResponse(HttpResponse<Buffer> response, RequestTimings timings) {
+      this.code = response.statusCode();
+      this.bodyBuffer = response.body();
+      this.contentType = response.getHeader(HttpHeaders.CONTENT_TYPE.toString());
+      this.response = response;
+      this.timings = timings;
     }
 
     public int getCode() {
@@ -64,16 +100,132 @@ public final class RestUtil {
     }
 
     public String getBody() {
+      if (body == null && bodyBuffer != null) {
+        body = bodyBuffer.toString(getCharset(contentType));
+      }
       return body;
     }
 
+    /**
+     * Returns charset of the Content-Type header, UTF-8 if the header does not specify a supported charset.
+     */
+    private static Charset getCharset(String contentType) {
+      if (contentType != null) {
+        for (String parameter : contentType.split(";")) {
+          String[] nameAndValue = parameter.trim().split("=", 2);
+          if (nameAndValue.length == 2 && CHARSET_PARAMETER.equalsIgnoreCase(nameAndValue[0].trim())) {
+            try {
+              return Charset.forName(nameAndValue[1].trim().replace("\"", ""));
+            } catch (IllegalArgumentException e) {
+              return StandardCharsets.UTF_8;
+            }
+          }
+        }
+      }
+      return StandardCharsets.UTF_8;
+    }
+
     public HttpResponse<Buffer> getResponse() {
       return response;
     }
 
+    /**
+     * Returns timings of request phases, decode time is available after {@link #getJson()} was called.
+     *
+     * @return request timings or null if the response was not received by {@link RestUtil}
+     */
+    public RequestTimings getTimings() {
+      return timings;
+    }
+
+    /**
+     * Decodes response body to an object of specified class with the codec registered for the response
+     * Content-Type, see {@link CodecRegistry}. The body is decoded directly from the received buffer.
+     *
+     * @param type target class
+     * @param <T>  target type
+     * @return decoded object or null if the body is empty
+     * @throws DecodeException if the body cannot be decoded
+     */
+    public <T> T decode(Class<T> type) {
+      return decode(codec -> codec.decode(getBodyBuffer(), type));
+    }
+
+    /**
+     * Decodes response body to an object of specified generic type, see {@link #decode(Class)}.
+     *
+     * @param type target type reference
+     * @param <T>  target type
+     * @return decoded object or null if the body is empty
+     * @throws DecodeException if the body cannot be decoded
+     */
+    public <T> T decode(TypeReference<T> type) {
+      return decode(codec -> codec.decode(getBodyBuffer(), type));
+    }
+
+    private <T> T decode(Decoder<T> decoder) {
+      long start = System.nanoTime();
+      try {
+        return decoder.decode(CodecRegistry.get(contentType));
+      } catch (IOException e) {
+        throw new DecodeException("Failed to decode response body: " + e.getMessage(), e);
+      } finally {
+        if (timings != null) {
+          timings.recordDecode(System.nanoTime() - start);
+        }
+      }
+    }
+
+    private Buffer getBodyBuffer() {
+      return bodyBuffer != null || body == null ? bodyBuffer : Buffer.buffer(body);
+    }
+
+    @FunctionalInterface
+    private interface Decoder<T> {
+      T decode(Codec codec) throws IOException;
+    }
+
+    /**
+     * Returns response body parsed to json object, parsing is done only once and only if
+     * the response has json content type (or no content type) and its body looks like a json object.
+     *
+     * @return json object or null if body is not a json object
+     */
     public JsonObject getJson() {
+      if (!jsonDecoded) {
+        long start = System.nanoTime();
+        json = decodeJson();
+        jsonDecoded = true;
+        if (timings != null) {
+          timings.recordDecode(System.nanoTime() - start);
+        }
+      }
       return json;
     }
+
+    private JsonObject decodeJson() {
+      if (contentType != null && !contentType.toLowerCase().contains("json")) {
+        return null;
+      }
+      try {
+        if (bodyBuffer != null) {
+          return startsWithObject(bodyBuffer) ? new JsonObject(bodyBuffer) : null;
+        }
+        return body != null && body.stripLeading().startsWith("{") ? new JsonObject(body) : null;
+      } catch (DecodeException e) {
+        return null;
+      }
+    }
+
+    private static boolean startsWithObject(Buffer buffer) {
+      for (int i = 0; i < buffer.length(); i++) {
+        byte b = buffer.getByte(i);
+        if (!Character.isWhitespace(b)) {
+          return b == '{';
+        }
+      }
+      return false;
+    }
   }
 
   private RestUtil() {
@@ -81,6 +233,8 @@ public final class RestUtil {
 
   /**
    * Creates an HTTP request, removing the token header if system user is disabled.
+   * If a {@link TokenProvider} is set on params, the request is sent with the token it provides instead,
+   * a request rejected with 401 is sent once more with a new token.
    *
    * @param params  Okapi connection parameters.
    * @param url     Relative URL for the HTTP request.
@@ -91,13 +245,27 @@ public final class RestUtil {
 
   public static <T> Future<WrappedResponse> doRequestWithSystemUser(
     OkapiConnectionParams params, String url, HttpMethod method, T payload) {
-    var headers = MultiMap.caseInsensitiveMultiMap().addAll(params.getHeaders());
-    if (isSystemUserEnabled()) {
+    var request = new RestRequest(url, method, payload);
+    var tokenProvider = params.getTokenProvider();
+    if (tokenProvider != null) {
+      return tokenProvider.getToken(params)
+        .compose(token -> execute(params, request, params.getSystemUserRequestHeaders(token))
+          .compose(response -> {
+            if (response.getCode() != HTTP_UNAUTHORIZED) {
+              return Future.succeededFuture(response);
+            }
+            LOGGER.warn("doRequestWithSystemUser:: System user token was rejected, retrying with a new token, url: {}, method: {}, tenant: {}",
+              url, method, params.getTenantId());
+            tokenProvider.invalidate(params, token);
+            return tokenProvider.getToken(params)
+              .compose(newToken -> execute(params, request, params.getSystemUserRequestHeaders(newToken)));
+          }));
+    }
+    if (params.isSystemUserEnabled()) {
       LOGGER.trace("doRequestWithSystemUser:: Do request without {} header for system user, url: {}, method: {}, tenant: {}",
         OKAPI_TOKEN_HEADER, url, method, params.getTenantId());
-      headers.remove(OKAPI_TOKEN_HEADER);
     }
-    return doRequest(url, method, params, headers, payload);
+    return execute(params, request, params.getSystemUserRequestHeaders());
   }
 
   /**
@@ -111,7 +279,168 @@ public final class RestUtil {
    */
   public static <T> Future<WrappedResponse> doRequest(
     OkapiConnectionParams params, String url, HttpMethod method, T payload) {
-    return doRequest(url, method, params, params.getHeaders(), payload);
+    return execute(params, new RestRequest(url, method, payload), params.getRequestHeaders());
+  }
+
+  /**
+   * Create http request
+   *
+   * @param params  Okapi connection parameters.
+   * @param request Request descriptor.
+   * @return A future representing the asynchronous HTTP response.
+   */
+  public static Future<WrappedResponse> doRequest(OkapiConnectionParams params, RestRequest request) {
+    return execute(params, request, params.getRequestHeaders());
+  }
+
+  /**
+   * Sends http request and decodes response body to an object of specified class,
+   * see {@link WrappedResponse#decode(Class)}.
+   *
+   * @param params  Okapi connection parameters.
+   * @param request Request descriptor.
+   * @param type    Class of the response body.
+   * @return A future with decoded response body, null if the body is empty.
+   * The future is failed if response code is not 200, 201 or 204, or the body cannot be decoded.
+   */
+  public static <T> Future<T> doRequest(OkapiConnectionParams params, RestRequest request, Class<T> type) {
+    return doRequest(params, request).compose(response -> decodeResponse(response, r -> r.decode(type)));
+  }
+
+  /**
+   * Sends http request and decodes response body to an object of specified generic type,
+   * see {@link WrappedResponse#decode(TypeReference)}.
+   *
+   * @param params  Okapi connection parameters.
+   * @param request Request descriptor.
+   * @param type    Type reference of the response body.
+   * @return A future with decoded response body, null if the body is empty.
+   * The future is failed if response code is not 200, 201 or 204, or the body cannot be decoded.
+   */
+  public static <T> Future<T> doRequest(OkapiConnectionParams params, RestRequest request, TypeReference<T> type) {
+    return doRequest(params, request).compose(response -> decodeResponse(response, r -> r.decode(type)));
+  }
+
+  private static <T> Future<T> decodeResponse(WrappedResponse response, Function<WrappedResponse, T> decoder) {
+    if (!isSuccessCode(response.getCode())) {
+      LOGGER.error(STATUS_CODE_IS_NOT_SUCCESS_MSG, response.getCode());
+      return Future.failedFuture(mapStatusToException(response.getCode()));
+    }
+    try {
+      return Future.succeededFuture(response.getCode() == HTTP_NO_CONTENT.toInt() ? null : decoder.apply(response));
+    } catch (DecodeException e) {
+      return Future.failedFuture(e);
+    }
+  }
+
+  static Future<WrappedResponse> doRequest(OkapiConnectionParams params, RestRequest request, RequestHeaders headers) {
+    return execute(params, request, headers);
+  }
+
+  /**
+   * Sends a batch of requests with the same connection params keeping at most
+   * {@link BatchOptions#getMaxInFlight()} requests in flight.
+   *
+   * @param params   Okapi connection parameters.
+   * @param requests Requests to send.
+   * @param options  Batch options.
+   * @return A future with results of requests in the order of {@code requests}.
+   * In fail-fast mode the future fails with the cause of the first failed request.
+   */
+  public static Future<List<AsyncResult<WrappedResponse>>> doRequests(
+    OkapiConnectionParams params, List<RestRequest> requests, BatchOptions options) {
+    return new BatchRequestExecutor(params, requests.iterator(), options).execute();
+  }
+
+  /**
+   * Sends a batch of requests with the same connection params keeping at most
+   * {@link BatchOptions#getMaxInFlight()} requests in flight. Requests are pulled from the stream lazily.
+   *
+   * @param params   Okapi connection parameters.
+   * @param requests Requests to send.
+   * @param options  Batch options.
+   * @return A future with results of requests in the order of {@code requests}.
+   * In fail-fast mode the future fails with the cause of the first failed request.
+   */
+  public static Future<List<AsyncResult<WrappedResponse>>> doRequests(
+    OkapiConnectionParams params, Stream<RestRequest> requests, BatchOptions options) {
+    return new BatchRequestExecutor(params, requests.iterator(), options).execute();
+  }
+
+  /**
+   * Sends GET request and streams json objects of the specified array field of the response body,
+   * e.g. "records" of a collection response. The body is parsed incrementally, so memory usage does not
+   * depend on the page size, and the response is read only as fast as the stream is consumed.
+   * The request timeout and the deadline of params apply until the whole response is read,
+   * the stream fails when they are exceeded.
+   *
+   * @param params     Okapi connection parameters.
+   * @param url        Relative URL for the HTTP request.
+   * @param arrayField Name of the top-level array field which elements should be streamed.
+   * @return A future with stream of array elements, failed if response code is not 200.
+   */
+  public static Future<ReadStream<JsonObject>> doRequestStream(
+    OkapiConnectionParams params, String url, String arrayField) {
+    try {
+      var deadline = params.getDeadline();
+      if (deadline != null && deadline.isExpired()) {
+        return Future.failedFuture(new DeadlineExceededException("Deadline exceeded before request was sent"));
+      }
+      var vertx = Vertx.currentContext().owner();
+      var client = HttpClientRegistry.forVertx(vertx).getHttpClient(params);
+      var headers = MultiMap.caseInsensitiveMultiMap();
+      params.getRequestHeaders().with(RequestHeaders.ACCEPT, RequestHeaders.JSON_CONTENT_TYPE).entries()
+        .forEach(entry -> headers.add(entry.getKey(), entry.getValue()));
+      if (deadline != null && params.isDeadlinePropagated()) {
+        headers.set(Deadline.DEADLINE_HEADER, String.valueOf(deadline.getRemainingMillis()));
+      }
+      var options = new RequestOptions()
+        .setMethod(HttpMethod.GET)
+        .setAbsoluteURI(params.getOkapiUrl() + url)
+        .setHeaders(headers);
+
+      // the exchange lasts until the whole response is read, so the timeout also covers reading the stream
+      Promise<ReadStream<JsonObject>> promise = Promise.promise();
+      Promise<Void> exchange = Promise.promise();
+      AtomicReference<HttpClientRequest> clientRequest = new AtomicReference<>();
+      setRequestTimeout(vertx, params, url, HttpMethod.GET, exchange, cause -> {
+        promise.tryFail(cause);
+        var request = clientRequest.get();
+        if (request != null) {
+          request.reset(0, cause);
+        }
+      });
+
+      client.request(options)
+        .compose(request -> {
+          if (exchange.future().failed()) {
+            request.reset(0, exchange.future().cause());
+            return Future.failedFuture(exchange.future().cause());
+          }
+          clientRequest.set(request);
+          return request.send();
+        })
+        .compose(response -> {
+          response.end().onComplete(ar -> exchange.tryComplete());
+          if (response.statusCode() != HTTP_OK.toInt()) {
+            LOGGER.error(STATUS_CODE_IS_NOT_SUCCESS_MSG, response.statusCode());
+            return response.body()
+              .transform(ar -> Future.<ReadStream<JsonObject>>failedFuture(mapStatusToException(response.statusCode())));
+          }
+          return Future.<ReadStream<JsonObject>>succeededFuture(new JsonArrayElementStream(response, arrayField));
+        })
+        .onComplete(ar -> {
+          if (ar.failed()) {
+            exchange.tryComplete();
+            promise.tryFail(ar.cause());
+          } else {
+            promise.tryComplete(ar.result());
+          }
+        });
+      return promise.future();
+    } catch (Exception e) {
+      return Future.failedFuture(e);
+    }
   }
 
   /**
@@ -129,46 +458,259 @@ public final class RestUtil {
     return !Boolean.parseBoolean(System.getProperty("SYSTEM_USER_ENABLED", "true"));
   }
 
-  private static <T> Future<WrappedResponse> doRequest(
-    String url, HttpMethod method, OkapiConnectionParams params, MultiMap headers, T payload) {
+  private static Future<WrappedResponse> execute(OkapiConnectionParams params, RestRequest request, RequestHeaders headers) {
+    try {
+      var requestHeaders = request.getCodec() == null ? headers
+        : headers.with(RequestHeaders.CONTENT_TYPE, request.getCodec().getContentType())
+          .with(RequestHeaders.ACCEPT, request.getCodec().getContentType());
+      var cache = ResponseCache.getInstance();
+      if (cache != null && request.isCacheable() && request.getMethod() == HttpMethod.GET) {
+        return executeCacheable(cache, params, request, requestHeaders);
+      }
+      if (request.getMethod() == HttpMethod.PUT || request.getMethod() == HttpMethod.POST) {
+        return encodeBody(request).compose(encoded -> executeCoalesced(params, encoded, requestHeaders));
+      }
+      return executeCoalesced(params, request, requestHeaders);
+    } catch (Exception e) {
+      return Future.failedFuture(e);
+    }
+  }
+
+  /**
+   * Encodes and compresses request body once for all attempts of the request, bodies larger than
+   * {@link CompressionOptions#getBlockingThreshold()} are compressed on a worker thread.
+   */
+  private static Future<RestRequest> encodeBody(RestRequest request) throws IOException {
+    var body = encodePayload(request);
+    var compressionOptions = RequestCompression.getOptions(request.getUrl(), body.length());
+    if (compressionOptions == null) {
+      return Future.succeededFuture(request.withEncodedBody(body, null));
+    }
+    if (body.length() < compressionOptions.getBlockingThreshold()) {
+      return Future.succeededFuture(compress(request, body, compressionOptions));
+    }
+    return Vertx.currentContext().executeBlocking(() -> compress(request, body, compressionOptions), false);
+  }
+
+  private static Future<WrappedResponse> executeCacheable(ResponseCache cache, OkapiConnectionParams params,
+                                                          RestRequest request, RequestHeaders headers) {
+    var key = ResponseCache.getKey(params, request.getUrl(), headers);
+    var entry = cache.get(key);
+    if (entry != null && entry.isFresh()) {
+      return Future.succeededFuture(entry.getResponse());
+    }
+    var requestHeaders = headers;
+    if (entry != null && entry.hasValidators()) {
+      if (entry.getEtag() != null) {
+        requestHeaders = requestHeaders.with(HttpHeaders.IF_NONE_MATCH, entry.getEtag());
+      }
+      if (entry.getLastModified() != null) {
+        requestHeaders = requestHeaders.with(HttpHeaders.IF_MODIFIED_SINCE, entry.getLastModified());
+      }
+    }
+    return executeCoalesced(params, request, requestHeaders).map(response -> {
+      if (entry != null && response.getCode() == HTTP_NOT_MODIFIED) {
+        cache.refresh(entry);
+        return entry.getResponse();
+      }
+      cache.put(key, request.getUrl(), response);
+      return response;
+    });
+  }
+
+  private static Future<WrappedResponse> executeCoalesced(OkapiConnectionParams params, RestRequest request, RequestHeaders headers) {
+    if (request.isCoalesced() && request.getMethod() == HttpMethod.GET) {
+      return COALESCED_REQUESTS.execute(getCoalescingKey(params, request, headers), () -> executeWithRetry(params, request, headers));
+    }
+    return executeWithRetry(params, request, headers);
+  }
+
+  private static String getCoalescingKey(OkapiConnectionParams params, RestRequest request, RequestHeaders headers) {
+    return params.getTenantId() + '\n' + params.getOkapiUrl() + request.getUrl() + '\n' + headers.getKey();
+  }
+
+  private static Future<WrappedResponse> executeWithRetry(OkapiConnectionParams params, RestRequest request, RequestHeaders headers) {
+    var retryPolicy = Optional.ofNullable(request.getRetryPolicy()).orElse(params.getRetryPolicy());
+    if (retryPolicy == null || !retryPolicy.isRetryable(request.getMethod())) {
+      return sendHedged(params, request, headers);
+    }
+    retryPolicy.getBudget().deposit();
+    return sendWithRetry(Vertx.currentContext().owner(), params, request, headers, retryPolicy, 1);
+  }
+
+  private static Future<WrappedResponse> sendWithRetry(Vertx vertx, OkapiConnectionParams params, RestRequest request,
+                                                       RequestHeaders headers, RetryPolicy retryPolicy, int attempt) {
+    return sendHedged(params, request, headers).transform(ar -> {
+      long delay = retryPolicy.getDelay(attempt);
+      if (attempt < retryPolicy.getMaxAttempts() && retryPolicy.shouldRetry(ar) && !isDeadlineWithin(params, delay)
+        && retryPolicy.getBudget().tryWithdraw()) {
+        LOGGER.warn("sendWithRetry:: Retrying request in {} ms, attempt: {}, url: {}, method: {}, tenant: {}, cause: {}",
+          delay, attempt + 1, request.getUrl(), request.getMethod(), params.getTenantId(),
+          ar.succeeded() ? "response code " + ar.result().getCode() : ar.cause().getMessage());
+        Promise<WrappedResponse> promise = Promise.promise();
+        vertx.setTimer(delay, id -> sendWithRetry(vertx, params, request, headers, retryPolicy, attempt + 1).onComplete(promise));
+        return promise.future();
+      }
+      return ar.succeeded() ? Future.succeededFuture(ar.result()) : Future.failedFuture(ar.cause());
+    });
+  }
+
+  private static Future<WrappedResponse> sendHedged(OkapiConnectionParams params, RestRequest request, RequestHeaders headers) {
+    var hedgingPolicy = Optional.ofNullable(request.getHedgingPolicy()).orElse(params.getHedgingPolicy());
+    if (hedgingPolicy == null || request.getMethod() != HttpMethod.GET) {
+      return sendThroughLimiter(params, request, headers, new RequestTimings());
+    }
+    var latencies = LatencyTracker.forDownstream(params.getOkapiUrl(), request.getUrl());
+    return new HedgedRequestExecutor(Vertx.currentContext().owner(), hedgingPolicy, latencies,
+      timings -> sendThroughLimiter(params, request, headers, timings)).execute();
+  }
+
+  private static Future<WrappedResponse> sendThroughLimiter(OkapiConnectionParams params, RestRequest request,
+                                                            RequestHeaders headers, RequestTimings timings) {
+    var limiter = ConcurrencyLimiterRegistry.getLimiter(params.getOkapiUrl(), request.getUrl());
+    if (limiter == null) {
+      return sendThroughCircuitBreaker(params, request, headers, timings);
+    }
+    return limiter.acquire(params.getDeadline())
+      .onFailure(e -> LOGGER.warn(
+        "sendThroughLimiter:: Request rejected by concurrency limiter '{}', limit: {}, url: {}, method: {}, tenant: {}",
+        limiter.getName(), limiter.getLimit(), request.getUrl(), request.getMethod(), params.getTenantId()))
+      .compose(v -> {
+        long start = System.nanoTime();
+        return sendThroughCircuitBreaker(params, request, headers, timings).onComplete(ar -> {
+          if (timings.isCancelled() || ar.failed() && ar.cause() instanceof CircuitBreakerOpenException) {
+            limiter.onIgnored();
+          } else if (ar.failed() || isOverloaded(ar.result().getCode())) {
+            limiter.onDropped();
+          } else {
+            limiter.onSuccess(System.nanoTime() - start);
+          }
+        });
+      });
+  }
+
+  private static boolean isOverloaded(int code) {
+    return code == HTTP_TOO_MANY_REQUESTS || code >= HTTP_INTERNAL_SERVER_ERROR.toInt();
+  }
+
+  private static Future<WrappedResponse> sendThroughCircuitBreaker(OkapiConnectionParams params, RestRequest request,
+                                                                   RequestHeaders headers, RequestTimings timings) {
+    var deadline = params.getDeadline();
+    if (deadline != null && deadline.isExpired()) {
+      LOGGER.warn("sendThroughCircuitBreaker:: Deadline exceeded before request was sent, url: {}, method: {}, tenant: {}",
+        request.getUrl(), request.getMethod(), params.getTenantId());
+      return Future.failedFuture(new DeadlineExceededException("Deadline exceeded before request was sent"));
+    }
+    var circuitBreaker = CircuitBreakerRegistry.getCircuitBreaker(params.getOkapiUrl(), request.getUrl());
+    if (circuitBreaker == null) {
+      return send(params, request, headers, timings);
+    }
+    if (!circuitBreaker.tryAcquirePermission()) {
+      LOGGER.warn("sendThroughCircuitBreaker:: Request rejected by open circuit breaker '{}', url: {}, method: {}, tenant: {}",
+        circuitBreaker.getName(), request.getUrl(), request.getMethod(), params.getTenantId());
+      return Future.failedFuture(new CircuitBreakerOpenException(
+        String.format("Circuit breaker '%s' is open", circuitBreaker.getName())));
+    }
+    long start = System.nanoTime();
+    return send(params, request, headers, timings).onComplete(ar -> {
+      // a cancelled request lost to its hedged twin, so its outcome says nothing about the downstream
+      if (timings.isCancelled()) {
+        circuitBreaker.onIgnored();
+      } else {
+        circuitBreaker.onResult(ar.failed() || ar.result().getCode() >= HTTP_INTERNAL_SERVER_ERROR.toInt(),
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+      }
+    });
+  }
+
+  private static Future<WrappedResponse> send(OkapiConnectionParams params, RestRequest restRequest, RequestHeaders headers,
+                                              RequestTimings timings) {
     Promise<WrappedResponse> promise = Promise.promise();
 
     try {
-    var requestUrl = params.getOkapiUrl() + url;
-    var client = WebClient.wrap(getHttpClient(params));
-    var request = client.requestAbs(method, requestUrl);
-
-    Optional.ofNullable(headers)
-      .ifPresent(h -> {
-        h.add("Content-type", "application/json")
-          .add("Accept", "application/json, text/plain");
-        h.entries()
-          .forEach(entry -> request.putHeader(entry.getKey(), entry.getValue()));
-      });
+      var vertx = Vertx.currentContext().owner();
+      var requestUrl = params.getOkapiUrl() + restRequest.getUrl();
+      var client = HttpClientRegistry.forVertx(vertx).getWebClient(params);
+      var request = client.requestAbs(restRequest.getMethod(), requestUrl);
 
-      if (method == HttpMethod.PUT || method == HttpMethod.POST) {
-        var buffer = Buffer.buffer(new ObjectMapper().writeValueAsString(payload));
-        request.sendBuffer(buffer, handleResponse(promise));
+      headers.applyTo(request);
+      if (RequestCompression.isExcluded(restRequest.getUrl())) {
+        request.putHeader(RequestCompression.ACCEPT_ENCODING, RequestCompression.IDENTITY);
+      }
+      var deadline = params.getDeadline();
+      if (deadline != null && params.isDeadlinePropagated()) {
+        request.putHeader(Deadline.DEADLINE_HEADER, String.valueOf(deadline.getRemainingMillis()));
+      }
+
+      timings.bind(request);
+      setRequestTimeout(vertx, params, restRequest.getUrl(), restRequest.getMethod(), promise, cause -> timings.abort());
+      if (restRequest.getMethod() == HttpMethod.PUT || restRequest.getMethod() == HttpMethod.POST) {
+        var buffer = restRequest.getEncodedBody() != null ? restRequest.getEncodedBody() : encodePayload(restRequest);
+        if (restRequest.getContentEncoding() != null) {
+          request.putHeader(RequestCompression.CONTENT_ENCODING, restRequest.getContentEncoding());
+        }
+        RestClientMetrics.onStart(restRequest.getMethod(), restRequest.getUrl());
+        request.sendBuffer(buffer, handleResponse(promise, params, restRequest, timings, buffer.length()));
       } else {
-        request.send(handleResponse(promise));
+        RestClientMetrics.onStart(restRequest.getMethod(), restRequest.getUrl());
+        request.send(handleResponse(promise, params, restRequest, timings, 0));
       }
+      timings.unbind(request);
     } catch (Exception e) {
       promise.fail(e);
     }
     return promise.future();
   }
 
+  private static Buffer encodePayload(RestRequest request) throws IOException {
+    return request.getCodec() != null
+      ? PayloadEncoder.encode(request.getPayload(), request.getCodec())
+      : PayloadEncoder.encode(request.getPayload());
+  }
+
   /**
-   * Prepare HttpClient from OkapiConnection params
-   *
-   * @param params - Okapi connection params
-   * @return - Vertx Http Client
+   * Compresses request body and returns request copy with the compressed body if compression reduces its size.
    */
-  private static HttpClient getHttpClient(OkapiConnectionParams params) {
-    HttpClientOptions options = new HttpClientOptions();
-    options.setConnectTimeout(params.getTimeout());
-    options.setIdleTimeout(params.getTimeout());
-    return Vertx.currentContext().owner().createHttpClient(options);
+  private static RestRequest compress(RestRequest request, Buffer body, CompressionOptions compressionOptions)
+    throws IOException {
+    var compressed = RequestCompression.compress(body, compressionOptions);
+    RestClientMetrics.onCompressed(request.getMethod(), request.getUrl(), body.length(), compressed.length());
+    if (compressed.length() >= body.length()) {
+      return request.withEncodedBody(body, null);
+    }
+    return request.withEncodedBody(compressed, compressionOptions.getEncoding().getValue());
+  }
+
+  /**
+   * Fails the request when the request timeout or the deadline of params is reached, whichever is earlier,
+   * and aborts the underlying http request.
+   */
+  private static void setRequestTimeout(Vertx vertx, OkapiConnectionParams params, String url, HttpMethod method,
+                                        Promise<?> promise, Handler<Throwable> abort) {
+    long requestTimeout = params.getRequestTimeout();
+    var deadline = params.getDeadline();
+    long remaining = deadline != null ? deadline.getRemainingMillis() : Long.MAX_VALUE;
+    if (requestTimeout <= 0 && deadline == null) {
+      return;
+    }
+    boolean deadlineFirst = requestTimeout <= 0 || remaining < requestTimeout;
+    long timeout = Math.max(1, deadlineFirst ? remaining : requestTimeout);
+    long timerId = vertx.setTimer(timeout, id -> {
+      var cause = deadlineFirst
+        ? new DeadlineExceededException("Deadline exceeded after " + timeout + " ms")
+        : new TimeoutException("Request timeout of " + timeout + " ms exceeded");
+      if (promise.tryFail(cause)) {
+        LOGGER.warn("setRequestTimeout:: {}, url: {}, method: {}, tenant: {}",
+          cause.getMessage(), url, method, params.getTenantId());
+        abort.handle(cause);
+      }
+    });
+    promise.future().onComplete(ar -> vertx.cancelTimer(timerId));
+  }
+
+  private static boolean isDeadlineWithin(OkapiConnectionParams params, long delay) {
+    var deadline = params.getDeadline();
+    return deadline != null && deadline.getRemainingMillis() <= delay;
   }
 
   /**
@@ -201,6 +743,20 @@ public final class RestUtil {
     return result;
   }
 
+  static boolean isSuccessCode(int code) {
+    return code == HTTP_OK.toInt() || code == HTTP_CREATED.toInt() || code == HTTP_NO_CONTENT.toInt();
+  }
+
+  static RuntimeException mapStatusToException(int code) {
+    if (code == HTTP_NOT_FOUND.toInt()) {
+      return new NotFoundException();
+    }
+    if (code == HTTP_INTERNAL_SERVER_ERROR.toInt()) {
+      return new InternalServerErrorException();
+    }
+    return new BadRequestException();
+  }
+
   private static int getCode(AsyncResult<WrappedResponse> asyncResult) {
     return asyncResult.result().getCode();
   }
@@ -215,13 +771,26 @@ public final class RestUtil {
     return getCode(asyncResult) == status.toInt();
   }
 
-  private static Handler<AsyncResult<HttpResponse<Buffer>>> handleResponse(Promise<WrappedResponse> promise) {
+  private static Handler<AsyncResult<HttpResponse<Buffer>>> handleResponse(Promise<WrappedResponse> promise,
+                                                                           OkapiConnectionParams params,
+                                                                           RestRequest request, RequestTimings timings,
+                                                                           long requestBytes) {
     return ar -> {
+      timings.finish();
       if (ar.succeeded()) {
-        WrappedResponse wr = new WrappedResponse(ar.result().statusCode(), ar.result().bodyAsString(), ar.result());
-        promise.complete(wr);
+        var body = ar.result().body();
+        RestClientMetrics.onCompleted(request.getMethod(), request.getUrl(), timings, ar.result().statusCode(),
+          requestBytes, body != null ? body.length() : 0);
+        SlowRequestLog.onRequestEnd(params.getTenantId(), request.getMethod(), request.getUrl(), ar.result().statusCode(), timings);
+        promise.tryComplete(new WrappedResponse(ar.result(), timings));
       } else {
-        promise.fail(ar.cause());
+        if (timings.isCancelled()) {
+          RestClientMetrics.onCancelled(request.getMethod(), request.getUrl(), timings);
+        } else {
+          RestClientMetrics.onFailed(request.getMethod(), request.getUrl(), timings, ar.cause());
+          SlowRequestLog.onRequestEnd(params.getTenantId(), request.getMethod(), request.getUrl(), -1, timings);
+        }
+        promise.tryFail(ar.cause());
       }
     };
   }
@@ -0,0 +1,62 @@
+package org.folio.dataimport.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits the number of retries relative to the number of requests to prevent retry storms.
+ * <p>
+ * Each retryable request deposits {@code ratio} of a token, each retry withdraws one token.
+ * So with ratio 0.1 at most 10% of requests are retried in the long run, the initial balance
+ * allows retries right after startup and balance never exceeds {@code maxTokens}.
+ */
+public class RetryBudget {
+
+  private static final long TOKEN = 1000;
+  private static volatile RetryBudget defaultBudget = new RetryBudget(0.1, 10, 100);
+
+  private final long deposit;
+  private final long maxBalance;
+  private final AtomicLong balance;
+
+  /**
+   * @param ratio         part of a token deposited per request
+   * @param initialTokens initial number of tokens
+   * @param maxTokens     max number of tokens
+   */
+  public RetryBudget(double ratio, int initialTokens, int maxTokens) {
+    if (ratio < 0 || initialTokens < 0 || maxTokens < initialTokens) {
+      throw new IllegalArgumentException("ratio and initialTokens must be >= 0 and maxTokens must be >= initialTokens");
+    }
+    this.deposit = (long) (ratio * TOKEN);
+    this.maxBalance = maxTokens * TOKEN;
+    this.balance = new AtomicLong(initialTokens * TOKEN);
+  }
+
+  /**
+   * Returns budget shared by all retry policies which do not specify their own budget.
+   *
+   * @return global retry budget
+   */
+  public static RetryBudget getDefault() {
+    return defaultBudget;
+  }
+
+  public static void setDefault(RetryBudget budget) {
+    defaultBudget = budget;
+  }
+
+  void deposit() {
+    balance.accumulateAndGet(deposit, (current, value) -> Math.min(maxBalance, current + value));
+  }
+
+  boolean tryWithdraw() {
+    long current;
+    do {
+      current = balance.get();
+      if (current < TOKEN) {
+        return false;
+      }
+    } while (!balance.compareAndSet(current, current - TOKEN));
+    return true;
+  }
+}
@@ -0,0 +1,214 @@
+package org.folio.dataimport.util;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.http.HttpClosedException;
+import io.vertx.core.http.HttpMethod;
+import org.folio.dataimport.util.RestUtil.WrappedResponse;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Policy of retrying failed requests sent via {@link RestUtil}.
+ * <p>
+ * A request is retried if it failed with one of retryable exceptions or its response has one of retryable
+ * status codes. Delay before each retry grows exponentially and is randomized with jitter.
+ * Only idempotent methods (GET, HEAD, OPTIONS, PUT, DELETE) are retried unless non-idempotent retries are enabled.
+ * Every retry is also subject to the {@link RetryBudget} of the policy.
+ */
+public class RetryPolicy {
+
+  public static final int DEFAULT_MAX_ATTEMPTS = 3;
+  public static final long DEFAULT_INITIAL_DELAY = 100;
+  public static final long DEFAULT_MAX_DELAY = 5000;
+  public static final double DEFAULT_MULTIPLIER = 2.0;
+  public static final double DEFAULT_JITTER = 0.5;
+  public static final Set<Integer> DEFAULT_RETRYABLE_STATUS_CODES = Set.of(502, 503, 504);
+  public static final List<Class<? extends Throwable>> DEFAULT_RETRYABLE_EXCEPTIONS =
+    List.of(IOException.class, TimeoutException.class, HttpClosedException.class);
+  private static final Set<HttpMethod> IDEMPOTENT_METHODS =
+    Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.PUT, HttpMethod.DELETE);
+
+  private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+  private long initialDelay = DEFAULT_INITIAL_DELAY;
+  private long maxDelay = DEFAULT_MAX_DELAY;
+  private double multiplier = DEFAULT_MULTIPLIER;
+  private double jitter = DEFAULT_JITTER;
+  private Set<Integer> retryableStatusCodes = DEFAULT_RETRYABLE_STATUS_CODES;
+  private List<Class<? extends Throwable>> retryableExceptions = DEFAULT_RETRYABLE_EXCEPTIONS;
+  private boolean retryNonIdempotent;
+  private RetryBudget budget;
+
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  /**
+   * Sets max number of attempts including the first one.
+   *
+   * @param maxAttempts max attempts
+   * @return this policy
+   */
+  public RetryPolicy setMaxAttempts(int maxAttempts) {
+    if (maxAttempts < 1) {
+      throw new IllegalArgumentException("maxAttempts must be > 0");
+    }
+    this.maxAttempts = maxAttempts;
+    return this;
+  }
+
+  public long getInitialDelay() {
+    return initialDelay;
+  }
+
+  /**
+   * Sets delay in milliseconds before the first retry.
+   *
+   * @param initialDelay initial delay
+   * @return this policy
+   */
+  public RetryPolicy setInitialDelay(long initialDelay) {
+    if (initialDelay < 1) {
+      throw new IllegalArgumentException("initialDelay must be > 0");
+    }
+    this.initialDelay = initialDelay;
+    return this;
+  }
+
+  public long getMaxDelay() {
+    return maxDelay;
+  }
+
+  /**
+   * Sets max delay in milliseconds between retries.
+   *
+   * @param maxDelay max delay
+   * @return this policy
+   */
+  public RetryPolicy setMaxDelay(long maxDelay) {
+    if (maxDelay < 1) {
+      throw new IllegalArgumentException("maxDelay must be > 0");
+    }
+    this.maxDelay = maxDelay;
+    return this;
+  }
+
+  public double getMultiplier() {
+    return multiplier;
+  }
+
+  public RetryPolicy setMultiplier(double multiplier) {
+    if (multiplier < 1) {
+      throw new IllegalArgumentException("multiplier must be >= 1");
+    }
+    this.multiplier = multiplier;
+    return this;
+  }
+
+  public double getJitter() {
+    return jitter;
+  }
+
+  /**
+   * Sets part of the delay which is randomized, 0 means no jitter, 1 means the delay is random
+   * between 0 and the exponential delay.
+   *
+   * @param jitter jitter between 0 and 1
+   * @return this policy
+   */
+  public RetryPolicy setJitter(double jitter) {
+    if (jitter < 0 || jitter > 1) {
+      throw new IllegalArgumentException("jitter must be between 0 and 1");
+    }
+    this.jitter = jitter;
+    return this;
+  }
+
+  public Set<Integer> getRetryableStatusCodes() {
+    return retryableStatusCodes;
+  }
+
+  public RetryPolicy setRetryableStatusCodes(Set<Integer> retryableStatusCodes) {
+    this.retryableStatusCodes = Set.copyOf(retryableStatusCodes);
+    return this;
+  }
+
+  public List<Class<? extends Throwable>> getRetryableExceptions() {
+    return retryableExceptions;
+  }
+
+  /**
+   * Sets exception classes which are retried, an exception is retried if it or any of its causes
+   * is an instance of one of these classes.
+   *
+   * @param retryableExceptions retryable exception classes
+   * @return this policy
+   */
+  public RetryPolicy setRetryableExceptions(List<Class<? extends Throwable>> retryableExceptions) {
+    this.retryableExceptions = List.copyOf(retryableExceptions);
+    return this;
+  }
+
+  public boolean isRetryNonIdempotent() {
+    return retryNonIdempotent;
+  }
+
+  /**
+   * Enables retries of non-idempotent requests, e.g. POST.
+   * Should be enabled only if the target endpoint handles duplicate requests.
+   *
+   * @param retryNonIdempotent whether non-idempotent requests are retried
+   * @return this policy
+   */
+  public RetryPolicy setRetryNonIdempotent(boolean retryNonIdempotent) {
+    this.retryNonIdempotent = retryNonIdempotent;
+    return this;
+  }
+
+  /**
+   * Returns budget of this policy, {@link RetryBudget#getDefault()} if not set.
+   *
+   * @return retry budget
+   */
+  public RetryBudget getBudget() {
+    return budget != null ? budget : RetryBudget.getDefault();
+  }
+
+  public RetryPolicy setBudget(RetryBudget budget) {
+    this.budget = budget;
+    return this;
+  }
+
+  boolean isRetryable(HttpMethod method) {
+    return retryNonIdempotent || IDEMPOTENT_METHODS.contains(method);
+  }
+
+  boolean shouldRetry(AsyncResult<WrappedResponse> result) {
+    if (result.succeeded()) {
+      return result.result() != null && retryableStatusCodes.contains(result.result().getCode());
+    }
+    for (Throwable cause = result.cause(); cause != null; cause = cause.getCause()) {
+      for (Class<? extends Throwable> retryableException : retryableExceptions) {
+        if (retryableException.isInstance(cause)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Calculates delay before the retry following the specified attempt.
+   *
+   * @param attempt number of the failed attempt starting from 1
+   * @return delay in milliseconds
+   */
+  long getDelay(int attempt) {
+    double exponentialDelay = Math.min(maxDelay, initialDelay * Math.pow(multiplier, attempt - 1.0));
+    double randomPart = exponentialDelay * jitter * ThreadLocalRandom.current().nextDouble();
+    return Math.max(1, Math.round(exponentialDelay - randomPart));
+  }
+}
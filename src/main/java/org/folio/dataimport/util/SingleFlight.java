@@ -0,0 +1,63 @@
+package org.folio.dataimport.util;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent requests: while a request with some key is in flight,
+ * other requests with the same key do not send anything and receive the result of the in-flight request.
+ *
+ * @param <T> type of the request result
+ */
+final class SingleFlight<T> {
+
+  private final Map<String, Future<T>> inFlightRequests = new ConcurrentHashMap<>();
+
+  /**
+   * Executes request or joins identical request in flight.
+   *
+   * @param key     key identifying identical requests
+   * @param request request to execute if there is no identical request in flight
+   * @return future of the request result, shared between coalesced requests
+   */
+  Future<T> execute(String key, Supplier<Future<T>> request) {
+    Promise<T> promise = Promise.promise();
+    Future<T> inFlight = inFlightRequests.putIfAbsent(key, promise.future());
+    if (inFlight != null) {
+      return joinOnCurrentContext(inFlight);
+    }
+    try {
+      request.get().onComplete(ar -> {
+        inFlightRequests.remove(key, promise.future());
+        promise.handle(ar);
+      });
+    } catch (Exception e) {
+      inFlightRequests.remove(key, promise.future());
+      promise.fail(e);
+    }
+    return promise.future();
+  }
+
+  /**
+   * Result of the in-flight request is delivered on the context of the request which joined it,
+   * the in-flight request may have been sent from another event loop.
+   */
+  private Future<T> joinOnCurrentContext(Future<T> inFlight) {
+    Context context = Vertx.currentContext();
+    Promise<T> promise = Promise.promise();
+    inFlight.onComplete(ar -> {
+      if (context == null || context == Vertx.currentContext()) {
+        promise.handle(ar);
+      } else {
+        context.runOnContext(v -> promise.handle(ar));
+      }
+    });
+    return promise.future();
+  }
+}
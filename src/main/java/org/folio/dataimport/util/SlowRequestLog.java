@@ -0,0 +1,60 @@
+package org.folio.dataimport.util;
+
+import io.vertx.core.http.HttpMethod;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Log of slow requests sent via {@link RestUtil} with their phase timings.
+ * <p>
+ * Slow requests are sampled and number of entries per second is limited, so the log can be kept enabled
+ * under production load. The log is disabled until options are set via {@link #setOptions(SlowRequestLogOptions)}.
+ */
+public final class SlowRequestLog {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+  private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+  private static final AtomicLong WINDOW_START = new AtomicLong(System.nanoTime());
+  private static final AtomicInteger WINDOW_ENTRIES = new AtomicInteger();
+  private static volatile SlowRequestLogOptions options;
+
+  private SlowRequestLog() {
+  }
+
+  /**
+   * Enables slow request log with specified options or disables it if options are null.
+   *
+   * @param slowRequestLogOptions slow request log options
+   */
+  public static void setOptions(SlowRequestLogOptions slowRequestLogOptions) {
+    options = slowRequestLogOptions;
+  }
+
+  static void onRequestEnd(String tenantId, HttpMethod method, String url, int statusCode, RequestTimings timings) {
+    SlowRequestLogOptions currentOptions = options;
+    if (currentOptions == null
+      || TimeUnit.NANOSECONDS.toMillis(timings.getDurationNanos()) < currentOptions.getThreshold()
+      || ThreadLocalRandom.current().nextDouble() >= currentOptions.getSampleRate()
+      || !tryAcquire(currentOptions.getMaxEntriesPerSecond())) {
+      return;
+    }
+    String loggedUrl = url.length() > currentOptions.getMaxUrlLength()
+      ? url.substring(0, currentOptions.getMaxUrlLength()) + "..." : url;
+    LOGGER.warn("onRequestEnd:: Slow request, tenant: {}, method: {}, url: {}, status: {}, {}",
+      tenantId, method, loggedUrl, statusCode > 0 ? statusCode : "failed", timings);
+  }
+
+  private static boolean tryAcquire(int maxEntriesPerSecond) {
+    long now = System.nanoTime();
+    long windowStart = WINDOW_START.get();
+    if (now - windowStart >= WINDOW_NANOS && WINDOW_START.compareAndSet(windowStart, now)) {
+      WINDOW_ENTRIES.set(0);
+    }
+    return WINDOW_ENTRIES.incrementAndGet() <= maxEntriesPerSecond;
+  }
+}
@@ -0,0 +1,89 @@
+package org.folio.dataimport.util;
+
+/**
+ * Options of {@link SlowRequestLog}.
+ */
+public class SlowRequestLogOptions {
+
+  public static final long DEFAULT_THRESHOLD = 5000;
+  public static final double DEFAULT_SAMPLE_RATE = 1.0;
+  public static final int DEFAULT_MAX_ENTRIES_PER_SECOND = 10;
+  public static final int DEFAULT_MAX_URL_LENGTH = 256;
+
+  private long threshold = DEFAULT_THRESHOLD;
+  private double sampleRate = DEFAULT_SAMPLE_RATE;
+  private int maxEntriesPerSecond = DEFAULT_MAX_ENTRIES_PER_SECOND;
+  private int maxUrlLength = DEFAULT_MAX_URL_LENGTH;
+
+  public long getThreshold() {
+    return threshold;
+  }
+
+  /**
+   * Sets duration in milliseconds above which a request is logged.
+   *
+   * @param threshold slow request threshold
+   * @return this options
+   */
+  public SlowRequestLogOptions setThreshold(long threshold) {
+    if (threshold < 0) {
+      throw new IllegalArgumentException("threshold must be >= 0");
+    }
+    this.threshold = threshold;
+    return this;
+  }
+
+  public double getSampleRate() {
+    return sampleRate;
+  }
+
+  /**
+   * Sets part of slow requests which are logged.
+   *
+   * @param sampleRate sample rate between 0 and 1
+   * @return this options
+   */
+  public SlowRequestLogOptions setSampleRate(double sampleRate) {
+    if (sampleRate < 0 || sampleRate > 1) {
+      throw new IllegalArgumentException("sampleRate must be between 0 and 1");
+    }
+    this.sampleRate = sampleRate;
+    return this;
+  }
+
+  public int getMaxEntriesPerSecond() {
+    return maxEntriesPerSecond;
+  }
+
+  /**
+   * Sets max number of log entries written per second, slow requests above this rate are not logged.
+   *
+   * @param maxEntriesPerSecond max log entries per second
+   * @return this options
+   */
+  public SlowRequestLogOptions setMaxEntriesPerSecond(int maxEntriesPerSecond) {
+    if (maxEntriesPerSecond < 1) {
+      throw new IllegalArgumentException("maxEntriesPerSecond must be > 0");
+    }
+    this.maxEntriesPerSecond = maxEntriesPerSecond;
+    return this;
+  }
+
+  public int getMaxUrlLength() {
+    return maxUrlLength;
+  }
+
+  /**
+   * Sets max length of logged URL, longer URLs are truncated.
+   *
+   * @param maxUrlLength max URL length
+   * @return this options
+   */
+  public SlowRequestLogOptions setMaxUrlLength(int maxUrlLength) {
+    if (maxUrlLength < 1) {
+      throw new IllegalArgumentException("maxUrlLength must be > 0");
+    }
+    this.maxUrlLength = maxUrlLength;
+    return this;
+  }
+}
@@ -0,0 +1,105 @@
+package org.folio.dataimport.util;
+
+import java.util.regex.Pattern;
+
+/**
+ * Sort key of keyset pagination, see {@link DaoUtil#getKeysetQuery(String, String, String, java.util.List, String, int)}.
+ * <p>
+ * Key values are compared with SQL type of the key, so e.g. numeric jsonb fields are ordered as numbers.
+ * Key values are expected to be not null.
+ */
+public final class SortKey {
+
+  public enum Direction {
+    ASC, DESC
+  }
+
+  private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_]\\w*");
+
+  private final String field;
+  private final boolean column;
+  private final String sqlType;
+  private final Direction direction;
+
+  private SortKey(String field, boolean column, String sqlType, Direction direction) {
+    if (field == null || field.isEmpty()) {
+      throw new IllegalArgumentException("field must not be empty");
+    }
+    if (column && !IDENTIFIER.matcher(field).matches()) {
+      throw new IllegalArgumentException("Invalid column name: " + field);
+    }
+    if (sqlType == null || !IDENTIFIER.matcher(sqlType).matches()) {
+      throw new IllegalArgumentException("Invalid sql type: " + sqlType);
+    }
+    this.field = field;
+    this.column = column;
+    this.sqlType = sqlType;
+    this.direction = direction != null ? direction : Direction.ASC;
+  }
+
+  /**
+   * Creates sort key by text field of the jsonb column.
+   *
+   * @param field     jsonb field name
+   * @param direction sort direction
+   * @return sort key
+   */
+  public static SortKey field(String field, Direction direction) {
+    return new SortKey(field, false, "text", direction);
+  }
+
+  /**
+   * Creates sort key by field of the jsonb column compared as the specified SQL type, e.g. numeric or timestamptz.
+   *
+   * @param field     jsonb field name
+   * @param sqlType   SQL type of field values
+   * @param direction sort direction
+   * @return sort key
+   */
+  public static SortKey field(String field, String sqlType, Direction direction) {
+    return new SortKey(field, false, sqlType, direction);
+  }
+
+  /**
+   * Creates sort key by table column, e.g. {@code id} with {@code uuid} type,
+   * which is usually the last key making the sort order unique.
+   *
+   * @param column    column name
+   * @param sqlType   SQL type of the column
+   * @param direction sort direction
+   * @return sort key
+   */
+  public static SortKey column(String column, String sqlType, Direction direction) {
+    return new SortKey(column, true, sqlType, direction);
+  }
+
+  public String getField() {
+    return field;
+  }
+
+  public boolean isColumn() {
+    return column;
+  }
+
+  public String getSqlType() {
+    return sqlType;
+  }
+
+  public Direction getDirection() {
+    return direction;
+  }
+
+  /**
+   * Returns SQL expression of the key for the specified table.
+   *
+   * @param tableName table name
+   * @return SQL expression
+   */
+  String toSql(String tableName) {
+    if (column) {
+      return tableName + '.' + field;
+    }
+    String expression = tableName + ".jsonb->>'" + field.replace("'", "''") + "'";
+    return "text".equals(sqlType) ? '(' + expression + ')' : "((" + expression + ")::" + sqlType + ')';
+  }
+}
@@ -0,0 +1,192 @@
+package org.folio.dataimport.util;
+
+import io.vertx.core.Future;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.dataimport.util.RestUtil.WrappedResponse;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import static org.folio.dataimport.util.RestUtil.OKAPI_TOKEN_HEADER;
+
+/**
+ * Token provider which logs in as the system user of a tenant and caches received tokens per Okapi URL and tenant.
+ * <p>
+ * A cached token is refreshed in background {@link SystemUserTokenProviderOptions#getRefreshAhead()} milliseconds
+ * before its expiration, while requests keep using it, so login round-trips are not on the request path
+ * except for the first request of a tenant. Concurrent logins for the same tenant are coalesced into one.
+ * A failed background refresh is attempted again after {@link SystemUserTokenProviderOptions#getRefreshRetryDelay()}
+ * milliseconds doubled with each consecutive failure.
+ */
+public class SystemUserTokenProvider implements TokenProvider {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+  private static final String ACCESS_TOKEN_COOKIE = "folioAccessToken";
+  private static final String ACCESS_TOKEN_EXPIRATION = "accessTokenExpiration";
+  private static final String MAX_AGE_ATTRIBUTE = "max-age";
+  private static final int MAX_BACKOFF_SHIFT = 10;
+
+  private final Function<String, Credentials> credentialsProvider;
+  private final SystemUserTokenProviderOptions options;
+  private final LongSupplier clock;
+  private final Map<String, CachedToken> tokens = new ConcurrentHashMap<>();
+  private final SingleFlight<CachedToken> logins = new SingleFlight<>();
+
+  /**
+   * @param credentialsProvider returns system user credentials of the tenant with specified id
+   * @param options             token provider options
+   */
+  public SystemUserTokenProvider(Function<String, Credentials> credentialsProvider, SystemUserTokenProviderOptions options) {
+    this(credentialsProvider, options, System::currentTimeMillis);
+  }
+
+  SystemUserTokenProvider(Function<String, Credentials> credentialsProvider, SystemUserTokenProviderOptions options,
+                          LongSupplier clock) {
+    this.credentialsProvider = credentialsProvider;
+    this.options = options != null ? options : new SystemUserTokenProviderOptions();
+    this.clock = clock;
+  }
+
+  @Override
+  public Future<String> getToken(OkapiConnectionParams params) {
+    String key = getKey(params);
+    CachedToken cachedToken = tokens.get(key);
+    long now = clock.getAsLong();
+    if (cachedToken != null && now < cachedToken.expiresAt()) {
+      if (now >= cachedToken.refreshAt()) {
+        refresh(key, params).onFailure(e -> {
+          LOGGER.warn("getToken:: Failed to refresh system user token for tenant: {}", params.getTenantId(), e);
+          tokens.replace(key, cachedToken, cachedToken.withRefreshFailure(clock.getAsLong(), options.getRefreshRetryDelay()));
+        });
+      }
+      return Future.succeededFuture(cachedToken.token());
+    }
+    return refresh(key, params).map(CachedToken::token);
+  }
+
+  @Override
+  public void invalidate(OkapiConnectionParams params) {
+    LOGGER.debug("invalidate:: Discarding system user token for tenant: {}", params.getTenantId());
+    tokens.remove(getKey(params));
+  }
+
+  @Override
+  public void invalidate(OkapiConnectionParams params, String rejectedToken) {
+    String key = getKey(params);
+    CachedToken cachedToken = tokens.get(key);
+    if (cachedToken != null && cachedToken.token().equals(rejectedToken) && tokens.remove(key, cachedToken)) {
+      LOGGER.debug("invalidate:: Discarded rejected system user token for tenant: {}", params.getTenantId());
+    }
+  }
+
+  private Future<CachedToken> refresh(String key, OkapiConnectionParams params) {
+    return logins.execute(key, () -> login(params).onSuccess(token -> tokens.put(key, token)));
+  }
+
+  private Future<CachedToken> login(OkapiConnectionParams params) {
+    Credentials credentials = credentialsProvider.apply(params.getTenantId());
+    if (credentials == null) {
+      return Future.failedFuture(new IllegalStateException("No system user credentials for tenant: " + params.getTenantId()));
+    }
+    LOGGER.debug("login:: Logging in as system user '{}' for tenant: {}", credentials.username(), params.getTenantId());
+    var payload = new JsonObject()
+      .put("username", credentials.username())
+      .put("password", credentials.password());
+    var headers = RequestHeaders.of(params.getHeaders(), OKAPI_TOKEN_HEADER);
+    return RestUtil.doRequest(params, new RestRequest(options.getLoginPath(), HttpMethod.POST, payload), headers)
+      .compose(response -> {
+        if (!RestUtil.isSuccessCode(response.getCode())) {
+          LOGGER.warn("login:: System user login failed for tenant: {}, response code: {}", params.getTenantId(), response.getCode());
+          return Future.failedFuture(RestUtil.mapStatusToException(response.getCode()));
+        }
+        return toCachedToken(response);
+      });
+  }
+
+  private Future<CachedToken> toCachedToken(WrappedResponse response) {
+    String token = null;
+    long ttl = -1;
+    for (String cookie : response.getResponse().cookies()) {
+      if (cookie.startsWith(ACCESS_TOKEN_COOKIE + '=')) {
+        String[] parts = cookie.split(";");
+        token = parts[0].substring(ACCESS_TOKEN_COOKIE.length() + 1).trim();
+        ttl = getMaxAge(parts);
+      }
+    }
+    if (token == null) {
+      token = response.getResponse().getHeader(OKAPI_TOKEN_HEADER);
+    }
+    if (token == null || token.isEmpty()) {
+      return Future.failedFuture(new IllegalStateException("Login response does not contain token"));
+    }
+
+    long now = clock.getAsLong();
+    long expiresAt = getExpiration(response.getJson());
+    if (expiresAt <= now) {
+      expiresAt = now + (ttl > 0 ? ttl : options.getDefaultTokenTtl());
+    }
+    long refreshAhead = Math.min(options.getRefreshAhead(), (expiresAt - now) / 2);
+    return Future.succeededFuture(new CachedToken(token, expiresAt, expiresAt - refreshAhead, 0));
+  }
+
+  private static long getMaxAge(String[] cookieParts) {
+    for (int i = 1; i < cookieParts.length; i++) {
+      String[] attribute = cookieParts[i].trim().split("=", 2);
+      if (attribute.length == 2 && MAX_AGE_ATTRIBUTE.equalsIgnoreCase(attribute[0])) {
+        try {
+          return Long.parseLong(attribute[1].trim()) * 1000;
+        } catch (NumberFormatException e) {
+          return -1;
+        }
+      }
+    }
+    return -1;
+  }
+
+  private static long getExpiration(JsonObject body) {
+    String expiration = body != null ? body.getString(ACCESS_TOKEN_EXPIRATION) : null;
+    if (expiration == null) {
+      return -1;
+    }
+    try {
+      return Instant.parse(expiration).toEpochMilli();
+    } catch (DateTimeParseException e) {
+      return -1;
+    }
+  }
+
+  private static String getKey(OkapiConnectionParams params) {
+    return params.getOkapiUrl() + '\n' + params.getTenantId();
+  }
+
+  /**
+   * System user credentials.
+   *
+   * @param username system user name
+   * @param password system user password
+   */
+  public record Credentials(String username, String password) {
+  }
+
+  private record CachedToken(String token, long expiresAt, long refreshAt, int refreshFailures) {
+
+    /**
+     * Returns this token with the next refresh attempt postponed after a failed refresh.
+     *
+     * @param now        current time in milliseconds
+     * @param retryDelay delay before the first retry in milliseconds
+     * @return cached token
+     */
+    CachedToken withRefreshFailure(long now, long retryDelay) {
+      long delay = retryDelay << Math.min(refreshFailures, MAX_BACKOFF_SHIFT);
+      return new CachedToken(token, expiresAt, now + delay, refreshFailures + 1);
+    }
+  }
+}
@@ -0,0 +1,91 @@
+package org.folio.dataimport.util;
+
+/**
+ * Configuration of {@link SystemUserTokenProvider}.
+ */
+public class SystemUserTokenProviderOptions {
+
+  public static final String DEFAULT_LOGIN_PATH = "/authn/login-with-expiry";
+  public static final long DEFAULT_REFRESH_AHEAD = 60000;
+  public static final long DEFAULT_TOKEN_TTL = 600000;
+  public static final long DEFAULT_REFRESH_RETRY_DELAY = 5000;
+
+  private String loginPath = DEFAULT_LOGIN_PATH;
+  private long refreshAhead = DEFAULT_REFRESH_AHEAD;
+  private long defaultTokenTtl = DEFAULT_TOKEN_TTL;
+  private long refreshRetryDelay = DEFAULT_REFRESH_RETRY_DELAY;
+
+  public String getLoginPath() {
+    return loginPath;
+  }
+
+  /**
+   * Sets path of the login endpoint, e.g. "/authn/login" for the legacy endpoint returning token in a header.
+   *
+   * @param loginPath login path
+   * @return this options
+   */
+  public SystemUserTokenProviderOptions setLoginPath(String loginPath) {
+    if (loginPath == null || !loginPath.startsWith("/")) {
+      throw new IllegalArgumentException("loginPath must start with '/'");
+    }
+    this.loginPath = loginPath;
+    return this;
+  }
+
+  public long getRefreshAhead() {
+    return refreshAhead;
+  }
+
+  /**
+   * Sets time in milliseconds before token expiration when the token is refreshed in background,
+   * requests keep using the current token until the new one is received.
+   *
+   * @param refreshAhead refresh ahead time in milliseconds
+   * @return this options
+   */
+  public SystemUserTokenProviderOptions setRefreshAhead(long refreshAhead) {
+    if (refreshAhead < 0) {
+      throw new IllegalArgumentException("refreshAhead must be >= 0");
+    }
+    this.refreshAhead = refreshAhead;
+    return this;
+  }
+
+  public long getDefaultTokenTtl() {
+    return defaultTokenTtl;
+  }
+
+  /**
+   * Sets token time to live in milliseconds used when the login response does not specify token expiration.
+   *
+   * @param defaultTokenTtl default token ttl in milliseconds
+   * @return this options
+   */
+  public SystemUserTokenProviderOptions setDefaultTokenTtl(long defaultTokenTtl) {
+    if (defaultTokenTtl <= 0) {
+      throw new IllegalArgumentException("defaultTokenTtl must be > 0");
+    }
+    this.defaultTokenTtl = defaultTokenTtl;
+    return this;
+  }
+
+  public long getRefreshRetryDelay() {
+    return refreshRetryDelay;
+  }
+
+  /**
+   * Sets delay in milliseconds before a failed background refresh is attempted again, the delay is doubled
+   * after each consecutive failure. Requests keep using the current token until it expires.
+   *
+   * @param refreshRetryDelay refresh retry delay in milliseconds
+   * @return this options
+   */
+  public SystemUserTokenProviderOptions setRefreshRetryDelay(long refreshRetryDelay) {
+    if (refreshRetryDelay <= 0) {
+      throw new IllegalArgumentException("refreshRetryDelay must be > 0");
+    }
+    this.refreshRetryDelay = refreshRetryDelay;
+    return this;
+  }
+}
@@ -0,0 +1,41 @@
+package org.folio.dataimport.util;
+
+import io.vertx.core.Future;
+
+/**
+ * Provides tokens for requests sent on behalf of the system user via
+ * {@link RestUtil#doRequestWithSystemUser(OkapiConnectionParams, String, io.vertx.core.http.HttpMethod, Object)}.
+ *
+ * @see SystemUserTokenProvider
+ */
+@FunctionalInterface
+public interface TokenProvider {
+
+  /**
+   * Returns token for the tenant of specified params.
+   *
+   * @param params Okapi connection params
+   * @return future with token
+   */
+  Future<String> getToken(OkapiConnectionParams params);
+
+  /**
+   * Discards cached token of the tenant of specified params, called when a request with the token was rejected with 401.
+   *
+   * @param params Okapi connection params
+   */
+  default void invalidate(OkapiConnectionParams params) {
+  }
+
+  /**
+   * Discards cached token of the tenant of specified params only if it is the rejected token, so a token
+   * obtained after the rejected one is kept when several requests with the rejected token fail concurrently.
+   * By default it calls {@link #invalidate(OkapiConnectionParams)}.
+   *
+   * @param params        Okapi connection params
+   * @param rejectedToken token rejected with 401
+   */
+  default void invalidate(OkapiConnectionParams params, String rejectedToken) {
+    invalidate(params);
+  }
+}
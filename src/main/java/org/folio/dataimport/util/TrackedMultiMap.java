@@ -0,0 +1,185 @@
+package org.folio.dataimport.util;
+
+import io.vertx.core.MultiMap;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Headers of {@link OkapiConnectionParams} which count their modifications, so the precomputed
+ * {@link RequestHeaders} sets are rebuilt after the map returned by {@link OkapiConnectionParams#getHeaders()} is changed.
+ * Iterated entries are copies, headers should be changed with the methods of this map.
+ */
+final class TrackedMultiMap implements MultiMap {
+
+  private final MultiMap delegate;
+  private final AtomicInteger modCount = new AtomicInteger();
+
+  TrackedMultiMap(MultiMap delegate) {
+    this.delegate = delegate;
+  }
+
+  /**
+   * Returns number of modifications made to this map, used to detect that it was changed.
+   *
+   * @return modification count
+   */
+  int getModCount() {
+    return modCount.get();
+  }
+
+  private MultiMap modified() {
+    modCount.incrementAndGet();
+    return this;
+  }
+
+  @Override
+  public String get(CharSequence name) {
+    return delegate.get(name);
+  }
+
+  @Override
+  public String get(String name) {
+    return delegate.get(name);
+  }
+
+  @Override
+  public List<String> getAll(String name) {
+    return delegate.getAll(name);
+  }
+
+  @Override
+  public List<String> getAll(CharSequence name) {
+    return delegate.getAll(name);
+  }
+
+  @Override
+  public boolean contains(String name) {
+    return delegate.contains(name);
+  }
+
+  @Override
+  public boolean contains(CharSequence name) {
+    return delegate.contains(name);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return delegate.isEmpty();
+  }
+
+  @Override
+  public Set<String> names() {
+    return delegate.names();
+  }
+
+  @Override
+  public int size() {
+    return delegate.size();
+  }
+
+  @Override
+  public Iterator<Map.Entry<String, String>> iterator() {
+    return delegate.entries().stream()
+      .map(entry -> Map.entry(entry.getKey(), entry.getValue()))
+      .iterator();
+  }
+
+  @Override
+  public MultiMap add(String name, String value) {
+    delegate.add(name, value);
+    return modified();
+  }
+
+  @Override
+  public MultiMap add(CharSequence name, CharSequence value) {
+    delegate.add(name, value);
+    return modified();
+  }
+
+  @Override
+  public MultiMap add(String name, Iterable<String> values) {
+    delegate.add(name, values);
+    return modified();
+  }
+
+  @Override
+  public MultiMap add(CharSequence name, Iterable<CharSequence> values) {
+    delegate.add(name, values);
+    return modified();
+  }
+
+  @Override
+  public MultiMap addAll(MultiMap map) {
+    delegate.addAll(map);
+    return modified();
+  }
+
+  @Override
+  public MultiMap addAll(Map<String, String> headers) {
+    delegate.addAll(headers);
+    return modified();
+  }
+
+  @Override
+  public MultiMap set(String name, String value) {
+    delegate.set(name, value);
+    return modified();
+  }
+
+  @Override
+  public MultiMap set(CharSequence name, CharSequence value) {
+    delegate.set(name, value);
+    return modified();
+  }
+
+  @Override
+  public MultiMap set(String name, Iterable<String> values) {
+    delegate.set(name, values);
+    return modified();
+  }
+
+  @Override
+  public MultiMap set(CharSequence name, Iterable<CharSequence> values) {
+    delegate.set(name, values);
+    return modified();
+  }
+
+  @Override
+  public MultiMap setAll(MultiMap map) {
+    delegate.setAll(map);
+    return modified();
+  }
+
+  @Override
+  public MultiMap setAll(Map<String, String> headers) {
+    delegate.setAll(headers);
+    return modified();
+  }
+
+  @Override
+  public MultiMap remove(String name) {
+    delegate.remove(name);
+    return modified();
+  }
+
+  @Override
+  public MultiMap remove(CharSequence name) {
+    delegate.remove(name);
+    return modified();
+  }
+
+  @Override
+  public MultiMap clear() {
+    delegate.clear();
+    return modified();
+  }
+
+  @Override
+  public String toString() {
+    return delegate.toString();
+  }
+}
@@ -0,0 +1,56 @@
+package org.folio.dataimport.util.codec;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.vertx.core.buffer.Buffer;
+
+import java.io.IOException;
+
+/**
+ * Codec of request and response bodies of a single content type.
+ * <p>
+ * Codecs are selected by the Content-Type of a response when it is decoded, see {@link CodecRegistry},
+ * and can be set on a {@link org.folio.dataimport.util.RestRequest} to encode its payload, e.g. a binary
+ * encoding for requests between own modules. Implementations must be thread safe.
+ *
+ * @see JacksonCodec
+ */
+public interface Codec {
+
+  /**
+   * Returns media type of bodies produced and accepted by this codec, e.g. "application/json".
+   *
+   * @return media type
+   */
+  String getContentType();
+
+  /**
+   * Encodes payload.
+   *
+   * @param payload payload, may be null
+   * @return encoded payload
+   * @throws IOException if payload cannot be encoded
+   */
+  Buffer encode(Object payload) throws IOException;
+
+  /**
+   * Decodes body to an object of specified class.
+   *
+   * @param body body
+   * @param type target class
+   * @param <T>  target type
+   * @return decoded object
+   * @throws IOException if body cannot be decoded
+   */
+  <T> T decode(Buffer body, Class<T> type) throws IOException;
+
+  /**
+   * Decodes body to an object of specified generic type, e.g. a list of objects.
+   *
+   * @param body body
+   * @param type target type reference
+   * @param <T>  target type
+   * @return decoded object
+   * @throws IOException if body cannot be decoded
+   */
+  <T> T decode(Buffer body, TypeReference<T> type) throws IOException;
+}
@@ -0,0 +1,50 @@
+package org.folio.dataimport.util.codec;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of codecs used to decode responses by their Content-Type.
+ * <p>
+ * {@link JacksonCodec#JSON} is registered by default and is also used for responses without Content-Type
+ * or with a Content-Type without registered codec.
+ */
+public final class CodecRegistry {
+
+  private static final Map<String, Codec> CODECS = new ConcurrentHashMap<>();
+
+  static {
+    register(JacksonCodec.JSON);
+  }
+
+  private CodecRegistry() {
+  }
+
+  /**
+   * Registers codec for its content type, replacing a codec previously registered for the same content type.
+   *
+   * @param codec codec
+   */
+  public static void register(Codec codec) {
+    CODECS.put(normalize(codec.getContentType()), codec);
+  }
+
+  /**
+   * Returns codec for specified Content-Type header value, media type parameters such as charset are ignored.
+   *
+   * @param contentType Content-Type header value, may be null
+   * @return registered codec or json codec if there is no codec for the content type
+   */
+  public static Codec get(String contentType) {
+    if (contentType == null) {
+      return JacksonCodec.JSON;
+    }
+    return CODECS.getOrDefault(normalize(contentType), JacksonCodec.JSON);
+  }
+
+  private static String normalize(String contentType) {
+    int parametersStart = contentType.indexOf(';');
+    String mediaType = parametersStart >= 0 ? contentType.substring(0, parametersStart) : contentType;
+    return mediaType.trim().toLowerCase();
+  }
+}
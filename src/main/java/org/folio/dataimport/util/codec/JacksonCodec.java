@@ -0,0 +1,133 @@
+package org.folio.dataimport.util.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Codec based on a Jackson object mapper, so any Jackson data format can be used, e.g. Smile or CBOR:
+ * <pre>{@code new JacksonCodec(new ObjectMapper(new SmileFactory()), "application/x-jackson-smile")}</pre>
+ * Readers and writers are cached per type, bodies are read from and written to buffers directly,
+ * without intermediate strings. Vert.x {@link JsonObject} and {@link JsonArray} are supported in any data format.
+ */
+public class JacksonCodec implements Codec {
+
+  /**
+   * Json codec, unknown properties are ignored on decoding.
+   */
+  public static final JacksonCodec JSON = new JacksonCodec(
+    new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false), "application/json");
+
+  private static final int INITIAL_BUFFER_CAPACITY = 512;
+
+  private final ObjectMapper mapper;
+  private final String contentType;
+  private final Map<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+  private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+  /**
+   * @param mapper      object mapper, a module supporting Vert.x json types is registered in it,
+   *                    it must not be modified after the codec is created
+   * @param contentType media type of the data format of the mapper
+   */
+  public JacksonCodec(ObjectMapper mapper, String contentType) {
+    this.mapper = mapper.registerModule(createVertxJsonModule());
+    this.contentType = contentType;
+  }
+
+  @Override
+  public String getContentType() {
+    return contentType;
+  }
+
+  @Override
+  public Buffer encode(Object payload) throws IOException {
+    ByteBuf byteBuf = Unpooled.buffer(INITIAL_BUFFER_CAPACITY);
+    try (OutputStream outputStream = new ByteBufOutputStream(byteBuf)) {
+      getWriter(payload).writeValue(outputStream, payload);
+    }
+    return Buffer.buffer(byteBuf);
+  }
+
+  @Override
+  public <T> T decode(Buffer body, Class<T> type) throws IOException {
+    return read(body, readers.computeIfAbsent(type, key -> mapper.readerFor(type)));
+  }
+
+  @Override
+  public <T> T decode(Buffer body, TypeReference<T> type) throws IOException {
+    return read(body, readers.computeIfAbsent(type.getType(), key -> {
+      JavaType javaType = mapper.getTypeFactory().constructType(type);
+      return mapper.readerFor(javaType);
+    }));
+  }
+
+  private <T> T read(Buffer body, ObjectReader reader) throws IOException {
+    if (body == null || body.length() == 0) {
+      return null;
+    }
+    try (InputStream inputStream = new ByteBufInputStream(body.getByteBuf())) {
+      return reader.readValue(inputStream);
+    }
+  }
+
+  private ObjectWriter getWriter(Object payload) {
+    return payload == null ? mapper.writer() : writers.computeIfAbsent(payload.getClass(), mapper::writerFor);
+  }
+
+  private static SimpleModule createVertxJsonModule() {
+    SimpleModule module = new SimpleModule("VertxJsonModule");
+    module.addSerializer(JsonObject.class, new JsonSerializer<>() {
+      @Override
+      public void serialize(JsonObject value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeObject(value.getMap());
+      }
+    });
+    module.addSerializer(JsonArray.class, new JsonSerializer<>() {
+      @Override
+      public void serialize(JsonArray value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeObject(value.getList());
+      }
+    });
+    module.addDeserializer(JsonObject.class, new JsonDeserializer<>() {
+      @Override
+      public JsonObject deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        Map<String, Object> map = parser.readValueAs(new TypeReference<Map<String, Object>>() { });
+        return new JsonObject(map);
+      }
+    });
+    module.addDeserializer(JsonArray.class, new JsonDeserializer<>() {
+      @Override
+      public JsonArray deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        List<Object> list = parser.readValueAs(new TypeReference<List<Object>>() { });
+        return new JsonArray(list);
+      }
+    });
+    return module;
+  }
+}
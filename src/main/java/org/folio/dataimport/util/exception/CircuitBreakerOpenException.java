@@ -0,0 +1,18 @@
+package org.folio.dataimport.util.exception;
+
+/**
+ * A runtime exception indicating that a request was rejected without being sent
+ * because the circuit breaker of its downstream is open.
+ */
+public class CircuitBreakerOpenException extends RuntimeException {
+
+  /**
+   * Construct a new "circuit breaker open" exception.
+   *
+   * @param message the detail message (which is saved for later retrieval
+   *                by the {@link #getMessage()} method).
+   */
+  public CircuitBreakerOpenException(String message) {
+    super(message);
+  }
+}
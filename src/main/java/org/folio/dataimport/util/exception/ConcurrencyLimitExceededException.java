@@ -0,0 +1,18 @@
+package org.folio.dataimport.util.exception;
+
+/**
+ * A runtime exception indicating that a request was rejected without being sent
+ * because the concurrency limit of its downstream was reached and the request could not be queued.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+  /**
+   * Construct a new "concurrency limit exceeded" exception.
+   *
+   * @param message the detail message (which is saved for later retrieval
+   *                by the {@link #getMessage()} method).
+   */
+  public ConcurrencyLimitExceededException(String message) {
+    super(message);
+  }
+}
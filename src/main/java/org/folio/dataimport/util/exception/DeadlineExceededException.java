@@ -0,0 +1,18 @@
+package org.folio.dataimport.util.exception;
+
+/**
+ * A runtime exception indicating that a request was not sent or did not complete
+ * because the deadline of its {@link org.folio.dataimport.util.OkapiConnectionParams} was exceeded.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+  /**
+   * Construct a new "deadline exceeded" exception.
+   *
+   * @param message the detail message (which is saved for later retrieval
+   *                by the {@link #getMessage()} method).
+   */
+  public DeadlineExceededException(String message) {
+    super(message);
+  }
+}
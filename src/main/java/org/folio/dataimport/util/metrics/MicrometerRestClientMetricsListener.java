@@ -0,0 +1,114 @@
+package org.folio.dataimport.util.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.http.HttpMethod;
+import org.folio.dataimport.util.RestClientMetricsListener;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Micrometer implementation of {@link RestClientMetricsListener}.
+ * <p>
+ * Requires micrometer-core on the classpath, it is an optional dependency of this library.
+ * Register it via {@link org.folio.dataimport.util.RestClientMetrics#setListener(RestClientMetricsListener)}.
+ */
+public class MicrometerRestClientMetricsListener implements RestClientMetricsListener {
+
+  private static final String REQUESTS = "data.import.http.client.requests";
+  private static final String IN_FLIGHT = "data.import.http.client.requests.in.flight";
+  private static final String POOL_WAIT = "data.import.http.client.pool.wait";
+  private static final String REQUEST_BYTES = "data.import.http.client.request.bytes";
+  private static final String RESPONSE_BYTES = "data.import.http.client.response.bytes";
+  private static final String COMPRESSION_SAVED_BYTES = "data.import.http.client.request.compression.saved.bytes";
+  private static final String METHOD_TAG = "method";
+  private static final String URI_TAG = "uri";
+  private static final String STATUS_TAG = "status";
+  private static final String OUTCOME_TAG = "outcome";
+
+  private final MeterRegistry registry;
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  public MicrometerRestClientMetricsListener(MeterRegistry registry) {
+    this.registry = registry;
+    registry.gauge(IN_FLIGHT, inFlight);
+  }
+
+  @Override
+  public void requestStarted(HttpMethod method, String pathTemplate) {
+    inFlight.incrementAndGet();
+  }
+
+  @Override
+  public void connectionAcquired(HttpMethod method, String pathTemplate, long waitNanos) {
+    Timer.builder(POOL_WAIT)
+      .tags(Tags.of(METHOD_TAG, method.name(), URI_TAG, pathTemplate))
+      .publishPercentileHistogram()
+      .register(registry)
+      .record(waitNanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void requestCompleted(HttpMethod method, String pathTemplate, int statusCode, long durationNanos,
+                               long requestBytes, long responseBytes) {
+    inFlight.decrementAndGet();
+    Tags tags = Tags.of(METHOD_TAG, method.name(), URI_TAG, pathTemplate);
+    Timer.builder(REQUESTS)
+      .tags(tags.and(STATUS_TAG, String.valueOf(statusCode), OUTCOME_TAG, getOutcome(statusCode)))
+      .publishPercentileHistogram()
+      .register(registry)
+      .record(durationNanos, TimeUnit.NANOSECONDS);
+    DistributionSummary.builder(REQUEST_BYTES)
+      .baseUnit("bytes")
+      .tags(tags)
+      .register(registry)
+      .record(requestBytes);
+    DistributionSummary.builder(RESPONSE_BYTES)
+      .baseUnit("bytes")
+      .tags(tags)
+      .register(registry)
+      .record(responseBytes);
+  }
+
+  @Override
+  public void requestCompressed(HttpMethod method, String pathTemplate, long originalBytes, long compressedBytes) {
+    DistributionSummary.builder(COMPRESSION_SAVED_BYTES)
+      .baseUnit("bytes")
+      .tags(Tags.of(METHOD_TAG, method.name(), URI_TAG, pathTemplate))
+      .register(registry)
+      .record(Math.max(0, originalBytes - compressedBytes));
+  }
+
+  @Override
+  public void requestFailed(HttpMethod method, String pathTemplate, Throwable cause, long durationNanos) {
+    inFlight.decrementAndGet();
+    Timer.builder(REQUESTS)
+      .tags(Tags.of(METHOD_TAG, method.name(), URI_TAG, pathTemplate, STATUS_TAG, "IO_ERROR", OUTCOME_TAG, "UNKNOWN"))
+      .publishPercentileHistogram()
+      .register(registry)
+      .record(durationNanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void requestCancelled(HttpMethod method, String pathTemplate, long durationNanos) {
+    inFlight.decrementAndGet();
+    Timer.builder(REQUESTS)
+      .tags(Tags.of(METHOD_TAG, method.name(), URI_TAG, pathTemplate, STATUS_TAG, "CANCELLED", OUTCOME_TAG, "CANCELLED"))
+      .publishPercentileHistogram()
+      .register(registry)
+      .record(durationNanos, TimeUnit.NANOSECONDS);
+  }
+
+  private static String getOutcome(int statusCode) {
+    if (statusCode >= 500) {
+      return "SERVER_ERROR";
+    }
+    if (statusCode >= 400) {
+      return "CLIENT_ERROR";
+    }
+    return statusCode >= 200 && statusCode < 300 ? "SUCCESS" : "REDIRECTION";
+  }
+}
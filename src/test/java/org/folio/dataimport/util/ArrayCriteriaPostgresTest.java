@@ -0,0 +1,105 @@
+package org.folio.dataimport.util;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.pgclient.PgConnectOptions;
+import io.vertx.pgclient.PgPool;
+import io.vertx.sqlclient.PoolOptions;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.Tuple;
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+/**
+ * Executes {@link ArrayCriteria} conditions against a real Postgres, skipped when Docker is not available.
+ */
+@RunWith(VertxUnitRunner.class)
+public class ArrayCriteriaPostgresTest {
+
+  private static final String ID_1 = "11111111-1111-1111-1111-111111111111";
+  private static final String ID_2 = "22222222-2222-2222-2222-222222222222";
+  private static final String ID_3 = "33333333-3333-3333-3333-333333333333";
+
+  private static PostgreSQLContainer<?> postgres;
+  private static Vertx vertx;
+  private static PgPool pool;
+
+  @BeforeClass
+  public static void setUpClass(TestContext context) {
+    Assume.assumeTrue("Docker is not available", isDockerAvailable());
+    postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+    postgres.start();
+    vertx = Vertx.vertx();
+    pool = PgPool.pool(vertx, new PgConnectOptions()
+      .setHost(postgres.getHost())
+      .setPort(postgres.getFirstMappedPort())
+      .setDatabase(postgres.getDatabaseName())
+      .setUser(postgres.getUsername())
+      .setPassword(postgres.getPassword()), new PoolOptions().setMaxSize(1));
+
+    Async async = context.async();
+    pool.query("CREATE TABLE records (id uuid PRIMARY KEY, jsonb jsonb NOT NULL)").execute()
+      .compose(v -> pool.preparedQuery("INSERT INTO records (id, jsonb) VALUES ($1::uuid, $2::jsonb)")
+        .executeBatch(List.of(
+          Tuple.of(ID_1, "{\"jobExecutionId\": \"a\"}"),
+          Tuple.of(ID_2, "{\"jobExecutionId\": \"b\"}"),
+          Tuple.of(ID_3, "{\"jobExecutionId\": \"c\"}"))))
+      .onComplete(context.asyncAssertSuccess(v -> async.complete()));
+  }
+
+  @AfterClass
+  public static void tearDownClass(TestContext context) {
+    if (vertx != null) {
+      vertx.close().onComplete(context.asyncAssertSuccess());
+    }
+    if (postgres != null) {
+      postgres.stop();
+    }
+  }
+
+  @Test
+  public void shouldSelectRowsByUuidColumn(TestContext context) {
+    ArrayCriteria criteria = DaoUtil.constructIdArrayCriteria(List.of(ID_1, ID_3), 10).get(0);
+
+    select(criteria).onComplete(context.asyncAssertSuccess(ids -> context.assertEquals(List.of(ID_1, ID_3), ids)));
+  }
+
+  @Test
+  public void shouldSelectRowsByJsonbField(TestContext context) {
+    ArrayCriteria criteria = DaoUtil.constructArrayCriteria("jobExecutionId", List.of("b", "c", "x")).get(0);
+
+    select(criteria).onComplete(context.asyncAssertSuccess(ids -> context.assertEquals(List.of(ID_2, ID_3), ids)));
+  }
+
+  private static Future<List<String>> select(ArrayCriteria criteria) {
+    return pool.preparedQuery("SELECT id FROM records WHERE " + criteria.getWhereClause() + " ORDER BY id")
+      .execute(criteria.getParams())
+      .map(ArrayCriteriaPostgresTest::getIds);
+  }
+
+  private static List<String> getIds(RowSet<Row> rows) {
+    return StreamSupport.stream(rows.spliterator(), false)
+      .map(row -> row.getUUID("id").toString())
+      .toList();
+  }
+
+  private static boolean isDockerAvailable() {
+    try {
+      return DockerClientFactory.instance().isDockerAvailable();
+    } catch (RuntimeException e) {
+      return false;
+    }
+  }
+}
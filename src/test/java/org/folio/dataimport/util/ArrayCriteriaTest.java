@@ -0,0 +1,52 @@
+package org.folio.dataimport.util;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ArrayCriteriaTest {
+
+  @Test
+  public void shouldBuildArrayCriteriaForJsonbField() {
+    List<ArrayCriteria> criteria = DaoUtil.constructArrayCriteria("jobExecutionId", List.of("1", "2", "1"));
+
+    assertEquals(1, criteria.size());
+    assertEquals("(jsonb->>'jobExecutionId') = ANY($1::text[])", criteria.get(0).getWhereClause());
+    assertEquals("(jsonb->>'jobExecutionId') = ANY($3::text[])", criteria.get(0).getWhereClause(3));
+    assertEquals(1, criteria.get(0).getParams().size());
+    assertEquals(List.of("1", "2"), List.of(criteria.get(0).getParams().getArrayOfStrings(0)));
+  }
+
+  @Test
+  public void shouldSplitValuesIntoChunks() {
+    List<String> ids = IntStream.range(0, 25).mapToObj(i -> String.format("00000000-0000-0000-0000-%012d", i)).toList();
+
+    List<ArrayCriteria> criteria = DaoUtil.constructIdArrayCriteria(ids, 10);
+
+    assertEquals(3, criteria.size());
+    assertEquals(10, criteria.get(0).getValues().size());
+    assertEquals(10, criteria.get(1).getValues().size());
+    assertEquals(5, criteria.get(2).getValues().size());
+    assertEquals(ids.get(20), criteria.get(2).getValues().get(0));
+    criteria.forEach(chunk -> assertEquals("id = ANY($1::text[]::uuid[])", chunk.getWhereClause()));
+  }
+
+  @Test
+  public void shouldReturnNoCriteriaForEmptyValues() {
+    assertTrue(DaoUtil.constructArrayCriteria("id", List.of()).isEmpty());
+  }
+
+  @Test
+  public void shouldEscapeFieldName() {
+    assertEquals("(jsonb->>'a''b') = ANY($1::text[])", DaoUtil.constructArrayCriteria("a'b", List.of("1")).get(0).getWhereClause());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectInvalidChunkSize() {
+    DaoUtil.constructArrayCriteria("id", List.of("1"), 0);
+  }
+}
@@ -0,0 +1,87 @@
+package org.folio.dataimport.util;
+
+import org.folio.cql2pgjson.exception.FieldException;
+import org.folio.cql2pgjson.exception.QueryValidationException;
+import org.folio.cql2pgjson.model.SqlSelect;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CQLTemplateTest {
+
+  private static final String TABLE_NAME = "test_table";
+  private static final String TEMPLATE = "jobExecutionId==${jobExecutionId} and status==${status} sortBy name";
+
+  @Before
+  public void setUp() {
+    CQLCache.setMaxSize(CQLCache.DEFAULT_MAX_SIZE);
+  }
+
+  @Test
+  public void shouldBindValuesWithoutTranslatingQuery() throws FieldException, QueryValidationException {
+    CQLTemplate template = CQLTemplate.compile(TABLE_NAME, TEMPLATE);
+    Map<String, String> values = Map.of("jobExecutionId", "67dfac11-1caf-4470-9ad1-d533f6360bdd", "status", "COMMITTED");
+
+    SqlSelect bound = template.toSql(values);
+    String boundSql = template.bind(values, 10, 0).toString();
+
+    assertEquals(0, CQLCache.getInstance().getMisses());
+    assertSameTranslation(template, values, bound);
+    assertEquals(DaoUtil.getCQLWrapper(TABLE_NAME, template.toCql(values), 10, 0).toString(), boundSql);
+  }
+
+  @Test
+  public void shouldTranslateValuesWhichCannotBeBoundDirectly() throws FieldException, QueryValidationException {
+    CQLTemplate template = CQLTemplate.compile(TABLE_NAME, TEMPLATE);
+
+    for (String status : List.of("it's \"done\"", "a*b?c^", "back\\slash", "42", "not a uuid", "")) {
+      Map<String, String> values = Map.of("jobExecutionId", "1", "status", status);
+      assertSameTranslation(template, values, template.toSql(values));
+    }
+  }
+
+  @Test
+  public void shouldEscapeValuesIntoLiteralTerms() throws FieldException, QueryValidationException {
+    CQLTemplate template = CQLTemplate.compile(TABLE_NAME, "status==${status}");
+
+    assertEquals("status==\"x\\\" or cql.allRecords=1\"", template.toCql(Map.of("status", "x\" or cql.allRecords=1")));
+    assertEquals("status==\"a\\*b\\\\\"", template.toCql(Map.of("status", "a*b\\")));
+  }
+
+  @Test
+  public void shouldBindRepeatedPlaceholder() throws FieldException, QueryValidationException {
+    CQLTemplate template = CQLTemplate.compile(TABLE_NAME, "sourceId==${id} or targetId==${id}");
+    Map<String, String> values = Map.of("id", "abc");
+
+    assertEquals(List.of("id"), template.getParameterNames());
+    assertEquals("sourceId==\"abc\" or targetId==\"abc\"", template.toCql(values));
+    assertSameTranslation(template, values, template.toSql(values));
+  }
+
+  @Test
+  public void shouldReuseCompiledTemplate() throws FieldException, QueryValidationException {
+    CQLTemplate template = CQLCache.getInstance().getTemplate(TABLE_NAME, TEMPLATE);
+
+    assertSame(template, CQLCache.getInstance().getTemplate(TABLE_NAME, TEMPLATE));
+    String sql = DaoUtil.getCQLWrapper(TABLE_NAME, TEMPLATE, Map.of("jobExecutionId", "1", "status", "NEW")).toString();
+    assertTrue(sql, sql.contains("NEW"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldFailWhenValueIsMissing() throws FieldException, QueryValidationException {
+    CQLTemplate.compile(TABLE_NAME, TEMPLATE).toCql(Map.of("status", "NEW"));
+  }
+
+  private void assertSameTranslation(CQLTemplate template, Map<String, String> values, SqlSelect bound)
+    throws FieldException, QueryValidationException {
+    SqlSelect expected = CQLCache.getInstance().getConverter(TABLE_NAME).toSql(template.toCql(values));
+    assertEquals(expected.getWhere(), bound.getWhere());
+    assertEquals(expected.getOrderBy(), bound.getOrderBy());
+  }
+}
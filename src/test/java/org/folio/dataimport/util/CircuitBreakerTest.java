@@ -0,0 +1,114 @@
+package org.folio.dataimport.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CircuitBreakerTest {
+
+  private final AtomicLong clock = new AtomicLong();
+  private final List<String> transitions = new ArrayList<>();
+
+  private CircuitBreaker createCircuitBreaker() {
+    CircuitBreakerOptions options = new CircuitBreakerOptions()
+      .setSlidingWindowSize(4)
+      .setMinimumCalls(4)
+      .setFailureRateThreshold(50)
+      .setSlowCallRateThreshold(100)
+      .setSlowCallDuration(1000)
+      .setOpenDuration(5000)
+      .setHalfOpenCalls(2);
+    return new CircuitBreaker("http://okapi/source-storage", options,
+      (name, from, to) -> transitions.add(from + "->" + to), clock::get);
+  }
+
+  @Test
+  public void shouldOpenWhenFailureRateReachesThreshold() {
+    CircuitBreaker circuitBreaker = createCircuitBreaker();
+    recordCalls(circuitBreaker, false, false, true);
+    assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+    recordCalls(circuitBreaker, true);
+
+    assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    assertFalse(circuitBreaker.tryAcquirePermission());
+    assertEquals(List.of("CLOSED->OPEN"), transitions);
+  }
+
+  @Test
+  public void shouldOpenWhenAllCallsAreSlow() {
+    CircuitBreaker circuitBreaker = createCircuitBreaker();
+    for (int i = 0; i < 4; i++) {
+      assertTrue(circuitBreaker.tryAcquirePermission());
+      circuitBreaker.onResult(false, 1500);
+    }
+    assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+  }
+
+  @Test
+  public void shouldCloseAfterSuccessfulProbesInHalfOpenState() {
+    CircuitBreaker circuitBreaker = createCircuitBreaker();
+    recordCalls(circuitBreaker, true, true, true, true);
+
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+
+    assertTrue(circuitBreaker.tryAcquirePermission());
+    assertTrue(circuitBreaker.tryAcquirePermission());
+    assertFalse(circuitBreaker.tryAcquirePermission());
+    assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+    circuitBreaker.onResult(false, 10);
+    circuitBreaker.onResult(false, 10);
+
+    assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    assertEquals(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), transitions);
+  }
+
+  @Test
+  public void shouldReleaseHalfOpenPermitOfIgnoredCall() {
+    CircuitBreaker circuitBreaker = createCircuitBreaker();
+    recordCalls(circuitBreaker, true, true, true, true);
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+
+    assertTrue(circuitBreaker.tryAcquirePermission());
+    assertTrue(circuitBreaker.tryAcquirePermission());
+    circuitBreaker.onIgnored();
+    assertTrue(circuitBreaker.tryAcquirePermission());
+    circuitBreaker.onResult(false, 10);
+
+    assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+  }
+
+  @Test
+  public void shouldReopenWhenProbeFails() {
+    CircuitBreaker circuitBreaker = createCircuitBreaker();
+    recordCalls(circuitBreaker, true, true, true, true);
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+
+    assertTrue(circuitBreaker.tryAcquirePermission());
+    circuitBreaker.onResult(true, 10);
+
+    assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    assertFalse(circuitBreaker.tryAcquirePermission());
+  }
+
+  @Test
+  public void shouldBuildDownstreamKeyFromFirstPathSegment() {
+    assertEquals("http://okapi/source-storage", DownstreamKey.of("http://okapi", "/source-storage/records?limit=1"));
+    assertEquals("http://okapi/instances", DownstreamKey.of("http://okapi", "/instances?query=id==1"));
+    assertEquals("http://okapi/instances", DownstreamKey.of("http://okapi", "/instances"));
+  }
+
+  private void recordCalls(CircuitBreaker circuitBreaker, boolean... failures) {
+    for (boolean failed : failures) {
+      assertTrue(circuitBreaker.tryAcquirePermission());
+      circuitBreaker.onResult(failed, 10);
+    }
+  }
+}
@@ -0,0 +1,165 @@
+package org.folio.dataimport.util;
+
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.folio.dataimport.util.exception.ConcurrencyLimitExceededException;
+import org.folio.dataimport.util.exception.DeadlineExceededException;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(VertxUnitRunner.class)
+public class ConcurrencyLimiterTest {
+
+  private static final long LATENCY = TimeUnit.MILLISECONDS.toNanos(10);
+
+  @Rule
+  public RunTestOnContext rule = new RunTestOnContext();
+
+  @After
+  public void tearDown() {
+    ConcurrencyLimiterRegistry.setOptions(null);
+  }
+
+  @Test
+  public void shouldQueueRequestOverLimitUntilPermissionIsReleased(TestContext context) {
+    Async async = context.async();
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", new ConcurrencyLimiterOptions().setInitialLimit(2));
+
+    context.assertTrue(limiter.acquire().succeeded());
+    context.assertTrue(limiter.acquire().succeeded());
+    var queued = limiter.acquire();
+    context.assertFalse(queued.isComplete());
+    context.assertEquals(1, limiter.getQueueSize());
+
+    queued.onComplete(context.asyncAssertSuccess(v -> {
+      context.assertEquals(2, limiter.getInFlight());
+      context.assertEquals(0, limiter.getQueueSize());
+      async.complete();
+    }));
+    limiter.onSuccess(LATENCY);
+  }
+
+  @Test
+  public void shouldRejectRequestOverLimitWhenQueueIsFull(TestContext context) {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter("test",
+      new ConcurrencyLimiterOptions().setInitialLimit(1).setMaxQueueSize(0));
+
+    context.assertTrue(limiter.acquire().succeeded());
+    var rejected = limiter.acquire();
+
+    context.assertTrue(rejected.failed());
+    context.assertTrue(rejected.cause() instanceof ConcurrencyLimitExceededException);
+  }
+
+  @Test
+  public void shouldRejectQueuedRequestAfterMaxQueueWait(TestContext context) {
+    Async async = context.async();
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter("test",
+      new ConcurrencyLimiterOptions().setInitialLimit(1).setMaxQueueWait(50));
+
+    limiter.acquire();
+    limiter.acquire().onComplete(context.asyncAssertFailure(e -> {
+      context.assertTrue(e instanceof ConcurrencyLimitExceededException);
+      context.assertEquals(0, limiter.getQueueSize());
+      async.complete();
+    }));
+  }
+
+  @Test
+  public void shouldRejectQueuedRequestWhenDeadlineIsExceeded(TestContext context) {
+    Async async = context.async();
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter("test",
+      new ConcurrencyLimiterOptions().setInitialLimit(1).setMaxQueueWait(10_000));
+
+    limiter.acquire();
+    context.assertTrue(limiter.acquire(Deadline.after(0, TimeUnit.MILLISECONDS)).cause() instanceof DeadlineExceededException);
+    context.assertEquals(0, limiter.getQueueSize());
+
+    long start = System.currentTimeMillis();
+    limiter.acquire(Deadline.after(50, TimeUnit.MILLISECONDS)).onComplete(context.asyncAssertFailure(e -> {
+      context.assertTrue(e instanceof DeadlineExceededException);
+      context.assertTrue(System.currentTimeMillis() - start < 5000);
+      context.assertEquals(0, limiter.getQueueSize());
+      async.complete();
+    }));
+  }
+
+  @Test
+  public void shouldDecreaseLimitWhenRequestIsDropped() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter("test",
+      new ConcurrencyLimiterOptions().setInitialLimit(20).setBackoffRatio(0.5));
+
+    limiter.acquire();
+    limiter.onDropped();
+
+    assertEquals(10, limiter.getLimit());
+    assertEquals(0, limiter.getInFlight());
+  }
+
+  @Test
+  public void shouldDecreaseLimitWhenLatencyExceedsTolerance() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter("test",
+      new ConcurrencyLimiterOptions().setInitialLimit(20).setBackoffRatio(0.5).setLatencyTolerance(2));
+
+    limiter.acquire();
+    limiter.onSuccess(LATENCY);
+    limiter.acquire();
+    limiter.onSuccess(LATENCY * 3);
+
+    assertEquals(10, limiter.getLimit());
+  }
+
+  @Test
+  public void shouldIncreaseLimitOnlyWhenLimitIsUtilized() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", new ConcurrencyLimiterOptions().setInitialLimit(4));
+
+    IntStream.range(0, 20).forEach(i -> {
+      limiter.acquire();
+      limiter.onSuccess(LATENCY);
+    });
+    assertEquals(4, limiter.getLimit());
+
+    IntStream.range(0, 3).forEach(i -> limiter.acquire());
+    IntStream.range(0, 10).forEach(i -> {
+      limiter.acquire();
+      limiter.onSuccess(LATENCY);
+    });
+    assertTrue(limiter.getLimit() > 4);
+  }
+
+  @Test
+  public void shouldNotAdjustLimitForIgnoredRequest() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", new ConcurrencyLimiterOptions().setInitialLimit(1));
+
+    limiter.acquire();
+    limiter.onIgnored();
+
+    assertEquals(1, limiter.getLimit());
+    assertEquals(0, limiter.getInFlight());
+  }
+
+  @Test
+  public void shouldReturnLimiterPerDownstreamOnlyWhenEnabled() {
+    assertNull(ConcurrencyLimiterRegistry.getLimiter("http://localhost:9130", "/source-storage/records"));
+
+    ConcurrencyLimiterRegistry.setOptions(new ConcurrencyLimiterOptions());
+    ConcurrencyLimiter limiter = ConcurrencyLimiterRegistry.getLimiter("http://localhost:9130", "/source-storage/records");
+
+    assertNotNull(limiter);
+    assertSame(limiter, ConcurrencyLimiterRegistry.getLimiter("http://localhost:9130", "/source-storage/snapshots"));
+    assertTrue(limiter != ConcurrencyLimiterRegistry.getLimiter("http://localhost:9130", "/inventory/items"));
+  }
+}
@@ -1,13 +1,24 @@
 package org.folio.dataimport.util;
 
+import org.folio.cql2pgjson.exception.FieldException;
 import org.folio.rest.persist.Criteria.Criteria;
+import org.folio.rest.persist.cql.CQLWrapper;
+import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 
 public class DaoUtilTest {
 
+  private static final String TABLE_NAME = "test_table";
+
+  @Before
+  public void setUp() {
+    CQLCache.setMaxSize(CQLCache.DEFAULT_MAX_SIZE);
+  }
+
   @Test
   public void shouldConstructCriteria() {
     String idField = "id";
@@ -17,4 +28,51 @@ public class DaoUtilTest {
     assertNotNull(criteria);
     assertEquals(expectedString, criteria.toString());
   }
+
+  @Test
+  public void shouldReuseTranslatedQuery() throws FieldException {
+    String query = "id==\"000000000000000\" sortBy name";
+
+    CQLWrapper first = DaoUtil.getCQLWrapper(TABLE_NAME, query, 10, 0);
+    String firstSql = first.toString();
+    CQLWrapper second = DaoUtil.getCQLWrapper(TABLE_NAME, query, 10, 0);
+
+    assertEquals(firstSql, second.toString());
+    assertEquals(1, CQLCache.getInstance().getMisses());
+    assertEquals(1, CQLCache.getInstance().getHits());
+    assertEquals(1, CQLCache.getInstance().getSize());
+  }
+
+  @Test
+  public void shouldNotShareTranslationsBetweenTables() throws FieldException {
+    String query = "id==1";
+
+    String sql = DaoUtil.getCQLWrapper(TABLE_NAME, query).toString();
+    String otherSql = DaoUtil.getCQLWrapper("other_table", query).toString();
+
+    assertNotEquals(sql, otherSql);
+    assertEquals(2, CQLCache.getInstance().getMisses());
+    assertEquals(0, CQLCache.getInstance().getHits());
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedTranslation() throws FieldException {
+    CQLCache.setMaxSize(2);
+
+    DaoUtil.getCQLWrapper(TABLE_NAME, "id==1").toString();
+    DaoUtil.getCQLWrapper(TABLE_NAME, "id==2").toString();
+    DaoUtil.getCQLWrapper(TABLE_NAME, "id==1").toString();
+    DaoUtil.getCQLWrapper(TABLE_NAME, "id==3").toString();
+    DaoUtil.getCQLWrapper(TABLE_NAME, "id==1").toString();
+    DaoUtil.getCQLWrapper(TABLE_NAME, "id==2").toString();
+
+    assertEquals(2, CQLCache.getInstance().getSize());
+    assertEquals(2, CQLCache.getInstance().getHits());
+    assertEquals(4, CQLCache.getInstance().getMisses());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectInvalidMaxSize() {
+    CQLCache.setMaxSize(0);
+  }
 }
@@ -0,0 +1,44 @@
+package org.folio.dataimport.util;
+
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DeadlineTest {
+
+  @Test
+  public void shouldReturnRemainingTime() {
+    Deadline deadline = Deadline.after(10, TimeUnit.SECONDS);
+
+    assertFalse(deadline.isExpired());
+    assertTrue(deadline.getRemainingMillis() > 9000 && deadline.getRemainingMillis() <= 10000);
+  }
+
+  @Test
+  public void shouldBeExpiredAfterTimeout() {
+    Deadline deadline = Deadline.after(0, TimeUnit.MILLISECONDS);
+
+    assertTrue(deadline.isExpired());
+    assertEquals(0, deadline.getRemainingMillis());
+  }
+
+  @Test
+  public void shouldCreateDeadlineFromHeaders() {
+    Deadline deadline = Deadline.fromHeaders(Map.of("X-Request-Deadline-Ms", "5000"));
+
+    assertTrue(deadline.getRemainingMillis() > 4000 && deadline.getRemainingMillis() <= 5000);
+    assertNull(Deadline.fromHeaders(Map.of()));
+    assertNull(Deadline.fromHeaders(Map.of(Deadline.DEADLINE_HEADER, "abc")));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldNotAcceptNegativeTimeout() {
+    Deadline.after(-1, TimeUnit.MILLISECONDS);
+  }
+}
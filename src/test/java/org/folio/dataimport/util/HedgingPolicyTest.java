@@ -0,0 +1,52 @@
+package org.folio.dataimport.util;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+
+public class HedgingPolicyTest {
+
+  @Test
+  public void shouldUseFixedDelayUntilEnoughLatenciesObserved() {
+    HedgingPolicy policy = new HedgingPolicy().setDelay(200);
+    LatencyTracker latencies = new LatencyTracker();
+    IntStream.range(0, LatencyTracker.MIN_SAMPLES - 1).forEach(i -> latencies.record(TimeUnit.MILLISECONDS.toNanos(30)));
+
+    assertEquals(200, policy.getDelay(latencies));
+  }
+
+  @Test
+  public void shouldUseObservedPercentileAsDelay() {
+    HedgingPolicy policy = new HedgingPolicy().setDelay(200).setPercentile(0.95);
+    LatencyTracker latencies = new LatencyTracker();
+    IntStream.rangeClosed(1, 100).forEach(i -> latencies.record(TimeUnit.MILLISECONDS.toNanos(i)));
+
+    assertEquals(95, policy.getDelay(latencies));
+  }
+
+  @Test
+  public void shouldNotUseDelayLowerThanMinDelay() {
+    HedgingPolicy policy = new HedgingPolicy().setMinDelay(20);
+    LatencyTracker latencies = new LatencyTracker();
+    IntStream.range(0, LatencyTracker.WINDOW_SIZE).forEach(i -> latencies.record(TimeUnit.MILLISECONDS.toNanos(1)));
+
+    assertEquals(20, policy.getDelay(latencies));
+  }
+
+  @Test
+  public void shouldKeepOnlyLatestLatenciesInWindow() {
+    LatencyTracker latencies = new LatencyTracker();
+    IntStream.range(0, LatencyTracker.WINDOW_SIZE).forEach(i -> latencies.record(TimeUnit.MILLISECONDS.toNanos(500)));
+    IntStream.range(0, LatencyTracker.WINDOW_SIZE).forEach(i -> latencies.record(TimeUnit.MILLISECONDS.toNanos(10)));
+
+    assertEquals(10, latencies.getPercentile(0.95));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldNotAcceptInvalidPercentile() {
+    new HedgingPolicy().setPercentile(1);
+  }
+}
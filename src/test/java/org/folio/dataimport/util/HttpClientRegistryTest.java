@@ -0,0 +1,88 @@
+package org.folio.dataimport.util;
+
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.ext.web.client.WebClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.folio.dataimport.util.RestUtil.OKAPI_TENANT_HEADER;
+import static org.folio.dataimport.util.RestUtil.OKAPI_URL_HEADER;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+@RunWith(VertxUnitRunner.class)
+public class HttpClientRegistryTest {
+
+  private Vertx vertx;
+
+  @Before
+  public void setUp() {
+    vertx = Vertx.vertx();
+  }
+
+  @After
+  public void tearDown(TestContext context) {
+    vertx.close().onComplete(context.asyncAssertSuccess());
+  }
+
+  @Test
+  public void shouldReuseClientForSameOkapiUrlAndTimeout() {
+    HttpClientRegistry registry = HttpClientRegistry.forVertx(vertx);
+
+    WebClient client = registry.getWebClient(createParams("http://localhost:9130", 1000));
+
+    assertSame(registry, HttpClientRegistry.forVertx(vertx));
+    assertSame(client, registry.getWebClient(createParams("http://localhost:9130", 1000)));
+  }
+
+  @Test
+  public void shouldCreateSeparateClientsForDifferentOkapiUrlOrTimeout() {
+    HttpClientRegistry registry = HttpClientRegistry.forVertx(vertx);
+
+    WebClient client = registry.getWebClient(createParams("http://localhost:9130", 1000));
+
+    assertNotSame(client, registry.getWebClient(createParams("http://localhost:9131", 1000)));
+    assertNotSame(client, registry.getWebClient(createParams("http://localhost:9130", 2000)));
+  }
+
+  @Test
+  public void shouldCreateSeparateClientsForDifferentConnectOrIdleTimeout() {
+    HttpClientRegistry registry = HttpClientRegistry.forVertx(vertx);
+    WebClient client = registry.getWebClient(createParams("http://localhost:9130", 1000));
+
+    OkapiConnectionParams params = createParams("http://localhost:9130", 1000);
+    params.setRequestTimeout(5000);
+    assertSame(client, registry.getWebClient(params));
+    params.setIdleTimeout(2000);
+    assertNotSame(client, registry.getWebClient(params));
+    params = createParams("http://localhost:9130", 1000);
+    params.setConnectTimeout(2000);
+    assertNotSame(client, registry.getWebClient(params));
+  }
+
+  @Test
+  public void shouldCreateNewClientsAfterClose(TestContext context) {
+    HttpClientRegistry registry = HttpClientRegistry.forVertx(vertx);
+    WebClient client = registry.getWebClient(createParams("http://localhost:9130", 1000));
+
+    HttpClientRegistry.close(vertx).onComplete(context.asyncAssertSuccess(v -> {
+      HttpClientRegistry newRegistry = HttpClientRegistry.forVertx(vertx);
+      context.assertNotEquals(registry, newRegistry);
+      context.assertNotEquals(client, newRegistry.getWebClient(createParams("http://localhost:9130", 1000)));
+    }));
+  }
+
+  private OkapiConnectionParams createParams(String okapiUrl, int timeout) {
+    Map<String, String> okapiHeaders = new HashMap<>();
+    okapiHeaders.put(OKAPI_URL_HEADER, okapiUrl);
+    okapiHeaders.put(OKAPI_TENANT_HEADER, "diku");
+    return new OkapiConnectionParams(okapiHeaders, vertx, timeout);
+  }
+}
@@ -0,0 +1,94 @@
+package org.folio.dataimport.util;
+
+import org.folio.cql2pgjson.exception.FieldException;
+import org.folio.cql2pgjson.exception.QueryValidationException;
+import org.folio.dataimport.util.SortKey.Direction;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class KeysetQueryTest {
+
+  private static final String SCHEMA = "diku_mod_test";
+  private static final String TABLE = "journal_records";
+  private static final List<SortKey> SORT_KEYS = List.of(
+    SortKey.field("actionDate", "timestamptz", Direction.ASC),
+    SortKey.column("id", "uuid", Direction.ASC));
+
+  @Test
+  public void shouldBuildFirstPageQuery() {
+    KeysetQuery query = KeysetQuery.build(SCHEMA, TABLE, "journal_records.jsonb->>'jobId' = '1'", SORT_KEYS, null, 100);
+
+    assertEquals("SELECT journal_records.id, journal_records.jsonb, "
+      + "(((journal_records.jsonb->>'actionDate')::timestamptz))::text AS keyset_0, "
+      + "(journal_records.id)::text AS keyset_1 "
+      + "FROM diku_mod_test.journal_records "
+      + "WHERE (journal_records.jsonb->>'jobId' = '1') "
+      + "ORDER BY ((journal_records.jsonb->>'actionDate')::timestamptz) ASC, journal_records.id ASC "
+      + "LIMIT 100", query.getSql());
+    assertEquals(0, query.getParams().size());
+  }
+
+  @Test
+  public void shouldBuildRowComparisonWhenKeysHaveSameDirection() {
+    String cursor = KeysetQuery.encodeCursor(List.of("2024-01-01T00:00:00Z", "11111111-1111-1111-1111-111111111111"));
+
+    KeysetQuery query = KeysetQuery.build(SCHEMA, TABLE, null, SORT_KEYS, cursor, 100);
+
+    assertTrue(query.getSql(), query.getSql().contains(" FROM diku_mod_test.journal_records "
+      + "WHERE (((journal_records.jsonb->>'actionDate')::timestamptz), journal_records.id) > ($1::text::timestamptz, $2::text::uuid) "
+      + "ORDER BY"));
+    assertEquals(2, query.getParams().size());
+    assertEquals("2024-01-01T00:00:00Z", query.getParams().getString(0));
+    assertEquals("11111111-1111-1111-1111-111111111111", query.getParams().getString(1));
+  }
+
+  @Test
+  public void shouldExpandComparisonWhenKeysHaveMixedDirections() {
+    List<SortKey> sortKeys = List.of(SortKey.field("name", Direction.DESC), SortKey.column("id", "uuid", Direction.ASC));
+    String cursor = KeysetQuery.encodeCursor(List.of("b", "11111111-1111-1111-1111-111111111111"));
+
+    KeysetQuery query = KeysetQuery.build(SCHEMA, TABLE, "true", sortKeys, cursor, 10);
+
+    assertTrue(query.getSql(), query.getSql().contains("WHERE (true) AND "
+      + "(((journal_records.jsonb->>'name') < $1::text) "
+      + "OR ((journal_records.jsonb->>'name') = $1::text AND journal_records.id > $2::text::uuid)) "
+      + "ORDER BY (journal_records.jsonb->>'name') DESC, journal_records.id ASC LIMIT 10"));
+  }
+
+  @Test
+  public void shouldCombineSeekPredicateWithCqlQuery() throws FieldException, QueryValidationException {
+    String cursor = KeysetQuery.encodeCursor(List.of("2024-01-01T00:00:00Z", "11111111-1111-1111-1111-111111111111"));
+
+    KeysetQuery query = DaoUtil.getKeysetQuery(SCHEMA, TABLE, "jobExecutionId==\"1\"", SORT_KEYS, cursor, 10);
+
+    assertTrue(query.getSql(), query.getSql().contains("jobExecutionId"));
+    assertTrue(query.getSql(), query.getSql().contains(") AND ((("));
+    assertEquals(2, query.getParams().size());
+  }
+
+  @Test
+  public void shouldDecodeEncodedCursor() {
+    List<String> values = List.of("a'b", "2");
+
+    assertEquals(values, KeysetQuery.decodeCursor(KeysetQuery.encodeCursor(values), 2));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectCursorOfOtherSortKeys() {
+    KeysetQuery.build(SCHEMA, TABLE, null, SORT_KEYS, KeysetQuery.encodeCursor(List.of("a")), 10);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectMalformedCursor() {
+    KeysetQuery.build(SCHEMA, TABLE, null, SORT_KEYS, "not-a-cursor", 10);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectInvalidColumnName() {
+    SortKey.column("id; drop table x", "uuid", Direction.ASC);
+  }
+}
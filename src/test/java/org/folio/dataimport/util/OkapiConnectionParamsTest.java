@@ -1,5 +1,6 @@
 package org.folio.dataimport.util;
 
+import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -11,7 +12,11 @@ import static org.folio.dataimport.util.RestUtil.OKAPI_TENANT_HEADER;
 import static org.folio.dataimport.util.RestUtil.OKAPI_TOKEN_HEADER;
 import static org.folio.dataimport.util.RestUtil.OKAPI_URL_HEADER;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class OkapiConnectionParamsTest {
 
@@ -55,4 +60,68 @@ public class OkapiConnectionParamsTest {
     System.clearProperty("SYSTEM_USER_ENABLED");
   }
 
+  @Test
+  public void shouldPrecomputeRequestHeaders() {
+    Map<String, String> headersMap = new HashMap<>();
+    headersMap.put(OKAPI_URL_HEADER, "http://localhost");
+    headersMap.put(OKAPI_TENANT_HEADER, "diku");
+    headersMap.put(OKAPI_TOKEN_HEADER, "dummy_token");
+
+    var params = new OkapiConnectionParams(headersMap, Mockito.mock(Vertx.class));
+    var requestHeaders = params.getRequestHeaders();
+
+    assertEquals("dummy_token", requestHeaders.get(OKAPI_TOKEN_HEADER));
+    assertEquals("application/json", requestHeaders.get("Content-type"));
+    assertEquals("application/json, text/plain", requestHeaders.get("Accept"));
+    assertEquals(5, requestHeaders.entries().size());
+    assertSame(requestHeaders, params.getRequestHeaders());
+    assertEquals(3, params.getHeaders().size());
+  }
+
+  @Test
+  public void shouldExcludeTokenFromSystemUserRequestHeaders() {
+    System.setProperty("SYSTEM_USER_ENABLED", "false");
+    Map<String, String> headersMap = new HashMap<>();
+    headersMap.put(OKAPI_TENANT_HEADER, "diku");
+    headersMap.put(OKAPI_TOKEN_HEADER, "dummy_token");
+
+    var params = new OkapiConnectionParams(headersMap, Mockito.mock(Vertx.class));
+    System.clearProperty("SYSTEM_USER_ENABLED");
+
+    assertTrue(params.isSystemUserEnabled());
+    assertEquals("dummy_token", params.getRequestHeaders().get(OKAPI_TOKEN_HEADER));
+    assertNull(params.getSystemUserRequestHeaders().get(OKAPI_TOKEN_HEADER));
+    assertEquals("diku", params.getSystemUserRequestHeaders().get(OKAPI_TENANT_HEADER));
+  }
+
+  @Test
+  public void shouldRebuildRequestHeadersOnSetHeaders() {
+    Map<String, String> headersMap = new HashMap<>();
+    headersMap.put(OKAPI_TENANT_HEADER, "diku");
+    var params = new OkapiConnectionParams(headersMap, Mockito.mock(Vertx.class));
+
+    params.setHeaders(MultiMap.caseInsensitiveMultiMap().add(OKAPI_TENANT_HEADER, "test"));
+
+    assertEquals("test", params.getRequestHeaders().get(OKAPI_TENANT_HEADER));
+    assertFalse(params.isSystemUserEnabled());
+    assertSame(params.getRequestHeaders(), params.getSystemUserRequestHeaders());
+  }
+
+  @Test
+  public void shouldRebuildRequestHeadersWhenHeadersChanged() {
+    Map<String, String> headersMap = new HashMap<>();
+    headersMap.put(OKAPI_TENANT_HEADER, "diku");
+    headersMap.put("content-type", "text/plain");
+    var params = new OkapiConnectionParams(headersMap, Mockito.mock(Vertx.class));
+    var requestHeaders = params.getRequestHeaders();
+
+    params.getHeaders().set(OKAPI_TENANT_HEADER, "test");
+
+    assertNotSame(requestHeaders, params.getRequestHeaders());
+    assertEquals("test", params.getRequestHeaders().get(OKAPI_TENANT_HEADER));
+    assertEquals("test", params.getSystemUserRequestHeaders().get(OKAPI_TENANT_HEADER));
+    assertEquals("application/json", params.getRequestHeaders().get("Content-Type"));
+    assertEquals(3, params.getRequestHeaders().entries().size());
+  }
+
 }
@@ -0,0 +1,57 @@
+package org.folio.dataimport.util;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+
+public class PayloadEncoderTest {
+
+  @Test
+  public void shouldEncodePojo() throws IOException {
+    Buffer buffer = PayloadEncoder.encode(new Payload("1", 2));
+    assertEquals(new JsonObject().put("id", "1").put("count", 2), buffer.toJsonObject());
+  }
+
+  @Test
+  public void shouldReuseWriterForSamePayloadClass() throws IOException {
+    PayloadEncoder.encode(new Payload("1", 1));
+    Buffer buffer = PayloadEncoder.encode(new Payload("2", 2));
+    assertEquals("2", buffer.toJsonObject().getString("id"));
+  }
+
+  @Test
+  public void shouldEncodeJsonObjectAndJsonArray() throws IOException {
+    JsonObject jsonObject = new JsonObject().put("id", "1");
+    JsonArray jsonArray = new JsonArray().add(jsonObject);
+    assertEquals(jsonObject, PayloadEncoder.encode(jsonObject).toJsonObject());
+    assertEquals(jsonArray, PayloadEncoder.encode(jsonArray).toJsonArray());
+  }
+
+  @Test
+  public void shouldEncodeNullPayload() throws IOException {
+    assertEquals("null", PayloadEncoder.encode(null).toString());
+  }
+
+  public static class Payload {
+    private final String id;
+    private final int count;
+
+    Payload(String id, int count) {
+      this.id = id;
+      this.count = count;
+    }
+
+    public String getId() {
+      return id;
+    }
+
+    public int getCount() {
+      return count;
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package org.folio.dataimport.util;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.sqlclient.Query;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowIterator;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlClient;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RecordCountTest {
+
+  private static final String COUNT_SQL = "SELECT count(*) FROM diku_mod_test.journal_records WHERE true";
+  private static final String EXPLAIN_SQL = "EXPLAIN (FORMAT JSON) SELECT 1 FROM diku_mod_test.journal_records WHERE true";
+
+  private SqlClient client;
+
+  @Before
+  public void setUp() {
+    client = mock(SqlClient.class);
+    Row countRow = mock(Row.class);
+    when(countRow.getLong(0)).thenReturn(42L);
+    mockQuery(COUNT_SQL, countRow);
+  }
+
+  @Test
+  public void shouldCountExactly() {
+    RecordCount count = count(CountPolicy.exact());
+
+    assertEquals(Long.valueOf(42), count.getTotalRecords());
+    assertEquals(CountPolicy.Mode.EXACT, count.getMode());
+    verify(client, never()).query(startsWith("EXPLAIN"));
+  }
+
+  @Test
+  public void shouldNotCount() {
+    RecordCount count = count(CountPolicy.none());
+
+    assertNull(count.getTotalRecords());
+    assertEquals(CountPolicy.Mode.NONE, count.getMode());
+    verify(client, never()).query(anyString());
+  }
+
+  @Test
+  public void shouldUseEstimateAboveThreshold() {
+    mockPlanRows(2_000_000);
+
+    RecordCount count = count(CountPolicy.estimated(1000));
+
+    assertEquals(Long.valueOf(2_000_000), count.getTotalRecords());
+    assertTrue(count.isEstimated());
+    verify(client, never()).query(startsWith("SELECT count"));
+  }
+
+  @Test
+  public void shouldCountExactlyWhenEstimateIsNotAboveThreshold() {
+    mockPlanRows(50);
+
+    RecordCount count = count(CountPolicy.estimated(1000));
+
+    assertEquals(Long.valueOf(42), count.getTotalRecords());
+    assertEquals(CountPolicy.Mode.EXACT, count.getMode());
+  }
+
+  @Test
+  public void shouldReadPlanRowsFromTextPlan() {
+    assertEquals(7, RecordCount.getPlanRows("[{\"Plan\": {\"Node Type\": \"Seq Scan\", \"Plan Rows\": 7}}]"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectNegativeThreshold() {
+    CountPolicy.estimated(-1);
+  }
+
+  private RecordCount count(CountPolicy policy) {
+    Future<RecordCount> future = RecordCount.count(client, "diku_mod_test", "journal_records", "true", policy);
+    assertTrue(future.succeeded());
+    return future.result();
+  }
+
+  private void mockPlanRows(long planRows) {
+    Row planRow = mock(Row.class);
+    when(planRow.getValue(0)).thenReturn(new JsonArray()
+      .add(new JsonObject().put("Plan", new JsonObject().put("Node Type", "Seq Scan").put("Plan Rows", planRows))));
+    mockQuery(EXPLAIN_SQL, planRow);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void mockQuery(String sql, Row row) {
+    Query<RowSet<Row>> query = mock(Query.class);
+    RowSet<Row> rowSet = mock(RowSet.class);
+    RowIterator<Row> iterator = mock(RowIterator.class);
+    when(iterator.next()).thenReturn(row);
+    when(rowSet.iterator()).thenReturn(iterator);
+    when(query.execute()).thenReturn(Future.succeededFuture(rowSet));
+    when(client.query(sql)).thenReturn(query);
+  }
+}
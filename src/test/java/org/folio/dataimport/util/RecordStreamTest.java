@@ -0,0 +1,147 @@
+package org.folio.dataimport.util;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.PreparedStatement;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowStream;
+import io.vertx.sqlclient.SqlConnection;
+import io.vertx.sqlclient.Transaction;
+import io.vertx.sqlclient.Tuple;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RecordStreamTest {
+
+  private static final String SQL = "SELECT id, jsonb FROM diku_mod_test.journal_records";
+
+  private Pool pool;
+  private SqlConnection connection;
+  private Transaction transaction;
+  private PreparedStatement statement;
+  private RowStream<Row> rowStream;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    pool = mock(Pool.class);
+    connection = mock(SqlConnection.class);
+    transaction = mock(Transaction.class);
+    statement = mock(PreparedStatement.class);
+    rowStream = mock(RowStream.class);
+    when(pool.getConnection()).thenReturn(Future.succeededFuture(connection));
+    when(connection.begin()).thenReturn(Future.succeededFuture(transaction));
+    when(connection.prepare(anyString())).thenReturn(Future.succeededFuture(statement));
+    when(connection.close()).thenReturn(Future.succeededFuture());
+    when(statement.createStream(eq(100), any(Tuple.class))).thenReturn(rowStream);
+    when(rowStream.close()).thenReturn(Future.succeededFuture());
+    when(transaction.commit()).thenReturn(Future.succeededFuture());
+    when(transaction.rollback()).thenReturn(Future.succeededFuture());
+  }
+
+  @Test
+  public void shouldOpenCursorWithFetchSizeAndCommitOnEnd() {
+    RecordStream stream = open();
+    AtomicBoolean ended = new AtomicBoolean();
+    Handler<Row> rowHandler = row -> { };
+    stream.handler(rowHandler).endHandler(v -> ended.set(true));
+
+    verify(connection).prepare(SQL);
+    verify(rowStream).handler(rowHandler);
+    captureEndHandler().handle(null);
+
+    assertTrue(ended.get());
+    verify(rowStream).close();
+    verify(transaction).commit();
+    verify(connection).close();
+  }
+
+  @Test
+  public void shouldRollbackAndReleaseConnectionOnFailure() {
+    RecordStream stream = open();
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    stream.exceptionHandler(failure::set);
+    RuntimeException cause = new RuntimeException("read failed");
+
+    captureExceptionHandler().handle(cause);
+
+    assertEquals(cause, failure.get());
+    verify(transaction).rollback();
+    verify(transaction, never()).commit();
+    verify(connection).close();
+  }
+
+  @Test
+  public void shouldReleaseConnectionOnceWhenClosed() {
+    RecordStream stream = open();
+    AtomicBoolean ended = new AtomicBoolean();
+    stream.endHandler(v -> ended.set(true));
+
+    assertTrue(stream.close().succeeded());
+    captureEndHandler().handle(null);
+
+    assertFalse(ended.get());
+    verify(transaction, times(1)).rollback();
+    verify(connection, times(1)).close();
+  }
+
+  @Test
+  public void shouldDelegateBackpressureToCursor() {
+    open().pause().fetch(5).resume();
+
+    verify(rowStream).pause();
+    verify(rowStream).fetch(5);
+    verify(rowStream).resume();
+  }
+
+  @Test
+  public void shouldReleaseConnectionWhenCursorCannotBeOpened() {
+    when(connection.prepare(anyString())).thenReturn(Future.failedFuture(new RuntimeException("invalid query")));
+
+    assertTrue(RecordStream.open(pool, SQL, Tuple.tuple(), 100).failed());
+    verify(connection).close();
+  }
+
+  @Test
+  public void shouldRejectInvalidFetchSize() {
+    assertTrue(RecordStream.open(pool, SQL, Tuple.tuple(), 0).failed());
+    verify(pool, never()).getConnection();
+  }
+
+  private RecordStream open() {
+    Future<RecordStream> future = RecordStream.open(pool, SQL, Tuple.tuple(), 100);
+    assertTrue(future.succeeded());
+    return future.result();
+  }
+
+  @SuppressWarnings("unchecked")
+  private Handler<Void> captureEndHandler() {
+    ArgumentCaptor<Handler<Void>> captor = ArgumentCaptor.forClass(Handler.class);
+    verify(rowStream).endHandler(captor.capture());
+    return captor.getValue();
+  }
+
+  @SuppressWarnings("unchecked")
+  private Handler<Throwable> captureExceptionHandler() {
+    ArgumentCaptor<Handler<Throwable>> captor = ArgumentCaptor.forClass(Handler.class);
+    verify(rowStream).exceptionHandler(captor.capture());
+    return captor.getValue();
+  }
+}
@@ -0,0 +1,72 @@
+package org.folio.dataimport.util;
+
+import io.vertx.core.buffer.Buffer;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RequestCompressionTest {
+
+  private static final String BODY = "{\"records\":[" + "{\"leader\":\"01240cas a2200397   4500\"},".repeat(200) + "{}]}";
+
+  @After
+  public void tearDown() {
+    RequestCompression.setOptions(null);
+  }
+
+  @Test
+  public void shouldCompressWithGzip() throws IOException {
+    CompressionOptions options = new CompressionOptions().setEncoding(CompressionOptions.Encoding.GZIP);
+
+    Buffer compressed = RequestCompression.compress(Buffer.buffer(BODY), options);
+
+    assertTrue(compressed.length() < BODY.length());
+    assertEquals(BODY, decompress(new GZIPInputStream(new ByteArrayInputStream(compressed.getBytes()))));
+  }
+
+  @Test
+  public void shouldCompressWithDeflate() throws IOException {
+    CompressionOptions options = new CompressionOptions().setEncoding(CompressionOptions.Encoding.DEFLATE).setLevel(1);
+
+    Buffer compressed = RequestCompression.compress(Buffer.buffer(BODY), options);
+
+    assertTrue(compressed.length() < BODY.length());
+    assertEquals(BODY, decompress(new InflaterInputStream(new ByteArrayInputStream(compressed.getBytes()))));
+  }
+
+  @Test
+  public void shouldCompressOnlyBodiesAboveThresholdOfNotExcludedRoutes() {
+    assertNull(RequestCompression.getOptions("/source-storage/records", 100_000));
+
+    RequestCompression.setOptions(new CompressionOptions().setThreshold(1024).addExcludedRoute("/inventory"));
+
+    assertNotNull(RequestCompression.getOptions("/source-storage/records", 1024));
+    assertNull(RequestCompression.getOptions("/source-storage/records", 1023));
+    assertNull(RequestCompression.getOptions("/inventory/instances", 100_000));
+    assertTrue(RequestCompression.isExcluded("/inventory/instances"));
+    assertFalse(RequestCompression.isExcluded("/source-storage/records"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldNotAcceptInvalidLevel() {
+    new CompressionOptions().setLevel(10);
+  }
+
+  private String decompress(InputStream inputStream) throws IOException {
+    try (inputStream) {
+      return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+}
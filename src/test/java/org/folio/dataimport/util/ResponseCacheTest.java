@@ -0,0 +1,139 @@
+package org.folio.dataimport.util;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.client.HttpResponse;
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.folio.dataimport.util.RestUtil.OKAPI_TENANT_HEADER;
+import static org.folio.dataimport.util.RestUtil.OKAPI_TOKEN_HEADER;
+import static org.folio.dataimport.util.RestUtil.OKAPI_URL_HEADER;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ResponseCacheTest {
+
+  @After
+  public void tearDown() {
+    ResponseCache.setOptions(null);
+  }
+
+  @Test
+  public void shouldIsolateEntriesByTenant() {
+    ResponseCache.setOptions(new ResponseCacheOptions());
+    ResponseCache cache = ResponseCache.getInstance();
+    String dikuKey = getKey(createParams("diku", "token"));
+    String anotherKey = getKey(createParams("another", "token"));
+
+    cache.put(dikuKey, "/locations", createResponse(10));
+
+    assertNotNull(cache.get(dikuKey));
+    assertNull(cache.get(anotherKey));
+
+    cache.invalidate("diku");
+    assertNull(cache.get(dikuKey));
+    assertEquals(0, cache.getSizeBytes());
+  }
+
+  @Test
+  public void shouldIsolateEntriesByTokenAndAcceptHeader() {
+    var params = createParams("diku", "token");
+    var headers = params.getRequestHeaders();
+
+    assertEquals(ResponseCache.getKey(params, "/locations", headers), getKey(createParams("diku", "token")));
+    assertNotEquals(ResponseCache.getKey(params, "/locations", headers), getKey(createParams("diku", "another-token")));
+    assertNotEquals(ResponseCache.getKey(params, "/locations", headers),
+      ResponseCache.getKey(params, "/locations", headers.with(RequestHeaders.ACCEPT, "application/x-protobuf")));
+    assertFalse(ResponseCache.getKey(params, "/locations", headers).contains("token"));
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedEntriesAboveMaxBytes() {
+    ResponseCache.setOptions(new ResponseCacheOptions().setMaxBytes(25));
+    ResponseCache cache = ResponseCache.getInstance();
+
+    cache.put("diku\n/a", "/a", createResponse(10));
+    cache.put("diku\n/b", "/b", createResponse(10));
+    cache.get("diku\n/a");
+    cache.put("diku\n/c", "/c", createResponse(10));
+
+    assertNotNull(cache.get("diku\n/a"));
+    assertNull(cache.get("diku\n/b"));
+    assertNotNull(cache.get("diku\n/c"));
+    assertEquals(20, cache.getSizeBytes());
+  }
+
+  @Test
+  public void shouldUseLongestMatchingRouteTtl() {
+    ResponseCacheOptions options = new ResponseCacheOptions()
+      .setDefaultTtl(1000)
+      .setRouteTtl("/data-import-profiles", 2000)
+      .setRouteTtl("/data-import-profiles/jobProfiles", 3000);
+
+    assertEquals(1000, options.getTtl("/locations"));
+    assertEquals(2000, options.getTtl("/data-import-profiles/mappingProfiles/1"));
+    assertEquals(3000, options.getTtl("/data-import-profiles/jobProfiles?limit=1"));
+  }
+
+  @Test
+  public void shouldNotCacheNonOkResponses() {
+    ResponseCache.setOptions(new ResponseCacheOptions());
+    ResponseCache cache = ResponseCache.getInstance();
+
+    cache.put("diku\n/a", "/a", new RestUtil.WrappedResponse(404, "", null));
+
+    assertNull(cache.get("diku\n/a"));
+    assertTrue(cache.getMisses() > 0);
+  }
+
+  @Test
+  public void shouldReturnNewResponseForEveryHitAndCountHeadersInSize() {
+    ResponseCache.setOptions(new ResponseCacheOptions());
+    ResponseCache cache = ResponseCache.getInstance();
+    RestUtil.WrappedResponse response = createResponse(10);
+    response.getResponse().headers().add("ETag", "\"v1\"");
+
+    cache.put("diku\n/a", "/a", response);
+    RestUtil.WrappedResponse first = cache.get("diku\n/a").getResponse();
+    RestUtil.WrappedResponse second = cache.get("diku\n/a").getResponse();
+
+    assertNotSame(response, first);
+    assertNotSame(first, second);
+    assertNotSame(first.getBody(), second.getBody());
+    assertEquals(first.getBody(), second.getBody());
+    assertEquals(200, second.getCode());
+    assertEquals("\"v1\"", second.getResponse().getHeader("etag"));
+    assertEquals(10 + "ETag".length() + "\"v1\"".length(), cache.getSizeBytes());
+  }
+
+  @SuppressWarnings("unchecked")
+  private RestUtil.WrappedResponse createResponse(int size) {
+    HttpResponse<Buffer> httpResponse = Mockito.mock(HttpResponse.class);
+    Mockito.when(httpResponse.statusCode()).thenReturn(200);
+    Mockito.when(httpResponse.body()).thenReturn(Buffer.buffer(new byte[size]));
+    Mockito.when(httpResponse.headers()).thenReturn(MultiMap.caseInsensitiveMultiMap());
+    return new RestUtil.WrappedResponse(httpResponse);
+  }
+
+  private String getKey(OkapiConnectionParams params) {
+    return ResponseCache.getKey(params, "/locations", params.getRequestHeaders());
+  }
+
+  private OkapiConnectionParams createParams(String tenantId, String token) {
+    Map<String, String> okapiHeaders = new HashMap<>();
+    okapiHeaders.put(OKAPI_URL_HEADER, "http://localhost:9130");
+    okapiHeaders.put(OKAPI_TENANT_HEADER, tenantId);
+    okapiHeaders.put(OKAPI_TOKEN_HEADER, token);
+    return new OkapiConnectionParams(okapiHeaders, null);
+  }
+}
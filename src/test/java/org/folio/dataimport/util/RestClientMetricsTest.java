@@ -0,0 +1,18 @@
+package org.folio.dataimport.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class RestClientMetricsTest {
+
+  @Test
+  public void shouldBuildPathTemplate() {
+    assertEquals("/source-storage/records/{id}",
+      RestClientMetrics.getPathTemplate("/source-storage/records/c56b70ce-4ef6-47ef-8bc3-c470bafa0b8c"));
+    assertEquals("/change-manager/jobExecutions/{id}/records",
+      RestClientMetrics.getPathTemplate("/change-manager/jobExecutions/5b1fe4d1-b9c6-4ee7-8a5e-d0d3b6a8b1a9/records?limit=10"));
+    assertEquals("/items/{id}", RestClientMetrics.getPathTemplate("/items/123"));
+    assertEquals("/locations", RestClientMetrics.getPathTemplate("/locations?query=code==main"));
+  }
+}
@@ -1,33 +1,49 @@
 package org.folio.dataimport.util;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.common.ConsoleNotifier;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
 import com.github.tomakehurst.wiremock.junit.WireMockRule;
 import com.github.tomakehurst.wiremock.matching.RegexPattern;
 import com.github.tomakehurst.wiremock.matching.UrlPathPattern;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.RunTestOnContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.ext.web.client.HttpResponse;
+import org.folio.dataimport.util.codec.JacksonCodecTest;
+import org.folio.dataimport.util.exception.ConcurrencyLimitExceededException;
+import org.folio.dataimport.util.exception.DeadlineExceededException;
 import org.folio.rest.RestVerticle;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.Mockito;
 
 import javax.ws.rs.BadRequestException;
 import javax.ws.rs.InternalServerErrorException;
 import javax.ws.rs.NotFoundException;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.folio.dataimport.util.RestUtil.OKAPI_TENANT_HEADER;
 import static org.folio.dataimport.util.RestUtil.OKAPI_TOKEN_HEADER;
@@ -36,6 +52,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(VertxUnitRunner.class)
@@ -70,6 +87,616 @@ public class RestUtilTest {
     });
   }
 
+  @Test
+  public void shouldSendRequestWhenHttp2EnabledAndServerDoesNotUpgrade(TestContext context) {
+    Async async = context.async();
+    HttpClientRegistry.setClientOptions(new RestClientOptions().setHttp2Enabled(true));
+
+    Map<String, String> okapiHeaders = new HashMap<>();
+    okapiHeaders.put(OKAPI_URL_HEADER, "http://localhost:" + mockServer.port());
+    okapiHeaders.put(OKAPI_TENANT_HEADER, "diku");
+    OkapiConnectionParams params = new OkapiConnectionParams(okapiHeaders, Vertx.vertx());
+
+    WireMock.stubFor(WireMock.get("/test-endpoint")
+      .willReturn(WireMock.okJson("{\"id\":\"1\"}")));
+
+    RestUtil.doRequest(params, "/test-endpoint", HttpMethod.GET, null)
+      .onComplete(response -> {
+        HttpClientRegistry.setClientOptions(null);
+        context.assertTrue(response.succeeded());
+        context.assertEquals(200, response.result().getCode());
+        context.assertEquals("1", response.result().getJson().getString("id"));
+        async.complete();
+      });
+  }
+
+  @Test
+  public void shouldStreamArrayElements(TestContext context) {
+    Async async = context.async();
+    OkapiConnectionParams params = createParams();
+
+    WireMock.stubFor(WireMock.get("/source-storage/records")
+      .willReturn(WireMock.okJson("{\"records\":[{\"id\":\"1\",\"tags\":[\"a\"]},{\"id\":\"2\",\"nested\":{\"records\":[]}}],"
+        + "\"other\":[{\"id\":\"3\"}],\"totalRecords\":2}")));
+
+    List<JsonObject> elements = new ArrayList<>();
+    RestUtil.doRequestStream(params, "/source-storage/records", "records")
+      .onComplete(context.asyncAssertSuccess(stream -> stream
+        .exceptionHandler(context::fail)
+        .endHandler(v -> {
+          context.assertEquals(2, elements.size());
+          context.assertEquals("1", elements.get(0).getString("id"));
+          context.assertEquals("2", elements.get(1).getString("id"));
+          async.complete();
+        })
+        .handler(elements::add)));
+  }
+
+  @Test
+  public void shouldFailStreamRequestWhenResponseIsNotOk(TestContext context) {
+    OkapiConnectionParams params = createParams();
+
+    WireMock.stubFor(WireMock.get("/source-storage/records")
+      .willReturn(WireMock.notFound()));
+
+    RestUtil.doRequestStream(params, "/source-storage/records", "records")
+      .onComplete(context.asyncAssertFailure(e -> context.assertTrue(e instanceof NotFoundException)));
+  }
+
+  @Test
+  public void shouldPropagateDeadlineAndApplyRequestTimeoutToStreamRequest(TestContext context) {
+    Async async = context.async();
+    OkapiConnectionParams params = createParams();
+    params.setDeadline(Deadline.after(5, TimeUnit.SECONDS));
+    params.setDeadlinePropagated(true);
+    params.setRequestTimeout(100);
+
+    WireMock.stubFor(WireMock.get("/source-storage/records")
+      .willReturn(WireMock.okJson("{\"records\":[]}").withFixedDelay(1000)));
+
+    RestUtil.doRequestStream(params, "/source-storage/records", "records")
+      .onComplete(context.asyncAssertFailure(e -> {
+        context.assertTrue(e instanceof TimeoutException);
+        var request = WireMock.findAll(WireMock.getRequestedFor(WireMock.urlEqualTo("/source-storage/records"))).get(0);
+        context.assertTrue(Long.parseLong(request.getHeader(Deadline.DEADLINE_HEADER)) > 0);
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldFailStreamWhenDeadlineExceededWhileReading(TestContext context) {
+    Async async = context.async();
+    OkapiConnectionParams params = createParams();
+
+    WireMock.stubFor(WireMock.get("/source-storage/records")
+      .willReturn(WireMock.okJson("{\"records\":[{\"id\":\"1\"},{\"id\":\"2\"}]}").withChunkedDribbleDelay(20, 5000)));
+    params.setDeadline(Deadline.after(1000, TimeUnit.MILLISECONDS));
+
+    RestUtil.doRequestStream(params, "/source-storage/records", "records")
+      .onComplete(context.asyncAssertSuccess(stream -> stream
+        .exceptionHandler(e -> {
+          if (!async.isCompleted()) {
+            async.complete();
+          }
+        })
+        .endHandler(v -> context.fail("Stream should fail when deadline is exceeded"))
+        .handler(element -> {
+        })));
+  }
+
+  @Test
+  public void shouldSendBatchRequestsAndReturnResultsInOrder(TestContext context) {
+    OkapiConnectionParams params = createParams();
+    WireMock.stubFor(WireMock.get(new UrlPathPattern(new RegexPattern("/items/[0-9]+"), true))
+      .willReturn(WireMock.okJson("{}")));
+    WireMock.stubFor(WireMock.get("/items/3")
+      .willReturn(WireMock.notFound()));
+
+    List<RestRequest> requests = IntStream.range(0, 6)
+      .mapToObj(i -> new RestRequest("/items/" + i, HttpMethod.GET))
+      .toList();
+
+    RestUtil.doRequests(params, requests, new BatchOptions().setMaxInFlight(2))
+      .onComplete(context.asyncAssertSuccess(results -> {
+        context.assertEquals(6, results.size());
+        for (int i = 0; i < results.size(); i++) {
+          context.assertTrue(results.get(i).succeeded());
+          context.assertEquals(i == 3 ? 404 : 200, results.get(i).result().getCode());
+        }
+      }));
+  }
+
+  @Test
+  public void shouldFailBatchOnFirstFailureInFailFastMode(TestContext context) {
+    OkapiConnectionParams params = createParams();
+    WireMock.stubFor(WireMock.get("/items/0")
+      .willReturn(WireMock.serverError()));
+    WireMock.stubFor(WireMock.get(new UrlPathPattern(new RegexPattern("/items/[1-9]+"), true))
+      .willReturn(WireMock.okJson("{}")));
+
+    Stream<RestRequest> requests = IntStream.range(0, 10)
+      .mapToObj(i -> new RestRequest("/items/" + i, HttpMethod.GET));
+
+    RestUtil.doRequests(params, requests, new BatchOptions().setMaxInFlight(1).setFailFast(true))
+      .onComplete(context.asyncAssertFailure(e -> {
+        context.assertTrue(e instanceof InternalServerErrorException);
+        context.assertEquals(1, WireMock.findAll(WireMock.getRequestedFor(WireMock.urlMatching("/items/.*"))).size());
+      }));
+  }
+
+  @Test
+  public void shouldRetryIdempotentRequestOnRetryableStatus(TestContext context) {
+    OkapiConnectionParams params = createParams();
+    params.setRetryPolicy(new RetryPolicy().setInitialDelay(10).setBudget(new RetryBudget(0.1, 10, 10)));
+
+    WireMock.stubFor(WireMock.get("/retry").inScenario("retry")
+      .whenScenarioStateIs(Scenario.STARTED)
+      .willReturn(WireMock.serviceUnavailable())
+      .willSetStateTo("recovered"));
+    WireMock.stubFor(WireMock.get("/retry").inScenario("retry")
+      .whenScenarioStateIs("recovered")
+      .willReturn(WireMock.okJson("{}")));
+
+    RestUtil.doRequest(params, "/retry", HttpMethod.GET, null)
+      .onComplete(context.asyncAssertSuccess(response -> {
+        context.assertEquals(200, response.getCode());
+        context.assertEquals(2, WireMock.findAll(WireMock.getRequestedFor(WireMock.urlEqualTo("/retry"))).size());
+      }));
+  }
+
+  @Test
+  public void shouldNotRetryPostByDefault(TestContext context) {
+    OkapiConnectionParams params = createParams();
+    params.setRetryPolicy(new RetryPolicy().setInitialDelay(10).setBudget(new RetryBudget(0.1, 10, 10)));
+
+    WireMock.stubFor(WireMock.post("/retry")
+      .willReturn(WireMock.serviceUnavailable()));
+
+    RestUtil.doRequest(params, "/retry", HttpMethod.POST, new JsonObject())
+      .onComplete(context.asyncAssertSuccess(response -> {
+        context.assertEquals(503, response.getCode());
+        context.assertEquals(1, WireMock.findAll(WireMock.postRequestedFor(WireMock.urlEqualTo("/retry"))).size());
+      }));
+  }
+
+  @Test
+  public void shouldStopRetryingWhenBudgetIsExhausted(TestContext context) {
+    OkapiConnectionParams params = createParams();
+    RestRequest request = new RestRequest("/retry", HttpMethod.GET)
+      .setRetryPolicy(new RetryPolicy().setMaxAttempts(5).setInitialDelay(10).setBudget(new RetryBudget(0, 1, 1)));
+
+    WireMock.stubFor(WireMock.get("/retry")
+      .willReturn(WireMock.serviceUnavailable()));
+
+    RestUtil.doRequest(params, request)
+      .onComplete(context.asyncAssertSuccess(response -> {
+        context.assertEquals(503, response.getCode());
+        context.assertEquals(2, WireMock.findAll(WireMock.getRequestedFor(WireMock.urlEqualTo("/retry"))).size());
+      }));
+  }
+
+  @Test
+  public void shouldCoalesceIdenticalConcurrentGetRequests(TestContext context) {
+    Async async = context.async();
+    OkapiConnectionParams params = createParams();
+
+    WireMock.stubFor(WireMock.get("/mapping-rules")
+      .willReturn(WireMock.okJson("{\"id\":\"1\"}").withFixedDelay(300)));
+
+    Future<RestUtil.WrappedResponse> first = RestUtil.doRequest(params, new RestRequest("/mapping-rules", HttpMethod.GET).setCoalesced(true));
+    Future<RestUtil.WrappedResponse> second = RestUtil.doRequest(params, new RestRequest("/mapping-rules", HttpMethod.GET).setCoalesced(true));
+
+    Future.all(first, second).onComplete(context.asyncAssertSuccess(v -> {
+      context.assertEquals("1", first.result().getJson().getString("id"));
+      context.assertTrue(first.result() == second.result());
+      context.assertEquals(1, WireMock.findAll(WireMock.getRequestedFor(WireMock.urlEqualTo("/mapping-rules"))).size());
+      async.complete();
+    }));
+  }
+
+  @Test
+  public void shouldNotCoalesceRequestsOfDifferentTenants(TestContext context) {
+    OkapiConnectionParams params = createParams();
+    Map<String, String> okapiHeaders = new HashMap<>();
+    okapiHeaders.put(OKAPI_URL_HEADER, "http://localhost:" + mockServer.port());
+    okapiHeaders.put(OKAPI_TENANT_HEADER, "another_tenant");
+    OkapiConnectionParams anotherTenantParams = new OkapiConnectionParams(okapiHeaders, Vertx.vertx());
+
+    WireMock.stubFor(WireMock.get("/mapping-rules")
+      .willReturn(WireMock.okJson("{}").withFixedDelay(300)));
+
+    Future<RestUtil.WrappedResponse> first = RestUtil.doRequest(params, new RestRequest("/mapping-rules", HttpMethod.GET).setCoalesced(true));
+    Future<RestUtil.WrappedResponse> second = RestUtil.doRequest(anotherTenantParams, new RestRequest("/mapping-rules", HttpMethod.GET).setCoalesced(true));
+
+    Future.all(first, second).onComplete(context.asyncAssertSuccess(v ->
+      context.assertEquals(2, WireMock.findAll(WireMock.getRequestedFor(WireMock.urlEqualTo("/mapping-rules"))).size())));
+  }
+
+  @Test
+  public void shouldReturnCachedResponseAndRevalidateStaleEntry(TestContext context) {
+    Async async = context.async();
+    ResponseCache.setOptions(new ResponseCacheOptions().setDefaultTtl(60000).setRouteTtl("/locations", 0));
+    OkapiConnectionParams params = createParams();
+
+    WireMock.stubFor(WireMock.get("/identifier-types")
+      .willReturn(WireMock.okJson("{\"id\":\"1\"}")));
+    WireMock.stubFor(WireMock.get("/locations")
+      .willReturn(WireMock.okJson("{\"id\":\"2\"}").withHeader("ETag", "\"v1\"")));
+    WireMock.stubFor(WireMock.get("/locations").withHeader("If-None-Match", WireMock.equalTo("\"v1\""))
+      .willReturn(WireMock.status(304)));
+
+    RestUtil.doRequest(params, new RestRequest("/identifier-types", HttpMethod.GET).setCacheable(true))
+      .compose(r -> RestUtil.doRequest(params, new RestRequest("/identifier-types", HttpMethod.GET).setCacheable(true)))
+      .compose(r -> {
+        context.assertEquals("1", r.getJson().getString("id"));
+        return RestUtil.doRequest(params, new RestRequest("/locations", HttpMethod.GET).setCacheable(true));
+      })
+      .compose(r -> RestUtil.doRequest(params, new RestRequest("/locations", HttpMethod.GET).setCacheable(true)))
+      .onComplete(ar -> {
+        ResponseCache.setOptions(null);
+        context.assertTrue(ar.succeeded());
+        context.assertEquals(200, ar.result().getCode());
+        context.assertEquals("2", ar.result().getJson().getString("id"));
+        context.assertEquals(1, WireMock.findAll(WireMock.getRequestedFor(WireMock.urlEqualTo("/identifier-types"))).size());
+        context.assertEquals(2, WireMock.findAll(WireMock.getRequestedFor(WireMock.urlEqualTo("/locations"))).size());
+        async.complete();
+      });
+  }
+
+  @Test
+  public void shouldNotifyMetricsListener(TestContext context) {
+    Async async = context.async();
+    OkapiConnectionParams params = createParams();
+    List<String> events = new ArrayList<>();
+    RestClientMetrics.setListener(new RestClientMetricsListener() {
+      @Override
+      public void requestStarted(HttpMethod method, String pathTemplate) {
+        events.add("started " + method + " " + pathTemplate);
+      }
+
+      @Override
+      public void requestCompleted(HttpMethod method, String pathTemplate, int statusCode, long durationNanos,
+                                   long requestBytes, long responseBytes) {
+        events.add("completed " + method + " " + pathTemplate + " " + statusCode + " " + requestBytes + " " + responseBytes);
+      }
+    });
+
+    WireMock.stubFor(WireMock.put(new UrlPathPattern(new RegexPattern("/items/.*"), true))
+      .willReturn(WireMock.ok("done")));
+
+    RestUtil.doRequest(params, "/items/" + UUID.randomUUID(), HttpMethod.PUT, new JsonObject().put("id", "1"))
+      .onComplete(ar -> {
+        RestClientMetrics.setListener(null);
+        context.assertTrue(ar.succeeded());
+        context.assertEquals(List.of("started PUT /items/{id}", "completed PUT /items/{id} 200 10 4"), events);
+        async.complete();
+      });
+  }
+
+  @Test
+  public void shouldFailWithoutSendingWhenDeadlineExceeded(TestContext context) {
+    Async async = context.async();
+    OkapiConnectionParams params = createParams();
+    params.setDeadline(Deadline.after(0, TimeUnit.MILLISECONDS));
+
+    WireMock.stubFor(WireMock.get("/test-endpoint").willReturn(WireMock.ok()));
+
+    RestUtil.doRequest(params, "/test-endpoint", HttpMethod.GET, null)
+      .onComplete(context.asyncAssertFailure(e -> {
+        context.assertTrue(e instanceof DeadlineExceededException);
+        WireMock.verify(0, WireMock.getRequestedFor(WireMock.urlEqualTo("/test-endpoint")));
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldShareDeadlineBetweenChainedRequests(TestContext context) {
+    Async async = context.async();
+    OkapiConnectionParams params = createParams();
+    params.setDeadline(Deadline.after(500, TimeUnit.MILLISECONDS));
+    params.setDeadlinePropagated(true);
+
+    WireMock.stubFor(WireMock.get("/test-endpoint")
+      .willReturn(WireMock.ok().withFixedDelay(300)));
+
+    RestUtil.doRequest(params, "/test-endpoint", HttpMethod.GET, null)
+      .compose(response -> {
+        context.assertEquals(200, response.getCode());
+        return RestUtil.doRequest(params, "/test-endpoint", HttpMethod.GET, null);
+      })
+      .onComplete(context.asyncAssertFailure(e -> {
+        context.assertTrue(e instanceof DeadlineExceededException);
+        var requests = WireMock.findAll(WireMock.getRequestedFor(WireMock.urlEqualTo("/test-endpoint")));
+        context.assertEquals(2, requests.size());
+        long firstRemaining = Long.parseLong(requests.get(0).getHeader(Deadline.DEADLINE_HEADER));
+        long secondRemaining = Long.parseLong(requests.get(1).getHeader(Deadline.DEADLINE_HEADER));
+        context.assertTrue(firstRemaining <= 500 && secondRemaining < 300);
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldFailWhenRequestTimeoutExceeded(TestContext context) {
+    Async async = context.async();
+    OkapiConnectionParams params = createParams();
+    params.setRequestTimeout(100);
+
+    WireMock.stubFor(WireMock.get("/test-endpoint")
+      .willReturn(WireMock.ok().withFixedDelay(1000)));
+
+    RestUtil.doRequest(params, "/test-endpoint", HttpMethod.GET, null)
+      .onComplete(context.asyncAssertFailure(e -> {
+        context.assertTrue(e instanceof TimeoutException);
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldUseResponseOfHedgedRequestWhenFirstIsSlow(TestContext context) {
+    Async async = context.async();
+    OkapiConnectionParams params = createParams();
+    params.setHedgingPolicy(new HedgingPolicy().setDelay(50).setPercentile(0));
+
+    WireMock.stubFor(WireMock.get("/hedged-endpoint").inScenario("hedge")
+      .whenScenarioStateIs(Scenario.STARTED)
+      .willReturn(WireMock.okJson("{\"response\":\"slow\"}").withFixedDelay(2000))
+      .willSetStateTo("hedged"));
+    WireMock.stubFor(WireMock.get("/hedged-endpoint").inScenario("hedge")
+      .whenScenarioStateIs("hedged")
+      .willReturn(WireMock.okJson("{\"response\":\"fast\"}")));
+
+    long start = System.currentTimeMillis();
+    RestUtil.doRequest(params, "/hedged-endpoint", HttpMethod.GET, null)
+      .onComplete(context.asyncAssertSuccess(response -> {
+        context.assertEquals("fast", response.getJson().getString("response"));
+        context.assertTrue(System.currentTimeMillis() - start < 1500);
+        WireMock.verify(2, WireMock.getRequestedFor(WireMock.urlEqualTo("/hedged-endpoint")));
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldReportLosingHedgedRequestAsCancelled(TestContext context) {
+    Async async = context.async();
+    OkapiConnectionParams params = createParams();
+    params.setHedgingPolicy(new HedgingPolicy().setDelay(50).setPercentile(0));
+    List<String> events = new ArrayList<>();
+    RestClientMetrics.setListener(new RestClientMetricsListener() {
+      @Override
+      public void requestFailed(HttpMethod method, String pathTemplate, Throwable cause, long durationNanos) {
+        events.add("failed");
+      }
+
+      @Override
+      public void requestCancelled(HttpMethod method, String pathTemplate, long durationNanos) {
+        events.add("cancelled");
+      }
+    });
+
+    WireMock.stubFor(WireMock.get("/hedged-endpoint").inScenario("hedge")
+      .whenScenarioStateIs(Scenario.STARTED)
+      .willReturn(WireMock.ok().withFixedDelay(2000))
+      .willSetStateTo("hedged"));
+    WireMock.stubFor(WireMock.get("/hedged-endpoint").inScenario("hedge")
+      .whenScenarioStateIs("hedged")
+      .willReturn(WireMock.ok()));
+
+    RestUtil.doRequest(params, "/hedged-endpoint", HttpMethod.GET, null)
+      .onComplete(context.asyncAssertSuccess(response -> rule.vertx().setTimer(200, id -> {
+        RestClientMetrics.setListener(null);
+        context.assertEquals(List.of("cancelled"), events);
+        async.complete();
+      })));
+  }
+
+  @Test
+  public void shouldNotRecordCancelledHedgedRequestInCircuitBreaker(TestContext context) {
+    Async async = context.async();
+    OkapiConnectionParams params = createParams();
+    params.setHedgingPolicy(new HedgingPolicy().setDelay(150).setPercentile(0));
+    CircuitBreakerRegistry.setOptions(new CircuitBreakerOptions()
+      .setSlidingWindowSize(2)
+      .setMinimumCalls(2)
+      .setSlowCallDuration(100)
+      .setSlowCallRateThreshold(50));
+    List<String> transitions = new ArrayList<>();
+    CircuitBreakerRegistry.setStateListener((name, from, to) -> transitions.add(from + "->" + to));
+
+    WireMock.stubFor(WireMock.get("/hedged-endpoint").inScenario("hedge")
+      .whenScenarioStateIs(Scenario.STARTED)
+      .willReturn(WireMock.ok().withFixedDelay(2000))
+      .willSetStateTo("hedged"));
+    WireMock.stubFor(WireMock.get("/hedged-endpoint").inScenario("hedge")
+      .whenScenarioStateIs("hedged")
+      .willReturn(WireMock.ok()));
+
+    RestUtil.doRequest(params, "/hedged-endpoint", HttpMethod.GET, null)
+      .onComplete(context.asyncAssertSuccess(response -> rule.vertx().setTimer(200, id -> {
+        var circuitBreaker = CircuitBreakerRegistry.getCircuitBreaker(params.getOkapiUrl(), "/hedged-endpoint");
+        CircuitBreakerRegistry.setOptions(null);
+        CircuitBreakerRegistry.setStateListener(null);
+        context.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        context.assertTrue(transitions.isEmpty());
+        async.complete();
+      })));
+  }
+
+  @Test
+  public void shouldNotHedgeRequestWhenBudgetIsExhausted(TestContext context) {
+    Async async = context.async();
+    OkapiConnectionParams params = createParams();
+    params.setHedgingPolicy(new HedgingPolicy().setDelay(20).setPercentile(0).setBudget(new RetryBudget(0, 0, 0)));
+
+    WireMock.stubFor(WireMock.get("/hedged-endpoint")
+      .willReturn(WireMock.ok().withFixedDelay(200)));
+
+    RestUtil.doRequest(params, "/hedged-endpoint", HttpMethod.GET, null)
+      .onComplete(context.asyncAssertSuccess(response -> {
+        WireMock.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo("/hedged-endpoint")));
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldRejectRequestsOverConcurrencyLimit(TestContext context) {
+    Async async = context.async();
+    OkapiConnectionParams params = createParams();
+    ConcurrencyLimiterRegistry.setOptions(new ConcurrencyLimiterOptions().setInitialLimit(1).setMaxQueueSize(0));
+
+    WireMock.stubFor(WireMock.get("/limited-endpoint")
+      .willReturn(WireMock.ok().withFixedDelay(200)));
+
+    var first = RestUtil.doRequest(params, "/limited-endpoint", HttpMethod.GET, null);
+    var second = RestUtil.doRequest(params, "/limited-endpoint", HttpMethod.GET, null);
+
+    Future.join(first, second).onComplete(ar -> {
+      ConcurrencyLimiterRegistry.setOptions(null);
+      context.assertTrue(first.succeeded());
+      context.assertTrue(second.cause() instanceof ConcurrencyLimitExceededException);
+      WireMock.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo("/limited-endpoint")));
+      async.complete();
+    });
+  }
+
+  @Test
+  public void shouldCompressLargeRequestBodyAndAcceptCompressedResponse(TestContext context) {
+    Async async = context.async();
+    OkapiConnectionParams params = createParams();
+    RequestCompression.setOptions(new CompressionOptions().setThreshold(1024));
+    JsonObject payload = new JsonObject().put("content", "a".repeat(10_000));
+
+    WireMock.stubFor(WireMock.post("/compressed-endpoint")
+      .willReturn(WireMock.okJson(payload.encode())));
+
+    RestUtil.doRequest(params, "/compressed-endpoint", HttpMethod.POST, payload)
+      .onComplete(ar -> {
+        RequestCompression.setOptions(null);
+        context.assertTrue(ar.succeeded());
+        context.assertEquals(payload, ar.result().getJson());
+        WireMock.verify(WireMock.postRequestedFor(WireMock.urlEqualTo("/compressed-endpoint"))
+          .withHeader("Content-Encoding", WireMock.equalTo("gzip"))
+          .withHeader("Accept-Encoding", WireMock.containing("gzip")));
+        async.complete();
+      });
+  }
+
+  @Test
+  public void shouldCompressRequestBodyOnceForAllAttempts(TestContext context) {
+    Async async = context.async();
+    OkapiConnectionParams params = createParams();
+    params.setRetryPolicy(new RetryPolicy().setInitialDelay(10).setBudget(new RetryBudget(0.1, 10, 10)));
+    RequestCompression.setOptions(new CompressionOptions().setThreshold(1024).setBlockingThreshold(0));
+    List<Long> compressedSizes = new ArrayList<>();
+    RestClientMetrics.setListener(new RestClientMetricsListener() {
+      @Override
+      public void requestCompressed(HttpMethod method, String pathTemplate, long originalBytes, long compressedBytes) {
+        compressedSizes.add(compressedBytes);
+      }
+    });
+
+    WireMock.stubFor(WireMock.put("/compressed-endpoint").inScenario("retry")
+      .whenScenarioStateIs(Scenario.STARTED)
+      .willReturn(WireMock.serviceUnavailable())
+      .willSetStateTo("recovered"));
+    WireMock.stubFor(WireMock.put("/compressed-endpoint").inScenario("retry")
+      .whenScenarioStateIs("recovered")
+      .willReturn(WireMock.noContent()));
+
+    RestUtil.doRequest(params, "/compressed-endpoint", HttpMethod.PUT, new JsonObject().put("content", "a".repeat(10_000)))
+      .onComplete(ar -> {
+        RequestCompression.setOptions(null);
+        RestClientMetrics.setListener(null);
+        context.assertTrue(ar.succeeded());
+        context.assertEquals(204, ar.result().getCode());
+        context.assertEquals(1, compressedSizes.size());
+        WireMock.verify(2, WireMock.putRequestedFor(WireMock.urlEqualTo("/compressed-endpoint"))
+          .withHeader("Content-Encoding", WireMock.equalTo("gzip")));
+        async.complete();
+      });
+  }
+
+  @Test
+  public void shouldNotCompressRequestsOfExcludedRoutes(TestContext context) {
+    Async async = context.async();
+    OkapiConnectionParams params = createParams();
+    RequestCompression.setOptions(new CompressionOptions().setThreshold(0).addExcludedRoute("/excluded"));
+
+    WireMock.stubFor(WireMock.post("/excluded-endpoint").willReturn(WireMock.ok()));
+
+    RestUtil.doRequest(params, "/excluded-endpoint", HttpMethod.POST, new JsonObject().put("content", "a".repeat(10_000)))
+      .onComplete(ar -> {
+        RequestCompression.setOptions(null);
+        context.assertTrue(ar.succeeded());
+        WireMock.verify(WireMock.postRequestedFor(WireMock.urlEqualTo("/excluded-endpoint"))
+          .withoutHeader("Content-Encoding")
+          .withHeader("Accept-Encoding", WireMock.equalTo("identity")));
+        async.complete();
+      });
+  }
+
+  @Test
+  public void shouldDecodeResponseToType(TestContext context) {
+    Async async = context.async();
+    OkapiConnectionParams params = createParams();
+
+    WireMock.stubFor(WireMock.get("/typed-endpoint")
+      .willReturn(WireMock.okJson("{\"id\":\"1\",\"count\":2}")));
+    WireMock.stubFor(WireMock.get("/typed-list-endpoint")
+      .willReturn(WireMock.okJson("[{\"id\":\"1\",\"count\":2}]")));
+
+    RestUtil.doRequest(params, new RestRequest("/typed-endpoint", HttpMethod.GET), JacksonCodecTest.Item.class)
+      .compose(item -> {
+        context.assertEquals("1", item.getId());
+        context.assertEquals(2, item.getCount());
+        return RestUtil.doRequest(params, new RestRequest("/typed-list-endpoint", HttpMethod.GET),
+          new TypeReference<List<JacksonCodecTest.Item>>() { });
+      })
+      .onComplete(context.asyncAssertSuccess(items -> {
+        context.assertEquals(1, items.size());
+        context.assertEquals("1", items.get(0).getId());
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldFailTypedRequestWhenResponseIsNotSuccessful(TestContext context) {
+    Async async = context.async();
+    OkapiConnectionParams params = createParams();
+
+    WireMock.stubFor(WireMock.get("/typed-endpoint").willReturn(WireMock.notFound()));
+
+    RestUtil.doRequest(params, new RestRequest("/typed-endpoint", HttpMethod.GET), JacksonCodecTest.Item.class)
+      .onComplete(context.asyncAssertFailure(e -> {
+        context.assertTrue(e instanceof NotFoundException);
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldExposeRequestTimings(TestContext context) {
+    Async async = context.async();
+    OkapiConnectionParams params = createParams();
+    SlowRequestLog.setOptions(new SlowRequestLogOptions().setThreshold(0));
+
+    WireMock.stubFor(WireMock.get("/test-endpoint")
+      .willReturn(WireMock.okJson("{\"id\":\"1\"}").withFixedDelay(100)));
+
+    RestUtil.doRequest(params, "/test-endpoint", HttpMethod.GET, null)
+      .onComplete(ar -> {
+        SlowRequestLog.setOptions(null);
+        context.assertTrue(ar.succeeded());
+        RequestTimings timings = ar.result().getTimings();
+        context.assertNotNull(timings);
+        context.assertTrue(timings.getConnectionAcquisitionNanos() > 0);
+        context.assertTrue(timings.getTimeToFirstByteNanos() >= TimeUnit.MILLISECONDS.toNanos(100));
+        context.assertTrue(timings.getDurationNanos() >= timings.getConnectionAcquisitionNanos() + timings.getTimeToFirstByteNanos());
+        context.assertEquals(0L, timings.getDecodeNanos());
+        context.assertEquals("1", ar.result().getJson().getString("id"));
+        context.assertTrue(timings.getDecodeNanos() > 0);
+        async.complete();
+      });
+  }
+
   @Test
   public void shouldValidateFailedAsyncResult() {
     AsyncResult<RestUtil.WrappedResponse> failedAsyncResult = getAsyncResult(null, new IOException(), false, true);
@@ -145,6 +772,46 @@ public class RestUtilTest {
     assertTrue(promise.future().cause() instanceof BadRequestException);
   }
 
+  @Test
+  public void shouldDecodeJsonBodyLazily() {
+    HttpResponse<Buffer> httpResponse = mockHttpResponse(200, "application/json", "{\"id\":\"1\"}");
+
+    RestUtil.WrappedResponse response = new RestUtil.WrappedResponse(httpResponse);
+
+    assertEquals(200, response.getCode());
+    assertEquals("1", response.getJson().getString("id"));
+    assertSame(response.getJson(), response.getJson());
+    assertEquals("{\"id\":\"1\"}", response.getBody());
+  }
+
+  @Test
+  public void shouldNotParseJsonWhenContentTypeIsNotJson() {
+    HttpResponse<Buffer> httpResponse = mockHttpResponse(200, "text/plain", "{\"id\":\"1\"}");
+
+    RestUtil.WrappedResponse response = new RestUtil.WrappedResponse(httpResponse);
+
+    assertNull(response.getJson());
+    assertEquals("{\"id\":\"1\"}", response.getBody());
+  }
+
+  @Test
+  public void shouldReturnNullJsonWhenBodyIsNotJsonObject() {
+    assertNull(new RestUtil.WrappedResponse(mockHttpResponse(200, null, "not json")).getJson());
+    assertNull(new RestUtil.WrappedResponse(mockHttpResponse(200, "application/json", "{broken")).getJson());
+    assertNull(new RestUtil.WrappedResponse(mockHttpResponse(204, null, null)).getJson());
+    assertNull(new RestUtil.WrappedResponse(mockHttpResponse(204, null, null)).getBody());
+  }
+
+  @Test
+  public void shouldDecodeBodyWithCharsetOfContentType() {
+    HttpResponse<Buffer> httpResponse = mockHttpResponse(200, "text/plain; charset=ISO-8859-1", null);
+    Mockito.when(httpResponse.body()).thenReturn(Buffer.buffer("caf\u00e9".getBytes(StandardCharsets.ISO_8859_1)));
+
+    assertEquals("caf\u00e9", new RestUtil.WrappedResponse(httpResponse).getBody());
+    assertEquals("caf\u00e9", new RestUtil.WrappedResponse(mockHttpResponse(200, "text/plain", "caf\u00e9")).getBody());
+    assertEquals("caf\u00e9", new RestUtil.WrappedResponse(mockHttpResponse(200, "text/plain; charset=unknown", "caf\u00e9")).getBody());
+  }
+
   @Test
   public void shouldRemoveTokenHeaderWhenSystemUserDisabled(TestContext context) {
     Async async = context.async();
@@ -239,6 +906,23 @@ public class RestUtilTest {
     });
   }
 
+  private OkapiConnectionParams createParams() {
+    Map<String, String> okapiHeaders = new HashMap<>();
+    okapiHeaders.put(OKAPI_URL_HEADER, "http://localhost:" + mockServer.port());
+    okapiHeaders.put(OKAPI_TENANT_HEADER, "diku");
+    okapiHeaders.put(OKAPI_TOKEN_HEADER, "token");
+    return new OkapiConnectionParams(okapiHeaders, Vertx.vertx());
+  }
+
+  @SuppressWarnings("unchecked")
+  private HttpResponse<Buffer> mockHttpResponse(int statusCode, String contentType, String body) {
+    HttpResponse<Buffer> httpResponse = Mockito.mock(HttpResponse.class);
+    Mockito.when(httpResponse.statusCode()).thenReturn(statusCode);
+    Mockito.when(httpResponse.getHeader(HttpHeaders.CONTENT_TYPE.toString())).thenReturn(contentType);
+    Mockito.when(httpResponse.body()).thenReturn(body != null ? Buffer.buffer(body) : null);
+    return httpResponse;
+  }
+
   private AsyncResult<RestUtil.WrappedResponse> getAsyncResult(RestUtil.WrappedResponse result, Throwable cause, boolean succeeded, boolean failed) {
     return new AsyncResult<RestUtil.WrappedResponse>() {
       @Override
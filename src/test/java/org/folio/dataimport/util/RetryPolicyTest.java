@@ -0,0 +1,64 @@
+package org.folio.dataimport.util;
+
+import io.vertx.core.Future;
+import io.vertx.core.http.HttpMethod;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RetryPolicyTest {
+
+  @Test
+  public void shouldRetryOnlyIdempotentMethodsByDefault() {
+    RetryPolicy policy = new RetryPolicy();
+    assertTrue(policy.isRetryable(HttpMethod.GET));
+    assertTrue(policy.isRetryable(HttpMethod.PUT));
+    assertTrue(policy.isRetryable(HttpMethod.DELETE));
+    assertFalse(policy.isRetryable(HttpMethod.POST));
+    assertTrue(policy.setRetryNonIdempotent(true).isRetryable(HttpMethod.POST));
+  }
+
+  @Test
+  public void shouldRetryOnRetryableStatusCodesAndExceptions() {
+    RetryPolicy policy = new RetryPolicy();
+    assertTrue(policy.shouldRetry(Future.succeededFuture(new RestUtil.WrappedResponse(503, "", null))));
+    assertFalse(policy.shouldRetry(Future.succeededFuture(new RestUtil.WrappedResponse(500, "", null))));
+    assertTrue(policy.shouldRetry(Future.failedFuture(new ConnectException())));
+    assertTrue(policy.shouldRetry(Future.failedFuture(new RuntimeException(new IOException()))));
+    assertFalse(policy.shouldRetry(Future.failedFuture(new IllegalStateException())));
+  }
+
+  @Test
+  public void shouldGrowDelayExponentiallyUpToMaxDelay() {
+    RetryPolicy policy = new RetryPolicy().setInitialDelay(100).setMaxDelay(1000).setJitter(0);
+    assertEquals(100, policy.getDelay(1));
+    assertEquals(200, policy.getDelay(2));
+    assertEquals(400, policy.getDelay(3));
+    assertEquals(1000, policy.getDelay(10));
+  }
+
+  @Test
+  public void shouldRandomizeDelayWithinJitterRange() {
+    RetryPolicy policy = new RetryPolicy().setInitialDelay(1000).setJitter(0.5);
+    for (int i = 0; i < 100; i++) {
+      long delay = policy.getDelay(1);
+      assertTrue(delay >= 500 && delay <= 1000);
+    }
+  }
+
+  @Test
+  public void shouldLimitRetriesByBudget() {
+    RetryBudget budget = new RetryBudget(0.5, 1, 2);
+    assertTrue(budget.tryWithdraw());
+    assertFalse(budget.tryWithdraw());
+    budget.deposit();
+    assertFalse(budget.tryWithdraw());
+    budget.deposit();
+    assertTrue(budget.tryWithdraw());
+  }
+}
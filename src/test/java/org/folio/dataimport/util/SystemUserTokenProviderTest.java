@@ -0,0 +1,298 @@
+package org.folio.dataimport.util;
+
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.common.ConsoleNotifier;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.folio.dataimport.util.RestUtil.OKAPI_TENANT_HEADER;
+import static org.folio.dataimport.util.RestUtil.OKAPI_TOKEN_HEADER;
+import static org.folio.dataimport.util.RestUtil.OKAPI_URL_HEADER;
+
+@RunWith(VertxUnitRunner.class)
+public class SystemUserTokenProviderTest {
+
+  private static final String LOGIN_PATH = SystemUserTokenProviderOptions.DEFAULT_LOGIN_PATH;
+
+  @Rule
+  public RunTestOnContext rule = new RunTestOnContext();
+
+  @Rule
+  public WireMockRule mockServer = new WireMockRule(
+    WireMockConfiguration.wireMockConfig()
+      .dynamicPort()
+      .notifier(new ConsoleNotifier(true)));
+
+  private final AtomicLong clock = new AtomicLong(1_000_000);
+
+  @Test
+  public void shouldLoginOnceAndCacheToken(TestContext context) {
+    Async async = context.async();
+    stubLogin(loginResponse("token-1"));
+    var provider = createProvider();
+    var params = createParams();
+
+    provider.getToken(params)
+      .compose(token -> {
+        context.assertEquals("token-1", token);
+        return provider.getToken(params);
+      })
+      .onComplete(context.asyncAssertSuccess(token -> {
+        context.assertEquals("token-1", token);
+        WireMock.verify(1, WireMock.postRequestedFor(WireMock.urlEqualTo(LOGIN_PATH))
+          .withHeader(OKAPI_TENANT_HEADER, WireMock.equalTo("diku"))
+          .withoutHeader(OKAPI_TOKEN_HEADER)
+          .withRequestBody(WireMock.equalToJson("{\"username\":\"diku-system-user\",\"password\":\"secret\"}")));
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldCoalesceConcurrentLogins(TestContext context) {
+    Async async = context.async();
+    stubLogin(loginResponse("token-1").withFixedDelay(200));
+    var provider = createProvider();
+    var params = createParams();
+
+    var futures = IntStream.range(0, 5)
+      .mapToObj(i -> provider.getToken(params))
+      .toList();
+
+    Future.all(futures).onComplete(context.asyncAssertSuccess(v -> {
+      futures.forEach(future -> context.assertEquals("token-1", future.result()));
+      WireMock.verify(1, WireMock.postRequestedFor(WireMock.urlEqualTo(LOGIN_PATH)));
+      async.complete();
+    }));
+  }
+
+  @Test
+  public void shouldRefreshTokenAheadOfExpiration(TestContext context) {
+    Async async = context.async();
+    WireMock.stubFor(WireMock.post(LOGIN_PATH).inScenario("refresh")
+      .whenScenarioStateIs(Scenario.STARTED)
+      .willReturn(loginResponse("token-1"))
+      .willSetStateTo("refreshed"));
+    WireMock.stubFor(WireMock.post(LOGIN_PATH).inScenario("refresh")
+      .whenScenarioStateIs("refreshed")
+      .willReturn(loginResponse("token-2")));
+    var provider = createProvider();
+    var params = createParams();
+
+    provider.getToken(params)
+      .compose(token -> {
+        context.assertEquals("token-1", token);
+        // token expires in 600 seconds and should be refreshed 60 seconds before
+        clock.addAndGet(550_000);
+        return provider.getToken(params);
+      })
+      .compose(token -> {
+        context.assertEquals("token-1", token);
+        Promise<Void> refreshed = Promise.promise();
+        rule.vertx().setTimer(200, id -> refreshed.complete());
+        return refreshed.future().compose(v -> provider.getToken(params));
+      })
+      .onComplete(context.asyncAssertSuccess(token -> {
+        context.assertEquals("token-2", token);
+        WireMock.verify(2, WireMock.postRequestedFor(WireMock.urlEqualTo(LOGIN_PATH)));
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldLoginAgainWhenTokenExpired(TestContext context) {
+    Async async = context.async();
+    stubLogin(loginResponse("token-1"));
+    var provider = createProvider();
+    var params = createParams();
+
+    provider.getToken(params)
+      .compose(token -> {
+        clock.addAndGet(600_000);
+        return provider.getToken(params);
+      })
+      .onComplete(context.asyncAssertSuccess(token -> {
+        WireMock.verify(2, WireMock.postRequestedFor(WireMock.urlEqualTo(LOGIN_PATH)));
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldReadTokenFromHeaderOfLegacyLoginResponse(TestContext context) {
+    Async async = context.async();
+    WireMock.stubFor(WireMock.post("/authn/login")
+      .willReturn(WireMock.status(201).withHeader(OKAPI_TOKEN_HEADER, "legacy-token")));
+    var provider = new SystemUserTokenProvider(tenant -> new SystemUserTokenProvider.Credentials("user", "secret"),
+      new SystemUserTokenProviderOptions().setLoginPath("/authn/login"), clock::get);
+
+    provider.getToken(createParams()).onComplete(context.asyncAssertSuccess(token -> {
+      context.assertEquals("legacy-token", token);
+      async.complete();
+    }));
+  }
+
+  @Test
+  public void shouldFailWhenLoginFails(TestContext context) {
+    Async async = context.async();
+    stubLogin(WireMock.status(422));
+
+    createProvider().getToken(createParams()).onComplete(context.asyncAssertFailure(e -> async.complete()));
+  }
+
+  @Test
+  public void shouldPostponeRefreshAfterFailure(TestContext context) {
+    Async async = context.async();
+    WireMock.stubFor(WireMock.post(LOGIN_PATH).inScenario("refresh")
+      .whenScenarioStateIs(Scenario.STARTED)
+      .willReturn(loginResponse("token-1"))
+      .willSetStateTo("failing"));
+    WireMock.stubFor(WireMock.post(LOGIN_PATH).inScenario("refresh")
+      .whenScenarioStateIs("failing")
+      .willReturn(WireMock.serverError()));
+    var provider = createProvider();
+    var params = createParams();
+
+    provider.getToken(params)
+      .compose(token -> {
+        clock.addAndGet(550_000);
+        return provider.getToken(params);
+      })
+      .compose(token -> waitAndGetToken(provider, params))
+      .compose(token -> {
+        context.assertEquals("token-1", token);
+        return waitAndGetToken(provider, params);
+      })
+      .compose(token -> {
+        WireMock.verify(2, WireMock.postRequestedFor(WireMock.urlEqualTo(LOGIN_PATH)));
+        clock.addAndGet(SystemUserTokenProviderOptions.DEFAULT_REFRESH_RETRY_DELAY);
+        return waitAndGetToken(provider, params);
+      })
+      .compose(token -> waitAndGetToken(provider, params))
+      .onComplete(context.asyncAssertSuccess(token -> {
+        context.assertEquals("token-1", token);
+        WireMock.verify(3, WireMock.postRequestedFor(WireMock.urlEqualTo(LOGIN_PATH)));
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldKeepNewTokenWhenRejectedTokenIsInvalidatedAgain(TestContext context) {
+    Async async = context.async();
+    WireMock.stubFor(WireMock.post(LOGIN_PATH).inScenario("login")
+      .whenScenarioStateIs(Scenario.STARTED)
+      .willReturn(loginResponse("token-1"))
+      .willSetStateTo("second"));
+    WireMock.stubFor(WireMock.post(LOGIN_PATH).inScenario("login")
+      .whenScenarioStateIs("second")
+      .willReturn(loginResponse("token-2")));
+    var provider = createProvider();
+    var params = createParams();
+
+    provider.getToken(params)
+      .compose(token -> {
+        provider.invalidate(params, token);
+        return provider.getToken(params);
+      })
+      .compose(token -> {
+        context.assertEquals("token-2", token);
+        provider.invalidate(params, "token-1");
+        return provider.getToken(params);
+      })
+      .onComplete(context.asyncAssertSuccess(token -> {
+        context.assertEquals("token-2", token);
+        WireMock.verify(2, WireMock.postRequestedFor(WireMock.urlEqualTo(LOGIN_PATH)));
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldRetrySystemUserRequestWithNewTokenWhenTokenRejected(TestContext context) {
+    Async async = context.async();
+    WireMock.stubFor(WireMock.post(LOGIN_PATH).inScenario("login")
+      .whenScenarioStateIs(Scenario.STARTED)
+      .willReturn(loginResponse("token-1"))
+      .willSetStateTo("second"));
+    WireMock.stubFor(WireMock.post(LOGIN_PATH).inScenario("login")
+      .whenScenarioStateIs("second")
+      .willReturn(loginResponse("token-2")));
+    WireMock.stubFor(WireMock.get("/test-endpoint").withHeader(OKAPI_TOKEN_HEADER, WireMock.equalTo("token-1"))
+      .willReturn(WireMock.unauthorized()));
+    WireMock.stubFor(WireMock.get("/test-endpoint").withHeader(OKAPI_TOKEN_HEADER, WireMock.equalTo("token-2"))
+      .willReturn(WireMock.ok()));
+    var params = createParams();
+    params.setTokenProvider(createProvider());
+
+    RestUtil.doRequestWithSystemUser(params, "/test-endpoint", HttpMethod.GET, null)
+      .onComplete(context.asyncAssertSuccess(response -> {
+        context.assertEquals(200, response.getCode());
+        WireMock.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo("/test-endpoint"))
+          .withHeader(OKAPI_TOKEN_HEADER, WireMock.equalTo("token-1")));
+        WireMock.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo("/test-endpoint"))
+          .withHeader(OKAPI_TOKEN_HEADER, WireMock.equalTo("token-2")));
+        WireMock.verify(2, WireMock.postRequestedFor(WireMock.urlEqualTo(LOGIN_PATH)));
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldReturnUnauthorizedWhenNewTokenIsRejected(TestContext context) {
+    Async async = context.async();
+    stubLogin(loginResponse("token-1"));
+    WireMock.stubFor(WireMock.get("/test-endpoint").willReturn(WireMock.unauthorized()));
+    var params = createParams();
+    params.setTokenProvider(createProvider());
+
+    RestUtil.doRequestWithSystemUser(params, "/test-endpoint", HttpMethod.GET, null)
+      .onComplete(context.asyncAssertSuccess(response -> {
+        context.assertEquals(401, response.getCode());
+        WireMock.verify(2, WireMock.getRequestedFor(WireMock.urlEqualTo("/test-endpoint")));
+        WireMock.verify(2, WireMock.postRequestedFor(WireMock.urlEqualTo(LOGIN_PATH)));
+        async.complete();
+      }));
+  }
+
+  private Future<String> waitAndGetToken(SystemUserTokenProvider provider, OkapiConnectionParams params) {
+    Promise<Void> waited = Promise.promise();
+    rule.vertx().setTimer(200, id -> waited.complete());
+    return waited.future().compose(v -> provider.getToken(params));
+  }
+
+  private SystemUserTokenProvider createProvider() {
+    return new SystemUserTokenProvider(tenant -> new SystemUserTokenProvider.Credentials(tenant + "-system-user", "secret"),
+      new SystemUserTokenProviderOptions(), clock::get);
+  }
+
+  private void stubLogin(ResponseDefinitionBuilder response) {
+    WireMock.stubFor(WireMock.post(LOGIN_PATH).willReturn(response));
+  }
+
+  private ResponseDefinitionBuilder loginResponse(String token) {
+    return WireMock.status(201)
+      .withHeader("Set-Cookie", "folioAccessToken=" + token + "; Max-Age=600; Path=/; HttpOnly")
+      .withHeader("Set-Cookie", "folioRefreshToken=refresh; Max-Age=604800; Path=/authn; HttpOnly");
+  }
+
+  private OkapiConnectionParams createParams() {
+    Map<String, String> okapiHeaders = new HashMap<>();
+    okapiHeaders.put(OKAPI_URL_HEADER, "http://localhost:" + mockServer.port());
+    okapiHeaders.put(OKAPI_TENANT_HEADER, "diku");
+    okapiHeaders.put(OKAPI_TOKEN_HEADER, "user-token");
+    return new OkapiConnectionParams(okapiHeaders, rule.vertx());
+  }
+}
@@ -0,0 +1,103 @@
+package org.folio.dataimport.util.codec;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class JacksonCodecTest {
+
+  @Test
+  public void shouldEncodeAndDecodePojo() throws IOException {
+    Buffer buffer = JacksonCodec.JSON.encode(new Item("1", 2));
+
+    assertEquals(new JsonObject().put("id", "1").put("count", 2), buffer.toJsonObject());
+    Item item = JacksonCodec.JSON.decode(buffer, Item.class);
+    assertEquals("1", item.getId());
+    assertEquals(2, item.getCount());
+  }
+
+  @Test
+  public void shouldDecodeGenericType() throws IOException {
+    Buffer buffer = Buffer.buffer("[{\"id\":\"1\",\"count\":1},{\"id\":\"2\",\"count\":2}]");
+
+    List<Item> items = JacksonCodec.JSON.decode(buffer, new TypeReference<List<Item>>() { });
+
+    assertEquals(2, items.size());
+    assertEquals("2", items.get(1).getId());
+  }
+
+  @Test
+  public void shouldIgnoreUnknownProperties() throws IOException {
+    Item item = JacksonCodec.JSON.decode(Buffer.buffer("{\"id\":\"1\",\"unknown\":true}"), Item.class);
+
+    assertEquals("1", item.getId());
+  }
+
+  @Test
+  public void shouldEncodeAndDecodeVertxJsonTypes() throws IOException {
+    JsonObject jsonObject = new JsonObject()
+      .put("id", "1")
+      .put("nested", new JsonObject().put("values", new JsonArray().add(1).add(new JsonObject().put("a", "b"))));
+
+    Buffer buffer = JacksonCodec.JSON.encode(jsonObject);
+
+    assertEquals(jsonObject, new JsonObject(buffer));
+    assertEquals(jsonObject, JacksonCodec.JSON.decode(buffer, JsonObject.class));
+    assertEquals(new JsonArray().add(1), JacksonCodec.JSON.decode(Buffer.buffer("[1]"), JsonArray.class));
+  }
+
+  @Test
+  public void shouldDecodeEmptyBodyToNull() throws IOException {
+    assertNull(JacksonCodec.JSON.decode(Buffer.buffer(), Item.class));
+    assertNull(JacksonCodec.JSON.decode(null, Item.class));
+  }
+
+  @Test
+  public void shouldSelectCodecByContentType() {
+    JacksonCodec codec = new JacksonCodec(new ObjectMapper(), "application/x-test");
+    CodecRegistry.register(codec);
+
+    assertEquals(codec, CodecRegistry.get("application/x-test; charset=UTF-8"));
+    assertEquals(JacksonCodec.JSON, CodecRegistry.get("application/json;charset=utf-8"));
+    assertEquals(JacksonCodec.JSON, CodecRegistry.get("text/plain"));
+    assertEquals(JacksonCodec.JSON, CodecRegistry.get(null));
+  }
+
+  public static class Item {
+    private String id;
+    private int count;
+
+    public Item() {
+    }
+
+    Item(String id, int count) {
+      this.id = id;
+      this.count = count;
+    }
+
+    public String getId() {
+      return id;
+    }
+
+    public void setId(String id) {
+      this.id = id;
+    }
+
+    public int getCount() {
+      return count;
+    }
+
+    public void setCount(int count) {
+      this.count = count;
+    }
+  }
+}
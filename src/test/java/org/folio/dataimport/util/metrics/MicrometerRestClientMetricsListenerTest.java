@@ -0,0 +1,57 @@
+package org.folio.dataimport.util.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.http.HttpMethod;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class MicrometerRestClientMetricsListenerTest {
+
+  @Test
+  public void shouldRecordRequestMetrics() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    MicrometerRestClientMetricsListener listener = new MicrometerRestClientMetricsListener(registry);
+
+    listener.requestStarted(HttpMethod.GET, "/items/{id}");
+    assertEquals(1, registry.get("data.import.http.client.requests.in.flight").gauge().value(), 0);
+
+    listener.connectionAcquired(HttpMethod.GET, "/items/{id}", TimeUnit.MILLISECONDS.toNanos(5));
+    listener.requestCompleted(HttpMethod.GET, "/items/{id}", 200, TimeUnit.MILLISECONDS.toNanos(20), 0, 128);
+
+    assertEquals(0, registry.get("data.import.http.client.requests.in.flight").gauge().value(), 0);
+    assertEquals(1, registry.get("data.import.http.client.requests")
+      .tags("method", "GET", "uri", "/items/{id}", "status", "200", "outcome", "SUCCESS").timer().count());
+    assertEquals(20, registry.get("data.import.http.client.requests").timer().totalTime(TimeUnit.MILLISECONDS), 0.001);
+    assertEquals(5, registry.get("data.import.http.client.pool.wait").timer().totalTime(TimeUnit.MILLISECONDS), 0.001);
+    assertEquals(128, registry.get("data.import.http.client.response.bytes").summary().totalAmount(), 0);
+  }
+
+  @Test
+  public void shouldRecordFailedRequest() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    MicrometerRestClientMetricsListener listener = new MicrometerRestClientMetricsListener(registry);
+
+    listener.requestStarted(HttpMethod.PUT, "/items/{id}");
+    listener.requestFailed(HttpMethod.PUT, "/items/{id}", new RuntimeException(), TimeUnit.MILLISECONDS.toNanos(10));
+
+    assertEquals(0, registry.get("data.import.http.client.requests.in.flight").gauge().value(), 0);
+    assertEquals(1, registry.get("data.import.http.client.requests").tags("status", "IO_ERROR").timer().count());
+  }
+
+  @Test
+  public void shouldRecordCancelledRequestWithoutError() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    MicrometerRestClientMetricsListener listener = new MicrometerRestClientMetricsListener(registry);
+
+    listener.requestStarted(HttpMethod.GET, "/items/{id}");
+    listener.requestCancelled(HttpMethod.GET, "/items/{id}", TimeUnit.MILLISECONDS.toNanos(10));
+
+    assertEquals(0, registry.get("data.import.http.client.requests.in.flight").gauge().value(), 0);
+    assertEquals(1, registry.get("data.import.http.client.requests").tags("outcome", "CANCELLED").timer().count());
+    assertNull(registry.find("data.import.http.client.requests").tags("status", "IO_ERROR").timer());
+  }
+}